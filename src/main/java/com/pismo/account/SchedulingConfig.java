@@ -0,0 +1,33 @@
+package com.pismo.account;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Schedulers for {@code @Scheduled} methods. Batch jobs and periodic rebuilds share the default
+ * scheduler, sized by {@code spring.task.scheduling.pool.size}. Short ticks that clients are
+ * waiting on run on {@link #TICK_SCHEDULER}, so a long accrual or reconciliation run never
+ * holds them up.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String TICK_SCHEDULER = "tickScheduler";
+
+    // Declared here because a second TaskScheduler bean turns off Spring Boot's default one
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = TICK_SCHEDULER)
+    public ThreadPoolTaskScheduler tickScheduler(@Value("${app.scheduling.tick-pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("tick-");
+        return scheduler;
+    }
+}
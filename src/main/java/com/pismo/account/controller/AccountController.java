@@ -2,7 +2,14 @@ package com.pismo.account.controller;
 
 import com.pismo.account.dto.request.AccountRequest;
 import com.pismo.account.dto.response.AccountResponse;
+import com.pismo.account.dto.response.BalanceEventResponse;
+import com.pismo.account.dto.response.BalanceResponse;
+import com.pismo.account.dto.response.SpendAnalyticsResponse;
+import com.pismo.account.exception.InvalidOperationException;
 import com.pismo.account.service.AccountService;
+import com.pismo.account.service.BalanceEventPublisher;
+import com.pismo.account.service.BalanceCheckpointService;
+import com.pismo.account.service.SpendAnalytics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,8 +20,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 @RestController
 @RequestMapping("/accounts")
@@ -24,6 +36,9 @@ import org.springframework.web.bind.annotation.*;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final SpendAnalytics spendAnalytics;
+    private final BalanceEventPublisher balanceEventPublisher;
 
     @PostMapping
     @Operation(summary = "Create a new account", description = "Creates a new account with the provided document number")
@@ -38,6 +53,19 @@ public class AccountController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @GetMapping(params = "document_number")
+    @Operation(summary = "Get account by document number", description = "Looks up an existing account by its document number")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Account found",
+                    content = @Content(schema = @Schema(implementation = AccountResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<AccountResponse> getAccountByDocumentNumber(
+            @RequestParam("document_number") String documentNumber) {
+        AccountResponse response = accountService.getAccountByDocumentNumber(documentNumber);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{accountId}")
     @Operation(summary = "Get account by ID", description = "Retrieves an existing account by its ID")
     @ApiResponses(value = {
@@ -49,4 +77,54 @@ public class AccountController {
         AccountResponse response = accountService.getAccount(accountId);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/{accountId}/balance")
+    @Operation(summary = "Get an account's balance at a point in time",
+            description = "The balance once every transaction up to and including the given time "
+                    + "(yyyy-MM-ddTHH:mm:ss) is applied; the current balance when omitted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance at the requested time",
+                    content = @Content(schema = @Schema(implementation = BalanceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid time"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<BalanceResponse> getBalance(@PathVariable Long accountId,
+                                                      @RequestParam(value = "at", required = false) String at) {
+        LocalDateTime time;
+        try {
+            time = at == null ? LocalDateTime.now() : LocalDateTime.parse(at);
+        } catch (DateTimeParseException e) {
+            throw new InvalidOperationException("Time must be formatted as yyyy-MM-ddTHH:mm:ss, not " + at);
+        }
+        return ResponseEntity.ok(balanceCheckpointService.getBalanceAt(accountId, time));
+    }
+
+    @GetMapping("/{accountId}/spend")
+    @Operation(summary = "Get an account's spend analytics",
+            description = "Signed totals and transaction counts per operation type, and the account's credit "
+                    + "exposure, from counters maintained as transactions are posted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Account totals",
+                    content = @Content(schema = @Schema(implementation = SpendAnalyticsResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<SpendAnalyticsResponse> getSpend(@PathVariable Long accountId) {
+        return ResponseEntity.ok(spendAnalytics.getAccountTotals(accountId));
+    }
+
+    @GetMapping("/{accountId}/events")
+    @Operation(summary = "Stream an account's balance changes",
+            description = "Server-Sent Events: a balance event with the current balance, then one per posting "
+                    + "with its operation type, amount and the new balance. Clients that fall behind are "
+                    + "disconnected and should reconnect")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = BalanceEventResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "429", description = "Too many open streams")
+    })
+    public SseEmitter streamBalanceEvents(@PathVariable Long accountId) {
+        return balanceEventPublisher.subscribe(accountId);
+    }
 }
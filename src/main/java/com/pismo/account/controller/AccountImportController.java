@@ -0,0 +1,56 @@
+package com.pismo.account.controller;
+
+import com.pismo.account.dto.request.AccountImportRequest;
+import com.pismo.account.dto.response.AccountImportResponse;
+import com.pismo.account.service.AccountImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/admin/accounts/import")
+@RequiredArgsConstructor
+@Tag(name = "Account Import", description = "Bulk account provisioning APIs (ADMIN only)")
+@SecurityRequirement(name = "bearerAuth")
+public class AccountImportController {
+
+    private final AccountImportService accountImportService;
+
+    @PostMapping
+    @Operation(summary = "Import accounts",
+            description = "Creates an account for each document number that has none yet and reports "
+                    + "created, duplicate and invalid document numbers")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import report",
+                    content = @Content(schema = @Schema(implementation = AccountImportResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public ResponseEntity<AccountImportResponse> importAccounts(@Valid @RequestBody AccountImportRequest request) {
+        return ResponseEntity.ok(accountImportService.importDocumentNumbers(request.getDocumentNumbers()));
+    }
+
+    @PostMapping(value = "/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import accounts from a file",
+            description = "Streams an uploaded text file with one document number per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import report",
+                    content = @Content(schema = @Schema(implementation = AccountImportResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public ResponseEntity<AccountImportResponse> importAccountsFile(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        return ResponseEntity.ok(accountImportService.importFile(file.getInputStream()));
+    }
+}
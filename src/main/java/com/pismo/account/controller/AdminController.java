@@ -0,0 +1,247 @@
+package com.pismo.account.controller;
+
+import com.pismo.account.dto.request.BalanceSlotsRequest;
+import com.pismo.account.dto.request.BulkRegisterRequest;
+import com.pismo.account.dto.request.UserRolesRequest;
+import com.pismo.account.dto.request.UserStatusRequest;
+import com.pismo.account.dto.response.AccrualResponse;
+import com.pismo.account.dto.response.BalanceCheckpointResponse;
+import com.pismo.account.dto.response.BalanceSlotsResponse;
+import com.pismo.account.dto.response.BulkRegisterResponse;
+import com.pismo.account.dto.response.LoginLockoutResponse;
+import com.pismo.account.dto.response.MessageResponse;
+import com.pismo.account.dto.response.ReconciliationResponse;
+import com.pismo.account.dto.response.SpendAnalyticsResponse;
+import com.pismo.account.dto.response.StatementRunResponse;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.security.LoginAttemptService;
+import com.pismo.account.service.AccrualService;
+import com.pismo.account.service.BalanceCheckpointService;
+import com.pismo.account.service.BalanceSlotService;
+import com.pismo.account.service.ReconciliationService;
+import com.pismo.account.service.SpendAnalytics;
+import com.pismo.account.service.StatementService;
+import com.pismo.account.service.UserAdminService;
+import com.pismo.account.service.UserProvisioningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Tag(name = "Administration", description = "User and account administration APIs (ADMIN only)")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminController {
+
+    private final UserAdminService userAdminService;
+    private final LoginAttemptService loginAttemptService;
+    private final UserProvisioningService userProvisioningService;
+    private final BalanceSlotService balanceSlotService;
+    private final ReconciliationService reconciliationService;
+    private final StatementService statementService;
+    private final AccrualService accrualService;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final SpendAnalytics spendAnalytics;
+
+    @PutMapping("/users/{username}/status")
+    @Operation(summary = "Enable or disable a user",
+            description = "Disabling a user also revokes every token issued to them so far")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User status updated",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<MessageResponse> updateStatus(@PathVariable String username,
+                                                        @Valid @RequestBody UserStatusRequest request) {
+        return ResponseEntity.ok(userAdminService.updateStatus(username, request.getEnabled()));
+    }
+
+    @PutMapping("/users/{username}/roles")
+    @Operation(summary = "Replace a user's roles",
+            description = "Existing tokens are revoked so the new roles take effect on the next login")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User roles updated",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "404", description = "User or role not found")
+    })
+    public ResponseEntity<MessageResponse> updateRoles(@PathVariable String username,
+                                                       @Valid @RequestBody UserRolesRequest request) {
+        return ResponseEntity.ok(userAdminService.updateRoles(username, request.getRoles()));
+    }
+
+    @PostMapping("/users/bulk")
+    @Operation(summary = "Register users in bulk",
+            description = "Registers up to 10000 users in one call. Users whose username or email is taken, "
+                    + "repeated in the request, or who name an unknown role are skipped and listed as rejected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Registration report",
+                    content = @Content(schema = @Schema(implementation = BulkRegisterResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public ResponseEntity<BulkRegisterResponse> registerUsers(@Valid @RequestBody BulkRegisterRequest request) {
+        return ResponseEntity.ok(userProvisioningService.registerAll(request.getUsers()));
+    }
+
+    @GetMapping("/login-lockouts")
+    @Operation(summary = "List login lockouts",
+            description = "Usernames and client IPs currently locked out after repeated failed logins")
+    @ApiResponse(responseCode = "200", description = "Active lockouts")
+    public ResponseEntity<List<LoginLockoutResponse>> getLoginLockouts() {
+        return ResponseEntity.ok(loginAttemptService.getLockouts());
+    }
+
+    @DeleteMapping("/login-lockouts/users/{username}")
+    @Operation(summary = "Clear a username's lockout", description = "Forgets the username's failed logins and lockouts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lockout cleared",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "No failed logins recorded for the username")
+    })
+    public ResponseEntity<MessageResponse> clearUserLockout(@PathVariable String username) {
+        if (!loginAttemptService.clearUser(username)) {
+            throw new ResourceNotFoundException("No failed logins recorded for user: " + username);
+        }
+        return ResponseEntity.ok(new MessageResponse("Login lockout cleared for user: " + username));
+    }
+
+    @DeleteMapping("/login-lockouts/ips/{ip}")
+    @Operation(summary = "Clear a client IP's lockout", description = "Forgets the IP's failed logins and lockouts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lockout cleared",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "404", description = "No failed logins recorded for the IP")
+    })
+    public ResponseEntity<MessageResponse> clearIpLockout(@PathVariable String ip) {
+        if (!loginAttemptService.clearIp(ip)) {
+            throw new ResourceNotFoundException("No failed logins recorded for IP: " + ip);
+        }
+        return ResponseEntity.ok(new MessageResponse("Login lockout cleared for IP: " + ip));
+    }
+
+    @GetMapping("/accounts/{accountId}/balance-slots")
+    @Operation(summary = "Get an account's balance slots",
+            description = "The account's balance and how it is spread over sub-balance slots")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance slots",
+                    content = @Content(schema = @Schema(implementation = BalanceSlotsResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<BalanceSlotsResponse> getBalanceSlots(@PathVariable Long accountId) {
+        return ResponseEntity.ok(balanceSlotService.getSlots(accountId));
+    }
+
+    @PutMapping("/accounts/{accountId}/balance-slots")
+    @Operation(summary = "Shard a hot account's balance",
+            description = "Spreads the balance evenly over the given number of slots so concurrent postings "
+                    + "update different rows; 0 moves it back onto the account row")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance slots updated",
+                    content = @Content(schema = @Schema(implementation = BalanceSlotsResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<BalanceSlotsResponse> updateBalanceSlots(@PathVariable Long accountId,
+                                                                   @Valid @RequestBody BalanceSlotsRequest request) {
+        return ResponseEntity.ok(balanceSlotService.resize(accountId, request.getSlots()));
+    }
+
+    @PostMapping("/reconciliation")
+    @Operation(summary = "Reconcile account balances",
+            description = "Checks every account's balance against its initial balance and transactions, "
+                    + "writing mismatched accounts to a CSV report. Also runs nightly")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reconciliation finished",
+                    content = @Content(schema = @Schema(implementation = ReconciliationResponse.class))),
+            @ApiResponse(responseCode = "409", description = "A reconciliation is already running")
+    })
+    public ResponseEntity<ReconciliationResponse> reconcile() {
+        return ResponseEntity.ok(reconciliationService.reconcile());
+    }
+
+    @PostMapping("/statements/{month}")
+    @Operation(summary = "Generate monthly statements",
+            description = "Writes every account's statement for the month (yyyy-MM) as gzipped JSON lines. "
+                    + "Rerunning a month finishes an interrupted run. Also runs monthly for the previous month")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statements written",
+                    content = @Content(schema = @Schema(implementation = StatementRunResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid month"),
+            @ApiResponse(responseCode = "409", description = "Statements are already being generated")
+    })
+    public ResponseEntity<StatementRunResponse> generateStatements(@PathVariable String month) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new InvalidOperationException("Month must be formatted as yyyy-MM, not " + month);
+        }
+        return ResponseEntity.ok(statementService.generate(yearMonth));
+    }
+
+    @PostMapping("/accruals/{date}")
+    @Operation(summary = "Accrue interest and late fees",
+            description = "Charges a day of interest on every account's debt, and late fees where due, for the "
+                    + "date (yyyy-MM-dd). Rerunning a date only charges accounts not charged yet. Also runs daily")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Accrual finished",
+                    content = @Content(schema = @Schema(implementation = AccrualResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date"),
+            @ApiResponse(responseCode = "409", description = "An accrual is already running")
+    })
+    public ResponseEntity<AccrualResponse> accrue(@PathVariable String date) {
+        LocalDate accrualDate;
+        try {
+            accrualDate = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidOperationException("Date must be formatted as yyyy-MM-dd, not " + date);
+        }
+        return ResponseEntity.ok(accrualService.accrue(accrualDate));
+    }
+
+    @PostMapping("/balance-checkpoints/{date}")
+    @Operation(summary = "Checkpoint account balances",
+            description = "Records, as of the start of the date (yyyy-MM-dd), the balance of every account with "
+                    + "transactions since its previous checkpoint. Point-in-time balance queries start from "
+                    + "these. Rerunning a date only writes missing checkpoints. Also runs daily")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Checkpoints written",
+                    content = @Content(schema = @Schema(implementation = BalanceCheckpointResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid or future date"),
+            @ApiResponse(responseCode = "409", description = "Checkpoints are already being written")
+    })
+    public ResponseEntity<BalanceCheckpointResponse> checkpointBalances(@PathVariable String date) {
+        LocalDate checkpointDate;
+        try {
+            checkpointDate = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidOperationException("Date must be formatted as yyyy-MM-dd, not " + date);
+        }
+        return ResponseEntity.ok(balanceCheckpointService.checkpoint(checkpointDate));
+    }
+
+    @GetMapping("/analytics/spend")
+    @Operation(summary = "Get spend analytics across all accounts",
+            description = "Signed totals and transaction counts per operation type, and the total credit exposure, "
+                    + "served from in-memory counters")
+    @ApiResponse(responseCode = "200", description = "Totals across all accounts",
+            content = @Content(schema = @Schema(implementation = SpendAnalyticsResponse.class)))
+    public ResponseEntity<SpendAnalyticsResponse> getSpend() {
+        return ResponseEntity.ok(spendAnalytics.getTotals());
+    }
+}
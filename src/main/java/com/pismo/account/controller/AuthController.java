@@ -1,9 +1,11 @@
 package com.pismo.account.controller;
 
 import com.pismo.account.dto.request.LoginRequest;
+import com.pismo.account.dto.request.RefreshTokenRequest;
 import com.pismo.account.dto.request.RegisterRequest;
 import com.pismo.account.dto.response.JwtResponse;
 import com.pismo.account.dto.response.MessageResponse;
+import com.pismo.account.exception.InvalidTokenException;
 import com.pismo.account.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,8 +13,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,7 +35,8 @@ public class AuthController {
             @ApiResponse(responseCode = "201", description = "User registered successfully",
                     content = @Content(schema = @Schema(implementation = MessageResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request"),
-            @ApiResponse(responseCode = "409", description = "Username or email already exists")
+            @ApiResponse(responseCode = "409", description = "Username or email already exists"),
+            @ApiResponse(responseCode = "429", description = "Password hashing capacity exhausted, retry later")
     })
     public ResponseEntity<MessageResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
         MessageResponse response = authService.register(registerRequest);
@@ -43,10 +48,43 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = JwtResponse.class))),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts or password hashing capacity exhausted, retry later")
     })
-    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        JwtResponse response = authService.login(loginRequest);
+    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                             HttpServletRequest request) {
+        JwtResponse response = authService.login(loginRequest, request.getRemoteAddr());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description = "Exchanges a refresh token for a new access token and refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed",
+                    content = @Content(schema = @Schema(implementation = JwtResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Refresh token is invalid, expired or already used")
+    })
+    public ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        JwtResponse response = authService.refresh(refreshTokenRequest);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout user", description = "Revokes the bearer access token and, if given, the refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Logged out",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid access token")
+    })
+    public ResponseEntity<MessageResponse> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new InvalidTokenException("Bearer access token is required");
+        }
+        String refreshToken = refreshTokenRequest == null ? null : refreshTokenRequest.getRefreshToken();
+        MessageResponse response = authService.logout(authorization.substring(7), refreshToken);
         return ResponseEntity.ok(response);
     }
 }
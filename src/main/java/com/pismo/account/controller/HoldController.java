@@ -0,0 +1,80 @@
+package com.pismo.account.controller;
+
+import com.pismo.account.dto.request.CaptureRequest;
+import com.pismo.account.dto.request.HoldRequest;
+import com.pismo.account.dto.response.HoldResponse;
+import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.service.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/holds")
+@RequiredArgsConstructor
+@Tag(name = "Holds", description = "Credit authorization APIs")
+@SecurityRequirement(name = "Bearer Authentication")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @PostMapping
+    @Operation(summary = "Authorize a hold",
+            description = "Reserves credit for a debit operation until it is captured, released or expires")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Hold authorized",
+                    content = @Content(schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or insufficient available credit"),
+            @ApiResponse(responseCode = "404", description = "Account or operation type not found")
+    })
+    public ResponseEntity<HoldResponse> authorize(@Valid @RequestBody HoldRequest request) {
+        return new ResponseEntity<>(holdService.authorize(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{holdId}")
+    @Operation(summary = "Get a hold", description = "Retrieves a hold and the account's current available credit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold found",
+                    content = @Content(schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Hold not found")
+    })
+    public ResponseEntity<HoldResponse> getHold(@PathVariable Long holdId) {
+        return ResponseEntity.ok(holdService.getHold(holdId));
+    }
+
+    @PostMapping("/{holdId}/capture")
+    @Operation(summary = "Capture a hold",
+            description = "Posts the hold as a transaction for its full amount or less; the rest is released")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transaction created",
+                    content = @Content(schema = @Schema(implementation = TransactionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Amount exceeds the hold"),
+            @ApiResponse(responseCode = "404", description = "Hold not found"),
+            @ApiResponse(responseCode = "409", description = "Hold is not authorized or has expired")
+    })
+    public ResponseEntity<TransactionResponse> capture(@PathVariable Long holdId,
+                                                       @Valid @RequestBody(required = false) CaptureRequest request) {
+        return new ResponseEntity<>(holdService.capture(holdId, request), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{holdId}/release")
+    @Operation(summary = "Release a hold", description = "Gives the held credit back without posting anything")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released",
+                    content = @Content(schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Hold not found"),
+            @ApiResponse(responseCode = "409", description = "Hold is not authorized")
+    })
+    public ResponseEntity<HoldResponse> release(@PathVariable Long holdId) {
+        return ResponseEntity.ok(holdService.release(holdId));
+    }
+}
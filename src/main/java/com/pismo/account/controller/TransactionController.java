@@ -1,7 +1,11 @@
 package com.pismo.account.controller;
 
 import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.request.TransactionSearchRequest;
+import com.pismo.account.dto.response.TransactionItemResponse;
 import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.dto.response.TransactionSearchResponse;
+import com.pismo.account.service.TransactionChangeFeed;
 import com.pismo.account.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,9 +16,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/transactions")
@@ -24,6 +35,7 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionChangeFeed transactionChangeFeed;
 
     @PostMapping
     @Operation(summary = "Create a new transaction", 
@@ -38,4 +50,48 @@ public class TransactionController {
         TransactionResponse response = transactionService.createTransaction(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
+
+    @GetMapping
+    @Operation(summary = "Search transactions",
+            description = "Transactions matching every given filter, newest first. Amounts are signed, so debits "
+                    + "are negative. Pass a page's next_cursor as cursor to get the following page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "A page of matching transactions",
+                    content = @Content(schema = @Schema(implementation = TransactionSearchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, limit or cursor")
+    })
+    public ResponseEntity<TransactionSearchResponse> searchTransactions(
+            @RequestParam(value = "account_id", required = false) Long accountId,
+            @RequestParam(value = "operation_type_id", required = false) Long operationTypeId,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "min_amount", required = false) BigDecimal minAmount,
+            @RequestParam(value = "max_amount", required = false) BigDecimal maxAmount,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        TransactionSearchRequest request = new TransactionSearchRequest(accountId, operationTypeId, from, to,
+                minAmount, maxAmount);
+        return ResponseEntity.ok(transactionService.search(request, cursor, limit));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Read the transaction change feed",
+            description = "Committed transactions with ids above the cursor, lowest first, streamed as NDJSON. "
+                    + "Pass the X-Next-Cursor header of each response as after on the next call. When there is "
+                    + "nothing new the request waits for new transactions, then answers 204")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions after the cursor, one JSON object per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = TransactionItemResponse.class))),
+            @ApiResponse(responseCode = "204", description = "No new transactions within the wait"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+            @ApiResponse(responseCode = "429", description = "Too many consumers waiting")
+    })
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> getChanges(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        return transactionChangeFeed.changes(after, limit);
+    }
 }
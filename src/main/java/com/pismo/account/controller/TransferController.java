@@ -0,0 +1,40 @@
+package com.pismo.account.controller;
+
+import com.pismo.account.dto.request.TransferRequest;
+import com.pismo.account.dto.response.TransferResponse;
+import com.pismo.account.service.TransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/transfers")
+@RequiredArgsConstructor
+@Tag(name = "Transfers", description = "Account-to-account transfer APIs")
+@SecurityRequirement(name = "Bearer Authentication")
+public class TransferController {
+
+    private final TransferService transferService;
+
+    @PostMapping
+    @Operation(summary = "Transfer funds between accounts",
+            description = "Posts a transfer debit on the source and a transfer credit on the destination atomically")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transfer posted",
+                    content = @Content(schema = @Schema(implementation = TransferResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or insufficient balance"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        return new ResponseEntity<>(transferService.transfer(request), HttpStatus.CREATED);
+    }
+}
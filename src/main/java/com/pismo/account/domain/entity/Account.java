@@ -28,10 +28,22 @@ public class Account {
     @Column(name="balance", nullable = false)
     private BigDecimal balance = new BigDecimal(-1000);
 
+    // Balance the account was opened with; reconciliation expects balance = initial_balance - SUM(amount)
+    @Column(name = "initial_balance", nullable = false, updatable = false)
+    private BigDecimal initialBalance = new BigDecimal(-1000);
+
+    // Sub-balance slots the balance is spread over (see AccountBalanceSlot); 0 keeps it all in this row
+    @Column(name = "balance_slots", nullable = false)
+    private Integer balanceSlots = 0;
+
     public Boolean hasSufficientbalance(BigDecimal amount){
         if(amount.compareTo(this.balance) < 0){
             return false;
         }
         return true;
     }
+
+    public boolean isSharded() {
+        return balanceSlots != null && balanceSlots > 0;
+    }
 }
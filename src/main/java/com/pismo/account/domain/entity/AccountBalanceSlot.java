@@ -0,0 +1,43 @@
+package com.pismo.account.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * One share of a sharded account's balance. The account's balance is its own
+ * {@code balance} column plus the sum of its slots; postings update a single slot so
+ * concurrent postings to a hot account contend on different rows.
+ */
+@Entity
+@Table(name = "account_balance_slots")
+@IdClass(AccountBalanceSlot.SlotId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceSlot {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+
+    // Never positive, so every slot can be debited without looking at the others
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlotId implements Serializable {
+        private Long accountId;
+        private Integer slot;
+    }
+}
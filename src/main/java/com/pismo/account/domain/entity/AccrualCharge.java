@@ -0,0 +1,52 @@
+package com.pismo.account.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * An interest or late-fee charge computed by the accrual job. The key allows one charge of
+ * each type per account and accrual date, which is what makes rerunning a date a no-op.
+ */
+@Entity
+@Table(name = "accrual_charges")
+@IdClass(AccrualCharge.ChargeId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccrualCharge {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "operation_type_id")
+    private Long operationTypeId;
+
+    @Id
+    @Column(name = "accrual_date")
+    private LocalDate accrualDate;
+
+    // Signed like the transaction it becomes
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    // Set once the balance is updated and the transaction written
+    @Column(name = "posted", nullable = false)
+    private boolean posted;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChargeId implements Serializable {
+        private Long accountId;
+        private Long operationTypeId;
+        private LocalDate accrualDate;
+    }
+}
@@ -0,0 +1,51 @@
+package com.pismo.account.domain.entity;
+
+import com.pismo.account.domain.enums.HoldStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An authorization that reserves available credit until it is captured into a transaction,
+ * released, or expires.
+ */
+@Entity
+@Table(name = "holds", indexes = @Index(name = "idx_holds_status", columnList = "status"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Hold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "hold_id")
+    private Long holdId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "operation_type_id", nullable = false)
+    private Long operationTypeId;
+
+    // Positive; the credit reserved, not the signed transaction amount
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private HoldStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Set once the hold is captured
+    @Column(name = "transaction_id")
+    private Long transactionId;
+}
@@ -0,0 +1,62 @@
+package com.pismo.account.domain.entity;
+
+import com.pismo.account.domain.enums.ScheduledPostingStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A transaction to be posted on its due date, such as the later installments of an
+ * installment purchase.
+ */
+@Entity
+@Table(name = "scheduled_postings",
+        indexes = {
+                @Index(name = "idx_scheduled_postings_due", columnList = "status, due_date, account_id"),
+                @Index(name = "idx_scheduled_postings_pending_account", columnList = "account_id, status")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledPosting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "scheduled_posting_id")
+    private Long scheduledPostingId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "operation_type_id", nullable = false)
+    private Long operationTypeId;
+
+    // Signed like the transaction it becomes
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "installment", nullable = false)
+    private Integer installment;
+
+    @Column(name = "installments", nullable = false)
+    private Integer installments;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ScheduledPostingStatus status;
+
+    // The transaction of the first installment, posted with the purchase
+    @Column(name = "purchase_transaction_id", nullable = false)
+    private Long purchaseTransactionId;
+
+    // Set once posted
+    @Column(name = "transaction_id")
+    private Long transactionId;
+}
@@ -0,0 +1,46 @@
+package com.pismo.account.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Running totals of an account's transactions per operation type, flushed from the in-memory
+ * counters of {@code SpendAnalytics}. Account id 0 holds the totals across all accounts, so
+ * there is no foreign key to {@code accounts}.
+ */
+@Entity
+@Table(name = "spend_aggregates")
+@IdClass(SpendAggregate.AggregateId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendAggregate {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "operation_type_id")
+    private Long operationTypeId;
+
+    // Signed sum, so debits are negative
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AggregateId implements Serializable {
+        private Long accountId;
+        private Long operationTypeId;
+    }
+}
@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+// schema.sql also INCLUDEs amount and operation_type_id, which JPA cannot express
+@Table(name = "transactions",
+        indexes = @Index(name = "idx_transactions_account_event_id", columnList = "account_id, event_date, transaction_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
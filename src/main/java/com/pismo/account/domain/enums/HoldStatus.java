@@ -0,0 +1,8 @@
+package com.pismo.account.domain.enums;
+
+public enum HoldStatus {
+    AUTHORIZED,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
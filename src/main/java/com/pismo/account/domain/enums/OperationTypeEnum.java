@@ -7,7 +7,13 @@ public enum OperationTypeEnum {
     PURCHASE(1L, "PURCHASE", true),
     INSTALLMENT_PURCHASE(2L, "INSTALLMENT PURCHASE", true),
     WITHDRAWAL(3L, "WITHDRAWAL", true),
-    PAYMENT(4L, "PAYMENT", false);
+    PAYMENT(4L, "PAYMENT", false),
+    // Legs of POST /transfers; not accepted on their own
+    TRANSFER_DEBIT(5L, "TRANSFER DEBIT", true),
+    TRANSFER_CREDIT(6L, "TRANSFER CREDIT", false),
+    // Charges posted by the daily accrual job; not accepted on their own
+    INTEREST(7L, "INTEREST", true),
+    LATE_FEE(8L, "LATE FEE", true);
 
     private final Long id;
     private final String description;
@@ -19,6 +25,14 @@ public enum OperationTypeEnum {
         this.isNegative = isNegative;
     }
 
+    public boolean isTransfer() {
+        return this == TRANSFER_DEBIT || this == TRANSFER_CREDIT;
+    }
+
+    public boolean isAccrual() {
+        return this == INTEREST || this == LATE_FEE;
+    }
+
     public static OperationTypeEnum fromId(Long id) {
         for (OperationTypeEnum type : values()) {
             if (type.id.equals(id)) {
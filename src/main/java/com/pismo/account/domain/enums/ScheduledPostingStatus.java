@@ -0,0 +1,7 @@
+package com.pismo.account.domain.enums;
+
+public enum ScheduledPostingStatus {
+    PENDING,
+    POSTED,
+    FAILED
+}
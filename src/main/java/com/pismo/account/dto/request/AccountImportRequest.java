@@ -0,0 +1,21 @@
+package com.pismo.account.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportRequest {
+
+    @NotEmpty(message = "At least one document number is required")
+    @Size(max = 100000, message = "At most 100000 document numbers per request; upload a file for more")
+    @JsonProperty("document_numbers")
+    private List<String> documentNumbers;
+}
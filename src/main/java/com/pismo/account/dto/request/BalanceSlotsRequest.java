@@ -0,0 +1,19 @@
+package com.pismo.account.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSlotsRequest {
+
+    @NotNull(message = "Slots is required")
+    @Min(value = 0, message = "Slots must be 0 (unsharded) or more")
+    @Max(value = 256, message = "Slots must be at most 256")
+    private Integer slots;
+}
@@ -0,0 +1,20 @@
+package com.pismo.account.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegisterRequest {
+
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 10000, message = "At most 10000 users can be registered per request")
+    private List<@Valid RegisterRequest> users;
+}
@@ -0,0 +1,20 @@
+package com.pismo.account.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptureRequest {
+
+    // Defaults to the full authorized amount; any uncaptured remainder is released
+    @Positive(message = "Amount must be positive")
+    @JsonProperty("amount")
+    private BigDecimal amount;
+}
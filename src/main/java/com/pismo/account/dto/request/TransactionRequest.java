@@ -1,6 +1,8 @@
 package com.pismo.account.dto.request;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -26,4 +28,14 @@ public class TransactionRequest {
     @Positive(message = "Amount must be positive")
     @JsonProperty("amount")
     private BigDecimal amount;
+
+    // INSTALLMENT PURCHASE only: split the amount into this many monthly installments
+    @Min(value = 1, message = "Installments must be at least 1")
+    @Max(value = 48, message = "Installments must be at most 48")
+    @JsonProperty("installments")
+    private Integer installments;
+
+    public TransactionRequest(Long accountId, Long operationTypeId, BigDecimal amount) {
+        this(accountId, operationTypeId, amount, null);
+    }
 }
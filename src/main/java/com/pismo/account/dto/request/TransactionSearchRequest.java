@@ -0,0 +1,32 @@
+package com.pismo.account.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Transaction search filters; every one is optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchRequest {
+
+    private Long accountId;
+
+    private Long operationTypeId;
+
+    // Inclusive
+    private LocalDateTime from;
+
+    // Exclusive
+    private LocalDateTime to;
+
+    // Signed like the stored amount, so debits are negative
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+}
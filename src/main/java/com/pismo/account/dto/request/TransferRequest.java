@@ -0,0 +1,29 @@
+package com.pismo.account.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferRequest {
+
+    @NotNull(message = "Source account ID is required")
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+
+    @NotNull(message = "Destination account ID is required")
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @JsonProperty("amount")
+    private BigDecimal amount;
+}
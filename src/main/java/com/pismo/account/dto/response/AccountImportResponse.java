@@ -0,0 +1,27 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportResponse {
+
+    private long received;
+
+    @JsonProperty("created_accounts")
+    private List<AccountResponse> createdAccounts = new ArrayList<>();
+
+    // Already had an account, or repeated earlier in the same import
+    @JsonProperty("duplicate_document_numbers")
+    private List<String> duplicateDocumentNumbers = new ArrayList<>();
+
+    @JsonProperty("invalid_document_numbers")
+    private List<String> invalidDocumentNumbers = new ArrayList<>();
+}
@@ -0,0 +1,33 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccrualResponse {
+
+    @JsonProperty("accrual_date")
+    private LocalDate accrualDate;
+
+    @JsonProperty("chunks")
+    private long chunks;
+
+    // Charges posted by this run; 0 when the date was already accrued
+    @JsonProperty("interest_charges")
+    private long interestCharges;
+
+    @JsonProperty("late_fees")
+    private long lateFees;
+
+    @JsonProperty("duration_ms")
+    private long durationMs;
+
+    @JsonProperty("rows_per_second")
+    private long rowsPerSecond;
+}
@@ -0,0 +1,27 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceCheckpointResponse {
+
+    @JsonProperty("checkpoint_at")
+    private LocalDateTime checkpointAt;
+
+    @JsonProperty("chunks")
+    private long chunks;
+
+    // Written by this run; accounts without transactions since their last checkpoint get none
+    @JsonProperty("checkpoints")
+    private long checkpoints;
+
+    @JsonProperty("duration_ms")
+    private long durationMs;
+}
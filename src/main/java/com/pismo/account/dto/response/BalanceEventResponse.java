@@ -0,0 +1,33 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BalanceEventResponse {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+
+    // The posting that changed the balance; absent on the first event of a stream, which is the current balance
+    @JsonProperty("operation_type_id")
+    private Long operationTypeId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("balance")
+    private BigDecimal balance;
+
+    @JsonProperty("at")
+    private LocalDateTime at;
+}
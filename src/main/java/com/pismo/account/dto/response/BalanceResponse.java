@@ -0,0 +1,25 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceResponse {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+
+    // Transactions up to and including this time are reflected in the balance
+    @JsonProperty("at")
+    private LocalDateTime at;
+
+    @JsonProperty("balance")
+    private BigDecimal balance;
+}
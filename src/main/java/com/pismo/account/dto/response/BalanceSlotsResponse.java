@@ -0,0 +1,28 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSlotsResponse {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+
+    // 0 when the balance is kept on the account row alone
+    @JsonProperty("balance_slots")
+    private int balanceSlots;
+
+    @JsonProperty("balance")
+    private BigDecimal balance;
+
+    @JsonProperty("slot_balances")
+    private List<BigDecimal> slotBalances;
+}
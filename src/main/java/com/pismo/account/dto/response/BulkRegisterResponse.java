@@ -0,0 +1,26 @@
+package com.pismo.account.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegisterResponse {
+
+    private int requested;
+    private int created;
+    private List<String> createdUsernames;
+    private List<RejectedUser> rejected;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedUser {
+        private String username;
+        private String reason;
+    }
+}
@@ -0,0 +1,41 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pismo.account.domain.enums.HoldStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldResponse {
+
+    @JsonProperty("hold_id")
+    private Long holdId;
+
+    @JsonProperty("account_id")
+    private Long accountId;
+
+    @JsonProperty("operation_type_id")
+    private Long operationTypeId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("status")
+    private HoldStatus status;
+
+    @JsonProperty("expires_at")
+    private Instant expiresAt;
+
+    @JsonProperty("transaction_id")
+    private Long transactionId;
+
+    // The account's available credit once this operation commits
+    @JsonProperty("available_credit")
+    private BigDecimal availableCredit;
+}
@@ -0,0 +1,27 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginLockoutResponse {
+
+    // "user" or "ip"
+    private String scope;
+
+    private String key;
+
+    @JsonProperty("recent_failures")
+    private int recentFailures;
+
+    private int lockouts;
+
+    @JsonProperty("locked_until")
+    private Instant lockedUntil;
+}
@@ -0,0 +1,27 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationTypeSpendResponse {
+
+    @JsonProperty("operation_type_id")
+    private Long operationTypeId;
+
+    @JsonProperty("description")
+    private String description;
+
+    // Signed sum, so debits are negative
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("transactions")
+    private long transactions;
+}
@@ -0,0 +1,33 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationResponse {
+
+    @JsonProperty("started_at")
+    private Instant startedAt;
+
+    @JsonProperty("accounts")
+    private long accounts;
+
+    @JsonProperty("chunks")
+    private long chunks;
+
+    @JsonProperty("mismatches")
+    private long mismatches;
+
+    // CSV of the mismatched accounts
+    @JsonProperty("report_file")
+    private String reportFile;
+
+    @JsonProperty("duration_ms")
+    private long durationMs;
+}
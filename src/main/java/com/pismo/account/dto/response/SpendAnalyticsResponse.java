@@ -0,0 +1,31 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpendAnalyticsResponse {
+
+    // Absent for the totals across all accounts
+    @JsonProperty("account_id")
+    private Long accountId;
+
+    @JsonProperty("by_operation_type")
+    private List<OperationTypeSpendResponse> byOperationType;
+
+    @JsonProperty("transactions")
+    private long transactions;
+
+    // Debt beyond the opening balance: balance - initial_balance
+    @JsonProperty("credit_exposure")
+    private BigDecimal creditExposure;
+}
@@ -0,0 +1,32 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementRunResponse {
+
+    // yyyy-MM
+    @JsonProperty("month")
+    private String month;
+
+    @JsonProperty("partitions")
+    private int partitions;
+
+    // Finished by an earlier, interrupted run and not regenerated
+    @JsonProperty("partitions_skipped")
+    private int partitionsSkipped;
+
+    @JsonProperty("statements")
+    private long statements;
+
+    @JsonProperty("directory")
+    private String directory;
+
+    @JsonProperty("duration_ms")
+    private long durationMs;
+}
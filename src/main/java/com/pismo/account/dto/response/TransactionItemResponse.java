@@ -0,0 +1,30 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionItemResponse {
+
+    @JsonProperty("transaction_id")
+    private Long transactionId;
+
+    @JsonProperty("account_id")
+    private Long accountId;
+
+    @JsonProperty("operation_type_id")
+    private Long operationTypeId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("event_date")
+    private LocalDateTime eventDate;
+}
@@ -0,0 +1,22 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchResponse {
+
+    // Newest first
+    @JsonProperty("transactions")
+    private List<TransactionItemResponse> transactions;
+
+    // Passed back as cursor for the next page; null on the last page
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+}
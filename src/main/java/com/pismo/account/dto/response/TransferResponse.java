@@ -0,0 +1,35 @@
+package com.pismo.account.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponse {
+
+    @JsonProperty("debit_transaction_id")
+    private Long debitTransactionId;
+
+    @JsonProperty("credit_transaction_id")
+    private Long creditTransactionId;
+
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("source_balance")
+    private BigDecimal sourceBalance;
+
+    @JsonProperty("destination_balance")
+    private BigDecimal destinationBalance;
+}
@@ -0,0 +1,8 @@
+package com.pismo.account.exception;
+
+public class InvalidOperationException extends RuntimeException {
+
+    public InvalidOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pismo.account.exception;
+
+public class InvalidStateException extends RuntimeException {
+
+    public InvalidStateException(String message) {
+        super(message);
+    }
+}
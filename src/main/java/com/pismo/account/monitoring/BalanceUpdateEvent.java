@@ -0,0 +1,29 @@
+package com.pismo.account.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.pismo.BalanceUpdate")
+@Label("Balance Update")
+@Category({"Pismo", "Persistence"})
+@Description("A call to AccountService.updateAccountBalance")
+@StackTrace(false)
+public class BalanceUpdateEvent extends jdk.jfr.Event {
+
+    @Label("Account Id")
+    public long accountId;
+
+    @Label("Amount")
+    public double amount;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,173 @@
+package com.pismo.account.monitoring;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Actuator endpoint ({@code /actuator/jfr}) that starts and stops a Flight Recorder
+ * recording of the application's custom events, and serves a live per-event summary
+ * fed by a {@link RecordingStream} while the recording is running.
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    static final List<Class<? extends jdk.jfr.Event>> EVENT_TYPES = List.of(
+            TransactionPostingEvent.class,
+            BalanceUpdateEvent.class,
+            JwtAuthenticationEvent.class,
+            LoginEvent.class
+    );
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    @Value("${app.jfr.directory:${java.io.tmpdir}}")
+    private String recordingDirectory;
+
+    @Value("${app.jfr.settings:default}")
+    private String settings;
+
+    private final Map<String, EventStats> stats = new ConcurrentHashMap<>();
+
+    private Recording recording;
+    private RecordingStream stream;
+    private Instant startedAt;
+
+    @ReadOperation
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("recording", recording != null);
+        if (recording != null) {
+            result.put("startedAt", startedAt);
+            result.put("destination", String.valueOf(recording.getDestination()));
+        }
+        Map<String, Object> events = new LinkedHashMap<>();
+        stats.forEach((name, eventStats) -> events.put(name, eventStats.toMap()));
+        result.put("events", events);
+        return result;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long maxAgeSeconds) throws IOException, ParseException {
+        if (recording != null) {
+            return summary();
+        }
+
+        startedAt = Instant.now();
+        Path destination = Paths.get(recordingDirectory)
+                .resolve("pismo-" + FILE_TIMESTAMP.format(startedAt) + ".jfr");
+        Files.createDirectories(destination.getParent());
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("pismo");
+        newRecording.setDestination(destination);
+        if (maxAgeSeconds != null) {
+            newRecording.setMaxAge(Duration.ofSeconds(maxAgeSeconds));
+        }
+        EVENT_TYPES.forEach(type -> newRecording.enable(type).withoutStackTrace());
+
+        stats.clear();
+        RecordingStream newStream = new RecordingStream();
+        EVENT_TYPES.forEach(type -> newStream.enable(type).withoutStackTrace());
+        newStream.onEvent(this::accumulate);
+
+        newRecording.start();
+        newStream.startAsync();
+
+        recording = newRecording;
+        stream = newStream;
+        log.info("Started JFR recording to {}", destination);
+        return summary();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording == null) {
+            return summary();
+        }
+
+        Map<String, Object> result = summary();
+        stream.close();
+        recording.stop();
+        recording.close();
+        log.info("Stopped JFR recording, written to {}", result.get("destination"));
+
+        recording = null;
+        stream = null;
+        startedAt = null;
+        result.put("recording", false);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    private void accumulate(RecordedEvent event) {
+        String outcome = event.hasField("outcome") ? event.getString("outcome") : null;
+        long dbTime = event.hasField("dbTime") ? event.getLong("dbTime") : 0L;
+        stats.computeIfAbsent(event.getEventType().getName(), name -> new EventStats())
+                .add(event.getDuration().toNanos(), dbTime, outcome);
+    }
+
+    private static final class EventStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder totalDbNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void add(long durationNanos, long dbNanos, String outcome) {
+            count.increment();
+            totalNanos.add(durationNanos);
+            totalDbNanos.add(dbNanos);
+            maxNanos.accumulateAndGet(durationNanos, Math::max);
+            if (outcome != null) {
+                outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            }
+        }
+
+        Map<String, Object> toMap() {
+            long n = count.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", n);
+            map.put("avgMillis", n == 0 ? 0.0 : totalNanos.sum() / (double) n / 1_000_000);
+            map.put("maxMillis", maxNanos.get() / 1_000_000.0);
+            map.put("avgDbMillis", n == 0 ? 0.0 : totalDbNanos.sum() / (double) n / 1_000_000);
+            Map<String, Long> outcomeCounts = new LinkedHashMap<>();
+            outcomes.forEach((key, value) -> outcomeCounts.put(key, value.sum()));
+            map.put("outcomes", outcomeCounts);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.pismo.account.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.pismo.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Pismo", "Security"})
+@Description("Bearer token handling in JwtAuthenticationFilter")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends jdk.jfr.Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Request URI")
+    public String requestUri;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    @Label("Outcome")
+    public String outcome;
+}
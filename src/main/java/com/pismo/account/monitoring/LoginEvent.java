@@ -0,0 +1,21 @@
+package com.pismo.account.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.pismo.Login")
+@Label("Login")
+@Category({"Pismo", "Security"})
+@Description("A call to AuthService.login")
+@StackTrace(false)
+public class LoginEvent extends jdk.jfr.Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,32 @@
+package com.pismo.account.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.pismo.TransactionPosting")
+@Label("Transaction Posting")
+@Category({"Pismo", "Posting"})
+@Description("A call to TransactionService.createTransaction")
+@StackTrace(false)
+public class TransactionPostingEvent extends jdk.jfr.Event {
+
+    @Label("Account Id")
+    public long accountId;
+
+    @Label("Operation Type")
+    public long operationTypeId;
+
+    @Label("Amount")
+    public double amount;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    @Label("Outcome")
+    public String outcome;
+}
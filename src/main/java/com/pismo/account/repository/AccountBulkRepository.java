@@ -0,0 +1,139 @@
+package com.pismo.account.repository;
+
+import com.pismo.account.domain.entity.Account;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based account inserts for bulk imports. On PostgreSQL each chunk is streamed into a
+ * temporary staging table with {@code COPY} and moved into {@code accounts} with a single
+ * {@code INSERT ... ON CONFLICT DO NOTHING RETURNING}. Other databases (H2 in dev) fall back to
+ * one existence query plus a JDBC batch insert per chunk.
+ * <p>
+ * Callers must run each chunk inside a transaction. Document numbers are sent to {@code COPY} as
+ * quoted CSV fields, so any character they contain is loaded as is.
+ */
+@Repository
+@Slf4j
+public class AccountBulkRepository {
+
+    private static final String CREATE_STAGING =
+            "CREATE TEMP TABLE IF NOT EXISTS account_import_staging (document_number VARCHAR(14) NOT NULL) "
+                    + "ON COMMIT DELETE ROWS";
+    private static final String COPY_STAGING =
+            "COPY account_import_staging (document_number) FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_FROM_STAGING =
+            "INSERT INTO accounts (document_number, balance, initial_balance, available_credit_limit, balance_slots) "
+                    + "SELECT DISTINCT document_number, ?, ?, ?, 0 FROM account_import_staging "
+                    + "ON CONFLICT (document_number) DO NOTHING "
+                    + "RETURNING account_id, document_number";
+
+    private static final String SELECT_EXISTING =
+            "SELECT document_number FROM accounts WHERE document_number IN (:documentNumbers)";
+    private static final String INSERT_ACCOUNT =
+            "INSERT INTO accounts (document_number, balance, initial_balance, available_credit_limit, balance_slots) "
+                    + "VALUES (?, ?, ?, ?, 0)";
+    private static final String SELECT_IDS =
+            "SELECT account_id, document_number FROM accounts WHERE document_number IN (:documentNumbers)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final boolean postgres;
+    private final BigDecimal initialBalance;
+    private final BigDecimal initialCreditLimit;
+
+    public AccountBulkRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equalsIgnoreCase(product);
+
+        // Same starting values as an account created through the entity
+        Account defaults = new Account();
+        this.initialBalance = defaults.getBalance();
+        this.initialCreditLimit = defaults.getAvailableCreditLimit();
+        log.info("Bulk account inserts use {}", postgres ? "COPY into a staging table" : "JDBC batch inserts");
+    }
+
+    /**
+     * Inserts an account for every document number that has none yet.
+     *
+     * @return the created accounts' ids keyed by document number; numbers missing from the
+     * result already had an account
+     */
+    public Map<String, Long> insertMissing(Collection<String> documentNumbers) {
+        if (documentNumbers.isEmpty()) {
+            return Map.of();
+        }
+        return postgres ? copyAndInsert(documentNumbers) : batchInsert(documentNumbers);
+    }
+
+    private Map<String, Long> copyAndInsert(Collection<String> documentNumbers) {
+        jdbcTemplate.execute(CREATE_STAGING);
+
+        StringBuilder rows = new StringBuilder(documentNumbers.size() * 15);
+        documentNumbers.forEach(documentNumber -> rows.append('"')
+                .append(documentNumber.replace("\"", "\"\""))
+                .append("\"\n"));
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into account_import_staging failed", e);
+            }
+        });
+
+        Map<String, Long> created = new LinkedHashMap<>();
+        jdbcTemplate.query(INSERT_FROM_STAGING,
+                (RowCallbackHandler) rs -> created.put(rs.getString("document_number"), rs.getLong("account_id")),
+                initialBalance, initialBalance, initialCreditLimit);
+        return created;
+    }
+
+    private Map<String, Long> batchInsert(Collection<String> documentNumbers) {
+        Set<String> candidates = new HashSet<>(documentNumbers);
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(SELECT_EXISTING,
+                new MapSqlParameterSource("documentNumbers", candidates), String.class));
+
+        List<Object[]> rows = new ArrayList<>();
+        List<String> inserted = new ArrayList<>();
+        for (String documentNumber : candidates) {
+            if (!existing.contains(documentNumber)) {
+                rows.add(new Object[]{documentNumber, initialBalance, initialBalance, initialCreditLimit});
+                inserted.add(documentNumber);
+            }
+        }
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT, rows);
+
+        Map<String, Long> created = new LinkedHashMap<>();
+        namedJdbcTemplate.query(SELECT_IDS, new MapSqlParameterSource("documentNumbers", inserted),
+                (RowCallbackHandler) rs -> created.put(rs.getString("document_number"), rs.getLong("account_id")));
+        return created;
+    }
+}
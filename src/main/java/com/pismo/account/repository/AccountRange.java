@@ -0,0 +1,7 @@
+package com.pismo.account.repository;
+
+/**
+ * An inclusive range of account ids, the unit batch jobs split their work into.
+ */
+public record AccountRange(long from, long to) {
+}
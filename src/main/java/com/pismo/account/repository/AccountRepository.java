@@ -1,10 +1,18 @@
 package com.pismo.account.repository;
 
 import com.pismo.account.domain.entity.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -12,4 +20,21 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByDocumentNumber(String documentNumber);
     
     boolean existsByDocumentNumber(String documentNumber);
+
+    @Query("SELECT a.documentNumber FROM Account a")
+    Stream<String> streamDocumentNumbers();
+
+    // Posts to an unsharded account in one statement; 0 rows when the balance is short or the account is sharded
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance - :amount "
+            + "WHERE account_id = :accountId AND balance_slots = 0 AND balance <= :amount", nativeQuery = true)
+    int debitBalance(Long accountId, BigDecimal amount);
+
+    @Query("SELECT a.balanceSlots FROM Account a WHERE a.accountId = :accountId")
+    Optional<Integer> findBalanceSlots(Long accountId);
+
+    // Row locks are taken in account_id order, so transactions locking overlapping sets cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId IN :accountIds ORDER BY a.accountId")
+    List<Account> findAllByIdForUpdate(Collection<Long> accountIds);
 }
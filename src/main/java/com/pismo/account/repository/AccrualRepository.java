@@ -0,0 +1,176 @@
+package com.pismo.account.repository;
+
+import com.pismo.account.domain.enums.OperationTypeEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Set-based accrual statements over a range of accounts: each step is one statement for the
+ * whole range rather than one per account. Charges are first written to {@code accrual_charges},
+ * then applied to the balances, turned into transactions and marked posted, all in the caller's
+ * transaction.
+ * <p>
+ * An account's debt is what it owes beyond its opening position, {@code balance - initial_balance}
+ * (balances start negative and postings apply {@code balance = balance - amount}). Charges are
+ * debits stored as negative amounts and are capped so the balance stays at or below zero.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccrualRepository {
+
+    // An account's balance including its balance slots
+    private static final String BALANCE =
+            "a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s "
+                    + "WHERE s.account_id = a.account_id), 0)";
+    // Charges computed for the date but not yet applied
+    private static final String PENDING_CHARGES =
+            "COALESCE((SELECT SUM(c.amount) FROM accrual_charges c WHERE c.account_id = a.account_id "
+                    + "AND c.accrual_date = ? AND c.posted = FALSE), 0)";
+
+    private static final String SELECT_ACCOUNT_RANGE = "SELECT MIN(account_id), MAX(account_id) FROM accounts";
+    private static final String LOCK_ACCOUNTS =
+            "SELECT account_id FROM accounts WHERE account_id BETWEEN ? AND ? AND balance_slots = 0 "
+                    + "ORDER BY account_id FOR UPDATE";
+    private static final String INSERT_INTEREST =
+            "INSERT INTO accrual_charges (account_id, operation_type_id, accrual_date, amount, posted) "
+                    + "SELECT b.account_id, ?, ?, -LEAST(ROUND((b.balance - b.initial_balance) * ?, 2), -b.balance), FALSE "
+                    + "FROM (SELECT a.account_id, a.initial_balance, " + BALANCE + " AS balance "
+                    + "FROM accounts a WHERE a.account_id BETWEEN ? AND ?) b "
+                    + "WHERE ROUND((b.balance - b.initial_balance) * ?, 2) > 0 AND b.balance < 0 "
+                    + "AND NOT EXISTS (SELECT 1 FROM accrual_charges c WHERE c.account_id = b.account_id "
+                    + "AND c.operation_type_id = ? AND c.accrual_date = ?)";
+    // At most one fee per grace period, only for debt older than the period with no payment since
+    private static final String INSERT_LATE_FEE =
+            "INSERT INTO accrual_charges (account_id, operation_type_id, accrual_date, amount, posted) "
+                    + "SELECT b.account_id, ?, ?, ?, FALSE "
+                    + "FROM (SELECT a.account_id, a.initial_balance, " + BALANCE + " - " + PENDING_CHARGES + " AS balance "
+                    + "FROM accounts a WHERE a.account_id BETWEEN ? AND ?) b "
+                    + "WHERE b.balance - b.initial_balance > 0 AND b.balance + ? <= 0 "
+                    + "AND NOT EXISTS (SELECT 1 FROM accrual_charges c WHERE c.account_id = b.account_id "
+                    + "AND c.operation_type_id = ? AND c.accrual_date > ?) "
+                    + "AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.account_id = b.account_id "
+                    + "AND t.operation_type_id = ? AND t.event_date >= ?) "
+                    + "AND EXISTS (SELECT 1 FROM transactions t WHERE t.account_id = b.account_id AND t.event_date < ?)";
+    private static final String APPLY_CHARGES =
+            "UPDATE accounts a SET balance = a.balance - " + PENDING_CHARGES + " "
+                    + "WHERE a.account_id BETWEEN ? AND ? AND a.balance_slots = 0 "
+                    + "AND EXISTS (SELECT 1 FROM accrual_charges c WHERE c.account_id = a.account_id "
+                    + "AND c.accrual_date = ? AND c.posted = FALSE)";
+    private static final String SELECT_SHARDED_CHARGES =
+            "SELECT c.account_id, SUM(c.amount) FROM accrual_charges c JOIN accounts a ON a.account_id = c.account_id "
+                    + "WHERE c.account_id BETWEEN ? AND ? AND c.accrual_date = ? AND c.posted = FALSE "
+                    + "AND a.balance_slots > 0 GROUP BY c.account_id ORDER BY c.account_id";
+    private static final String SELECT_PENDING_CHARGES =
+            "SELECT account_id, operation_type_id, amount FROM accrual_charges "
+                    + "WHERE account_id BETWEEN ? AND ? AND accrual_date = ? AND posted = FALSE";
+    // Checkpoints after the charges' event date were built without them
+    private static final String DELETE_STALE_CHECKPOINTS =
+            "DELETE FROM balance_checkpoints WHERE account_id BETWEEN ? AND ? AND checkpoint_at > ? "
+                    + "AND account_id IN (SELECT account_id FROM accrual_charges "
+                    + "WHERE account_id BETWEEN ? AND ? AND accrual_date = ? AND posted = FALSE)";
+    private static final String INSERT_TRANSACTIONS =
+            "INSERT INTO transactions (account_id, operation_type_id, amount, event_date) "
+                    + "SELECT account_id, operation_type_id, amount, ? FROM accrual_charges "
+                    + "WHERE account_id BETWEEN ? AND ? AND accrual_date = ? AND posted = FALSE";
+    private static final String MARK_POSTED =
+            "UPDATE accrual_charges SET posted = TRUE "
+                    + "WHERE account_id BETWEEN ? AND ? AND accrual_date = ? AND posted = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<AccountRange> findAccountRange() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_ACCOUNT_RANGE, (rs, rowNum) -> {
+            long from = rs.getLong(1);
+            return rs.wasNull() ? null : new AccountRange(from, rs.getLong(2));
+        }));
+    }
+
+    /**
+     * Locks the unsharded accounts of the range, in ascending order like transfers, so their
+     * balances cannot move between computing the charges and applying them.
+     */
+    public void lockAccounts(AccountRange range) {
+        jdbcTemplate.queryForList(LOCK_ACCOUNTS, Long.class, range.from(), range.to());
+    }
+
+    /**
+     * Charges a day of interest at {@code dailyRate} on the debt of every account in the range
+     * not yet charged for {@code date}.
+     *
+     * @return the number of charges
+     */
+    public int insertInterest(AccountRange range, LocalDate date, BigDecimal dailyRate) {
+        Date accrualDate = Date.valueOf(date);
+        return jdbcTemplate.update(INSERT_INTEREST, OperationTypeEnum.INTEREST.getId(), accrualDate, dailyRate,
+                range.from(), range.to(), dailyRate, OperationTypeEnum.INTEREST.getId(), accrualDate);
+    }
+
+    /**
+     * Charges {@code fee} to every account in the range with debt, an activity older than
+     * {@code since} and no payment or late fee since then.
+     *
+     * @return the number of charges
+     */
+    public int insertLateFees(AccountRange range, LocalDate date, BigDecimal fee, LocalDate since) {
+        Date accrualDate = Date.valueOf(date);
+        Timestamp sinceStart = Timestamp.valueOf(since.atStartOfDay());
+        return jdbcTemplate.update(INSERT_LATE_FEE, OperationTypeEnum.LATE_FEE.getId(), accrualDate, fee.negate(),
+                accrualDate, range.from(), range.to(), fee, OperationTypeEnum.LATE_FEE.getId(), Date.valueOf(since),
+                OperationTypeEnum.PAYMENT.getId(), sinceStart, sinceStart);
+    }
+
+    /**
+     * Applies the pending charges to the balances of the unsharded accounts in the range.
+     */
+    public int applyCharges(AccountRange range, LocalDate date) {
+        Date accrualDate = Date.valueOf(date);
+        return jdbcTemplate.update(APPLY_CHARGES, accrualDate, range.from(), range.to(), accrualDate);
+    }
+
+    /**
+     * @return the total pending charge of each sharded account in the range, whose balance
+     * slots {@link #applyCharges} does not update
+     */
+    public List<ShardedCharge> findShardedCharges(AccountRange range, LocalDate date) {
+        return jdbcTemplate.query(SELECT_SHARDED_CHARGES,
+                (rs, rowNum) -> new ShardedCharge(rs.getLong(1), rs.getBigDecimal(2)),
+                range.from(), range.to(), Date.valueOf(date));
+    }
+
+    /**
+     * @return the pending charges of the range, as the postings {@link #postCharges} writes
+     */
+    public List<PostingRepository.Posting> findPendingCharges(AccountRange range, LocalDate date) {
+        return jdbcTemplate.query(SELECT_PENDING_CHARGES,
+                (rs, rowNum) -> new PostingRepository.Posting(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3)),
+                range.from(), range.to(), Date.valueOf(date));
+    }
+
+    /**
+     * Writes a transaction for every pending charge in the range and marks the charges posted.
+     * The charged accounts' balance checkpoints after {@code eventDate} no longer hold and are
+     * deleted.
+     *
+     * @return the number of balance checkpoints deleted
+     */
+    public int postCharges(AccountRange range, LocalDate date, LocalDateTime eventDate) {
+        Date accrualDate = Date.valueOf(date);
+        int staleCheckpoints = jdbcTemplate.update(DELETE_STALE_CHECKPOINTS, range.from(), range.to(),
+                Timestamp.valueOf(eventDate), range.from(), range.to(), accrualDate);
+        jdbcTemplate.update(INSERT_TRANSACTIONS, Timestamp.valueOf(eventDate), range.from(), range.to(), accrualDate);
+        jdbcTemplate.update(MARK_POSTED, range.from(), range.to(), accrualDate);
+        return staleCheckpoints;
+    }
+
+    public record ShardedCharge(Long accountId, BigDecimal amount) {
+    }
+}
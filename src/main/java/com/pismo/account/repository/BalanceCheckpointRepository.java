@@ -0,0 +1,89 @@
+package com.pismo.account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Balance checkpoints and the point-in-time balance queries served from them. A checkpoint
+ * holds the balance from every transaction before it, so the balance at any time is the
+ * latest checkpoint at or before it less the transactions since, a range scan of the
+ * {@code (account_id, event_date)} index bounded by the checkpoint interval rather than by the
+ * account's history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceCheckpointRepository {
+
+    private static final String SELECT_ACCOUNT_RANGE = "SELECT MIN(account_id), MAX(account_id) FROM accounts";
+    // Built from the previous checkpoint, if any, and only for accounts with transactions since it
+    private static final String INSERT_CHECKPOINTS =
+            "INSERT INTO balance_checkpoints (account_id, checkpoint_at, balance) "
+                    + "SELECT a.account_id, ?, COALESCE(c.balance, a.initial_balance) - SUM(t.amount) "
+                    + "FROM accounts a "
+                    + "LEFT JOIN balance_checkpoints c ON c.account_id = a.account_id AND c.checkpoint_at = "
+                    + "(SELECT MAX(p.checkpoint_at) FROM balance_checkpoints p "
+                    + "WHERE p.account_id = a.account_id AND p.checkpoint_at < ?) "
+                    + "JOIN transactions t ON t.account_id = a.account_id AND t.event_date < ? "
+                    + "AND (c.checkpoint_at IS NULL OR t.event_date >= c.checkpoint_at) "
+                    + "WHERE a.account_id BETWEEN ? AND ? "
+                    + "AND NOT EXISTS (SELECT 1 FROM balance_checkpoints n "
+                    + "WHERE n.account_id = a.account_id AND n.checkpoint_at = ?) "
+                    + "GROUP BY a.account_id, a.initial_balance, c.balance";
+    private static final String SELECT_LATEST_CHECKPOINT =
+            "SELECT a.initial_balance, c.checkpoint_at, c.balance FROM accounts a "
+                    + "LEFT JOIN balance_checkpoints c ON c.account_id = a.account_id AND c.checkpoint_at = "
+                    + "(SELECT MAX(p.checkpoint_at) FROM balance_checkpoints p "
+                    + "WHERE p.account_id = ? AND p.checkpoint_at <= ?) "
+                    + "WHERE a.account_id = ?";
+    private static final String SUM_SINCE_CHECKPOINT =
+            "SELECT COALESCE(SUM(amount), 0) FROM transactions "
+                    + "WHERE account_id = ? AND event_date >= ? AND event_date <= ?";
+    private static final String SUM_UNTIL =
+            "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE account_id = ? AND event_date <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<AccountRange> findAccountRange() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_ACCOUNT_RANGE, (rs, rowNum) -> {
+            long from = rs.getLong(1);
+            return rs.wasNull() ? null : new AccountRange(from, rs.getLong(2));
+        }));
+    }
+
+    /**
+     * Checkpoints, as of {@code checkpointAt}, every account in the range with transactions
+     * since its previous checkpoint and no checkpoint at that time yet.
+     *
+     * @return the number of checkpoints written
+     */
+    public int insertCheckpoints(AccountRange range, LocalDateTime checkpointAt) {
+        Timestamp at = Timestamp.valueOf(checkpointAt);
+        return jdbcTemplate.update(INSERT_CHECKPOINTS, at, at, at, range.from(), range.to(), at);
+    }
+
+    /**
+     * @return the account's balance once every transaction up to and including {@code at} is
+     * applied, or empty if the account does not exist
+     */
+    public Optional<BigDecimal> findBalanceAt(Long accountId, LocalDateTime at) {
+        Timestamp until = Timestamp.valueOf(at);
+        Optional<Checkpoint> latest = jdbcTemplate.query(SELECT_LATEST_CHECKPOINT, (rs, rowNum) ->
+                        new Checkpoint(rs.getBigDecimal(1), rs.getTimestamp(2), rs.getBigDecimal(3)),
+                accountId, until, accountId).stream().findFirst();
+        return latest.map(checkpoint -> checkpoint.at() == null
+                ? checkpoint.initialBalance().subtract(
+                        jdbcTemplate.queryForObject(SUM_UNTIL, BigDecimal.class, accountId, until))
+                : checkpoint.balance().subtract(
+                        jdbcTemplate.queryForObject(SUM_SINCE_CHECKPOINT, BigDecimal.class, accountId, checkpoint.at(), until)));
+    }
+
+    // No checkpoint at or before the requested time leaves at and balance null
+    private record Checkpoint(BigDecimal initialBalance, Timestamp at, BigDecimal balance) {
+    }
+}
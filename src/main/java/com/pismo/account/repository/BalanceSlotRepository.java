@@ -0,0 +1,111 @@
+package com.pismo.account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Row-level access to {@code account_balance_slots}. Plain JDBC so a posting is a single
+ * conditional {@code UPDATE} on one slot row, without loading or dirty-checking entities.
+ * <p>
+ * Lock order is always slots (ascending) before the account row; callers must run inside a
+ * transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceSlotRepository {
+
+    private static final String DEBIT_SLOT =
+            "UPDATE account_balance_slots SET balance = balance - ? "
+                    + "WHERE account_id = ? AND slot = ? AND balance <= ?";
+    private static final String LOCK_SLOTS =
+            "SELECT balance FROM account_balance_slots WHERE account_id = ? ORDER BY slot FOR UPDATE";
+    private static final String UPDATE_SLOT =
+            "UPDATE account_balance_slots SET balance = ? WHERE account_id = ? AND slot = ?";
+    private static final String DELETE_SLOTS =
+            "DELETE FROM account_balance_slots WHERE account_id = ?";
+    private static final String INSERT_SLOT =
+            "INSERT INTO account_balance_slots (balance, account_id, slot) VALUES (?, ?, ?)";
+    private static final String LOCK_ACCOUNT =
+            "SELECT balance FROM accounts WHERE account_id = ? FOR UPDATE";
+    private static final String UPDATE_ACCOUNT =
+            "UPDATE accounts SET balance = ?, balance_slots = ? WHERE account_id = ?";
+    private static final String SELECT_BALANCE =
+            "SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s "
+                    + "WHERE s.account_id = a.account_id), 0) FROM accounts a WHERE a.account_id = ?";
+    private static final String SELECT_SLOTS =
+            "SELECT balance FROM account_balance_slots WHERE account_id = ? ORDER BY slot";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Subtracts {@code amount} from one slot unless that would make the slot positive.
+     *
+     * @return {@code false} if the slot is short or no longer exists
+     */
+    public boolean debitSlot(Long accountId, int slot, BigDecimal amount) {
+        return jdbcTemplate.update(DEBIT_SLOT, amount, accountId, slot, amount) == 1;
+    }
+
+    /**
+     * Locks every slot of the account, in slot order.
+     *
+     * @return the slot balances indexed by slot, empty if the account is not sharded
+     */
+    public List<BigDecimal> lockSlots(Long accountId) {
+        return jdbcTemplate.queryForList(LOCK_SLOTS, BigDecimal.class, accountId);
+    }
+
+    /**
+     * Overwrites the balances of slots already locked with {@link #lockSlots}.
+     */
+    public void updateSlots(Long accountId, List<BigDecimal> balances) {
+        jdbcTemplate.batchUpdate(UPDATE_SLOT, slotArguments(accountId, balances));
+    }
+
+    /**
+     * Replaces all slots of the account with {@code balances}; an empty list removes them.
+     */
+    public void replaceSlots(Long accountId, List<BigDecimal> balances) {
+        jdbcTemplate.update(DELETE_SLOTS, accountId);
+        if (!balances.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SLOT, slotArguments(accountId, balances));
+        }
+    }
+
+    /**
+     * Locks the account row and returns the part of the balance kept in it.
+     */
+    public Optional<BigDecimal> lockAccountBalance(Long accountId) {
+        return jdbcTemplate.queryForList(LOCK_ACCOUNT, BigDecimal.class, accountId).stream().findFirst();
+    }
+
+    public void updateAccount(Long accountId, BigDecimal balance, int slots) {
+        jdbcTemplate.update(UPDATE_ACCOUNT, balance, slots, accountId);
+    }
+
+    /**
+     * The account's full balance: its own column plus all of its slots.
+     */
+    public Optional<BigDecimal> findBalance(Long accountId) {
+        return jdbcTemplate.queryForList(SELECT_BALANCE, BigDecimal.class, accountId).stream().findFirst();
+    }
+
+    public List<BigDecimal> findSlots(Long accountId) {
+        return jdbcTemplate.queryForList(SELECT_SLOTS, BigDecimal.class, accountId);
+    }
+
+    // (balance, account_id, slot) per slot, the parameter order of UPDATE_SLOT and INSERT_SLOT
+    private static List<Object[]> slotArguments(Long accountId, List<BigDecimal> balances) {
+        List<Object[]> arguments = new ArrayList<>(balances.size());
+        for (int slot = 0; slot < balances.size(); slot++) {
+            arguments.add(new Object[]{balances.get(slot), accountId, slot});
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,27 @@
+package com.pismo.account.repository;
+
+import com.pismo.account.domain.entity.Hold;
+import com.pismo.account.domain.enums.HoldStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    Stream<Hold> streamByStatus(HoldStatus status);
+
+    // Conditional on the current status so concurrent capture, release and expiry cannot all win
+    @Modifying
+    @Query("UPDATE Hold h SET h.status = :to, h.transactionId = :transactionId "
+            + "WHERE h.holdId = :holdId AND h.status = :from")
+    int updateStatus(Long holdId, HoldStatus from, HoldStatus to, Long transactionId);
+
+    @Modifying
+    @Query("UPDATE Hold h SET h.status = :to WHERE h.holdId IN :holdIds AND h.status = :from")
+    int updateStatuses(Collection<Long> holdIds, HoldStatus from, HoldStatus to);
+}
@@ -0,0 +1,87 @@
+package com.pismo.account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch postings, used by transfers and scheduled installments: the balance updates of
+ * several postings go out as one batch and their transactions as one multi-row {@code INSERT},
+ * instead of one statement per posting. Callers must run inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostingRepository {
+
+    private static final String APPLY_BALANCE =
+            "UPDATE accounts SET balance = balance - ? "
+                    + "WHERE account_id = ? AND balance_slots = 0 AND balance <= ?";
+    private static final String INSERT_TRANSACTIONS =
+            "INSERT INTO transactions (account_id, operation_type_id, amount, event_date) VALUES ";
+    private static final String TRANSACTION_ROW = "(?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies every posting to its account's balance in one batch. A posting is not applied if
+     * it would leave the balance positive or if its account is sharded over balance slots.
+     *
+     * @return whether each posting was applied, in posting order
+     */
+    public boolean[] applyBalances(List<Posting> postings) {
+        int[] updated = jdbcTemplate.batchUpdate(APPLY_BALANCE, postings.stream()
+                .map(posting -> new Object[]{posting.amount(), posting.accountId(), posting.amount()})
+                .toList());
+        boolean[] applied = new boolean[updated.length];
+        for (int i = 0; i < updated.length; i++) {
+            applied[i] = updated[i] != 0;
+        }
+        return applied;
+    }
+
+    /**
+     * Inserts a transaction per posting with a single multi-row {@code INSERT}.
+     *
+     * @return the generated transaction ids, in posting order
+     */
+    public List<Long> insertTransactions(List<Posting> postings, LocalDateTime eventDate) {
+        if (postings.isEmpty()) {
+            return List.of();
+        }
+        String sql = INSERT_TRANSACTIONS + String.join(", ", Collections.nCopies(postings.size(), TRANSACTION_ROW));
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[]{"transaction_id"});
+            int parameter = 1;
+            for (Posting posting : postings) {
+                statement.setLong(parameter++, posting.accountId());
+                statement.setLong(parameter++, posting.operationTypeId());
+                statement.setBigDecimal(parameter++, posting.amount());
+                statement.setTimestamp(parameter++, Timestamp.valueOf(eventDate));
+            }
+            return statement;
+        }, keyHolder);
+
+        List<Long> ids = new ArrayList<>(postings.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * A balance change plus its transaction; {@code amount} is signed like a transaction amount.
+     */
+    public record Posting(Long accountId, Long operationTypeId, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.pismo.account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Set-based balance checks over account id ranges. Each check is a single statement, so it
+ * sees a balance and the transactions that produced it from the same snapshot even while
+ * postings go on.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReconciliationRepository {
+
+    private static final String SELECT_ACCOUNT_RANGE = "SELECT MIN(account_id), MAX(account_id) FROM accounts";
+    private static final String COUNT_ACCOUNTS =
+            "SELECT COUNT(*) FROM accounts WHERE account_id BETWEEN ? AND ?";
+    // Postings store signed amounts and apply balance = balance - amount
+    private static final String SELECT_MISMATCHES =
+            "SELECT a.account_id, a.initial_balance, a.balance + COALESCE(s.total, 0), COALESCE(t.total, 0) "
+                    + "FROM accounts a "
+                    + "LEFT JOIN (SELECT account_id, SUM(balance) AS total FROM account_balance_slots "
+                    + "WHERE account_id BETWEEN ? AND ? GROUP BY account_id) s ON s.account_id = a.account_id "
+                    + "LEFT JOIN (SELECT account_id, SUM(amount) AS total FROM transactions "
+                    + "WHERE account_id BETWEEN ? AND ? GROUP BY account_id) t ON t.account_id = a.account_id "
+                    + "WHERE a.account_id BETWEEN ? AND ? "
+                    + "AND a.balance + COALESCE(s.total, 0) <> a.initial_balance - COALESCE(t.total, 0) "
+                    + "ORDER BY a.account_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the lowest and highest account id, empty if there are no accounts
+     */
+    public Optional<AccountRange> findAccountRange() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_ACCOUNT_RANGE, (rs, rowNum) -> {
+            long from = rs.getLong(1);
+            return rs.wasNull() ? null : new AccountRange(from, rs.getLong(2));
+        }));
+    }
+
+    public long countAccounts(AccountRange range) {
+        Long count = jdbcTemplate.queryForObject(COUNT_ACCOUNTS, Long.class, range.from(), range.to());
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Streams every account in the range whose balance (including balance slots) differs from
+     * its initial balance minus the sum of its transaction amounts.
+     *
+     * @return the number of mismatches
+     */
+    public int findMismatches(AccountRange range, Consumer<Mismatch> mismatches) {
+        int[] count = new int[1];
+        jdbcTemplate.query(SELECT_MISMATCHES, rs -> {
+            mismatches.accept(new Mismatch(rs.getLong(1), rs.getBigDecimal(2), rs.getBigDecimal(3), rs.getBigDecimal(4)));
+            count[0]++;
+        }, range.from(), range.to(), range.from(), range.to(), range.from(), range.to());
+        return count[0];
+    }
+
+    public record Mismatch(long accountId, BigDecimal initialBalance, BigDecimal balance, BigDecimal transactionTotal) {
+
+        public BigDecimal expectedBalance() {
+            return initialBalance.subtract(transactionTotal);
+        }
+    }
+}
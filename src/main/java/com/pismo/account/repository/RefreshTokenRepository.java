@@ -0,0 +1,35 @@
+package com.pismo.account.repository;
+
+import com.pismo.account.domain.entity.RefreshToken;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @EntityGraph(attributePaths = "user")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revokes the token if it is still live, as one conditional update so that of two concurrent
+     * refreshes with the same token only one sees an update count of 1.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true "
+            + "WHERE r.tokenHash = :tokenHash AND r.revoked = false AND r.expiresAt >= :now")
+    int revokeIfActive(String tokenHash, Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.tokenHash = :tokenHash")
+    int revoke(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
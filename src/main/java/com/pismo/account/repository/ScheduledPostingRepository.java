@@ -0,0 +1,143 @@
+package com.pismo.account.repository;
+
+import com.pismo.account.domain.entity.ScheduledPosting;
+import com.pismo.account.domain.enums.ScheduledPostingStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * JDBC access to {@code scheduled_postings}. Due rows are claimed in batches with
+ * {@code SELECT ... FOR UPDATE}; on PostgreSQL with {@code SKIP LOCKED}, so instances posting
+ * the same due date claim disjoint batches instead of queueing behind each other's locks.
+ * <p>
+ * Callers must run inside a transaction.
+ */
+@Repository
+@Slf4j
+public class ScheduledPostingRepository {
+
+    private static final String INSERT =
+            "INSERT INTO scheduled_postings (account_id, operation_type_id, amount, installment, installments, "
+                    + "due_date, status, purchase_transaction_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_DUE_ACCOUNT_RANGE =
+            "SELECT MIN(account_id), MAX(account_id) FROM scheduled_postings WHERE status = ? AND due_date <= ?";
+    // Ordered by account so the batched balance updates lock account rows in ascending order, like transfers
+    private static final String CLAIM_DUE =
+            "SELECT scheduled_posting_id, account_id, operation_type_id, amount FROM scheduled_postings "
+                    + "WHERE status = ? AND due_date <= ? AND account_id BETWEEN ? AND ? "
+                    + "ORDER BY account_id, scheduled_posting_id LIMIT ? FOR UPDATE";
+    private static final String LOCK_PENDING =
+            "SELECT scheduled_posting_id, account_id, operation_type_id, amount FROM scheduled_postings "
+                    + "WHERE scheduled_posting_id = ? AND status = ? FOR UPDATE";
+    private static final String SUM_PENDING =
+            "SELECT COALESCE(SUM(amount), 0) FROM scheduled_postings WHERE account_id = ? AND status = ?";
+    private static final String COUNT_PENDING_BY_ACCOUNT =
+            "SELECT account_id, COUNT(*) FROM scheduled_postings WHERE status = ? GROUP BY account_id";
+    private static final String MARK_POSTED =
+            "UPDATE scheduled_postings SET status = ?, transaction_id = ? WHERE scheduled_posting_id = ?";
+    private static final String MARK_FAILED =
+            "UPDATE scheduled_postings SET status = ? WHERE scheduled_posting_id = ?";
+
+    private static final RowMapper<DuePosting> DUE_POSTING = (rs, rowNum) -> new DuePosting(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String claimDue;
+
+    public ScheduledPostingRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(product);
+        this.claimDue = postgres ? CLAIM_DUE + " SKIP LOCKED" : CLAIM_DUE;
+        log.info("Scheduled postings are claimed with {}", postgres ? "FOR UPDATE SKIP LOCKED" : "FOR UPDATE");
+    }
+
+    public void insertAll(List<ScheduledPosting> postings) {
+        jdbcTemplate.batchUpdate(INSERT, postings.stream()
+                .map(posting -> new Object[]{posting.getAccountId(), posting.getOperationTypeId(), posting.getAmount(),
+                        posting.getInstallment(), posting.getInstallments(), Date.valueOf(posting.getDueDate()),
+                        posting.getStatus().name(), posting.getPurchaseTransactionId()})
+                .toList());
+    }
+
+    /**
+     * @return the lowest and highest account id with pending postings due by {@code date},
+     * empty if there are none
+     */
+    public Optional<AccountRange> findDueAccountRange(LocalDate date) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_DUE_ACCOUNT_RANGE, (rs, rowNum) -> {
+            long from = rs.getLong(1);
+            return rs.wasNull() ? null : new AccountRange(from, rs.getLong(2));
+        }, ScheduledPostingStatus.PENDING.name(), Date.valueOf(date)));
+    }
+
+    /**
+     * Locks up to {@code limit} pending postings due by {@code date} on accounts in
+     * {@code range}, skipping rows other transactions hold on PostgreSQL.
+     */
+    public List<DuePosting> claimDue(LocalDate date, AccountRange range, int limit) {
+        return jdbcTemplate.query(claimDue, DUE_POSTING, ScheduledPostingStatus.PENDING.name(), Date.valueOf(date),
+                range.from(), range.to(), limit);
+    }
+
+    /**
+     * Locks one posting if it is still pending.
+     */
+    public Optional<DuePosting> lockPending(Long scheduledPostingId) {
+        return jdbcTemplate.query(LOCK_PENDING, DUE_POSTING, scheduledPostingId, ScheduledPostingStatus.PENDING.name())
+                .stream().findFirst();
+    }
+
+    /**
+     * @return the signed total of the account's pending postings, zero if it has none
+     */
+    public BigDecimal sumPending(Long accountId) {
+        return jdbcTemplate.queryForObject(SUM_PENDING, BigDecimal.class, accountId,
+                ScheduledPostingStatus.PENDING.name());
+    }
+
+    /**
+     * Calls {@code consumer} with each account that has pending postings and how many it has.
+     */
+    public void forEachPendingCount(BiConsumer<Long, Integer> consumer) {
+        jdbcTemplate.query(COUNT_PENDING_BY_ACCOUNT, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getInt(2)),
+                ScheduledPostingStatus.PENDING.name());
+    }
+
+    /**
+     * Marks claimed postings posted as the given transactions, matched by position.
+     */
+    public void markPosted(List<Long> scheduledPostingIds, List<Long> transactionIds) {
+        List<Object[]> arguments = new ArrayList<>(scheduledPostingIds.size());
+        for (int i = 0; i < scheduledPostingIds.size(); i++) {
+            arguments.add(new Object[]{ScheduledPostingStatus.POSTED.name(), transactionIds.get(i),
+                    scheduledPostingIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate(MARK_POSTED, arguments);
+    }
+
+    public void markFailed(Long scheduledPostingId) {
+        jdbcTemplate.update(MARK_FAILED, ScheduledPostingStatus.FAILED.name(), scheduledPostingId);
+    }
+
+    /**
+     * A claimed posting; {@code amount} is signed.
+     */
+    public record DuePosting(Long scheduledPostingId, Long accountId, Long operationTypeId, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.pismo.account.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Reads and additive upserts of {@code spend_aggregates}. Flushes add deltas rather than
+ * overwrite totals, so several instances can flush into the same rows. PostgreSQL upserts with
+ * {@code ON CONFLICT DO UPDATE}; other databases (H2 in dev) with a standard {@code MERGE}.
+ */
+@Repository
+@Slf4j
+public class SpendAggregateRepository {
+
+    public static final long ALL_ACCOUNTS = 0L;
+
+    private static final String UPSERT_POSTGRES =
+            "INSERT INTO spend_aggregates (account_id, operation_type_id, amount, transaction_count) "
+                    + "VALUES (?, ?, ?, ?) ON CONFLICT (account_id, operation_type_id) DO UPDATE SET "
+                    + "amount = spend_aggregates.amount + EXCLUDED.amount, "
+                    + "transaction_count = spend_aggregates.transaction_count + EXCLUDED.transaction_count";
+    private static final String UPSERT_MERGE =
+            "MERGE INTO spend_aggregates t USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), "
+                    + "CAST(? AS DECIMAL(19, 2)), CAST(? AS BIGINT))) "
+                    + "s (account_id, operation_type_id, amount, transaction_count) "
+                    + "ON t.account_id = s.account_id AND t.operation_type_id = s.operation_type_id "
+                    + "WHEN MATCHED THEN UPDATE SET amount = t.amount + s.amount, "
+                    + "transaction_count = t.transaction_count + s.transaction_count "
+                    + "WHEN NOT MATCHED THEN INSERT (account_id, operation_type_id, amount, transaction_count) "
+                    + "VALUES (s.account_id, s.operation_type_id, s.amount, s.transaction_count)";
+    private static final String SELECT_BY_ACCOUNT =
+            "SELECT account_id, operation_type_id, amount, transaction_count FROM spend_aggregates "
+                    + "WHERE account_id = ?";
+    // One pass over history, for the first start with analytics
+    private static final String BACKFILL_ACCOUNTS =
+            "INSERT INTO spend_aggregates (account_id, operation_type_id, amount, transaction_count) "
+                    + "SELECT account_id, operation_type_id, SUM(amount), COUNT(*) FROM transactions "
+                    + "GROUP BY account_id, operation_type_id";
+    private static final String BACKFILL_TOTALS =
+            "INSERT INTO spend_aggregates (account_id, operation_type_id, amount, transaction_count) "
+                    + "SELECT ?, operation_type_id, SUM(amount), SUM(transaction_count) FROM spend_aggregates "
+                    + "GROUP BY operation_type_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsert;
+
+    public SpendAggregateRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(product);
+        this.upsert = postgres ? UPSERT_POSTGRES : UPSERT_MERGE;
+        log.info("Spend aggregates are flushed with {}", postgres ? "INSERT ... ON CONFLICT" : "MERGE");
+    }
+
+    /**
+     * @return the account's totals, one per operation type it has transactions of;
+     * {@link #ALL_ACCOUNTS} for the totals across accounts
+     */
+    public List<Aggregate> findByAccount(long accountId) {
+        return jdbcTemplate.query(SELECT_BY_ACCOUNT, (rs, rowNum) -> new Aggregate(rs.getLong(1), rs.getLong(2),
+                rs.getBigDecimal(3), rs.getLong(4)), accountId);
+    }
+
+    /**
+     * Adds every aggregate's amount and count to the stored totals, in one batch.
+     */
+    public void addAll(List<Aggregate> deltas) {
+        jdbcTemplate.batchUpdate(upsert, deltas.stream()
+                .map(delta -> new Object[]{delta.accountId(), delta.operationTypeId(), delta.amount(),
+                        delta.transactionCount()})
+                .toList());
+    }
+
+    /**
+     * Builds the aggregates from the whole {@code transactions} table. Only for an empty
+     * {@code spend_aggregates}; callers run it in one transaction.
+     */
+    public void backfill() {
+        jdbcTemplate.update(BACKFILL_ACCOUNTS);
+        jdbcTemplate.update(BACKFILL_TOTALS, ALL_ACCOUNTS);
+    }
+
+    public record Aggregate(long accountId, long operationTypeId, BigDecimal amount, long transactionCount) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.pismo.account.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Streams statement rows for a range of accounts: one row per transaction in the period, each
+ * carrying its account's opening balance, ordered by {@code (account_id, event_date)}. Accounts
+ * without transactions in the period still get one row with null transaction columns.
+ * <p>
+ * Reads with a fetch size so the rows are pulled through a cursor rather than loaded at once;
+ * PostgreSQL only does that inside a transaction, so callers must run in one.
+ */
+@Repository
+public class StatementRepository {
+
+    private static final String SELECT_ACCOUNT_RANGE = "SELECT MIN(account_id), MAX(account_id) FROM accounts";
+    // Postings store signed amounts and apply balance = balance - amount
+    private static final String SELECT_STATEMENT_ROWS =
+            "SELECT a.account_id, a.initial_balance - COALESCE(p.total, 0), "
+                    + "t.transaction_id, t.operation_type_id, t.amount, t.event_date "
+                    + "FROM accounts a "
+                    + "LEFT JOIN (SELECT account_id, SUM(amount) AS total FROM transactions "
+                    + "WHERE account_id BETWEEN ? AND ? AND event_date < ? GROUP BY account_id) p "
+                    + "ON p.account_id = a.account_id "
+                    + "LEFT JOIN transactions t ON t.account_id = a.account_id AND t.event_date >= ? AND t.event_date < ? "
+                    + "WHERE a.account_id BETWEEN ? AND ? "
+                    + "ORDER BY a.account_id, t.event_date, t.transaction_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatementRepository(DataSource dataSource, @Value("${app.statements.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public Optional<AccountRange> findAccountRange() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_ACCOUNT_RANGE, (rs, rowNum) -> {
+            long from = rs.getLong(1);
+            return rs.wasNull() ? null : new AccountRange(from, rs.getLong(2));
+        }));
+    }
+
+    /**
+     * Streams the statement rows of accounts in {@code range} for transactions dated in
+     * {@code [periodStart, periodEnd)}. Columns: account_id, opening balance, transaction_id,
+     * operation_type_id, amount, event_date.
+     */
+    public void streamStatementRows(AccountRange range, LocalDateTime periodStart, LocalDateTime periodEnd,
+                                    RowCallbackHandler rows) {
+        Timestamp start = Timestamp.valueOf(periodStart);
+        jdbcTemplate.query(SELECT_STATEMENT_ROWS, rows, range.from(), range.to(), start,
+                start, Timestamp.valueOf(periodEnd), range.from(), range.to());
+    }
+}
@@ -0,0 +1,56 @@
+package com.pismo.account.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+/**
+ * Reads {@code transactions} in transaction id order for the change feed, as a primary key range
+ * scan from the consumer's cursor.
+ * <p>
+ * Reads with a fetch size so the rows are pulled through a cursor rather than loaded at once;
+ * PostgreSQL only does that inside a transaction, so callers must run in one.
+ */
+@Repository
+public class TransactionFeedRepository {
+
+    private static final String SELECT_MAX_ID = "SELECT COALESCE(MAX(transaction_id), 0) FROM transactions";
+    private static final String SELECT_PAGE_END =
+            "SELECT transaction_id FROM transactions WHERE transaction_id > ? AND transaction_id <= ? "
+                    + "ORDER BY transaction_id LIMIT 1 OFFSET ?";
+    private static final String SELECT_CHANGES =
+            "SELECT transaction_id, account_id, operation_type_id, amount, event_date FROM transactions "
+                    + "WHERE transaction_id > ? AND transaction_id <= ? ORDER BY transaction_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionFeedRepository(DataSource dataSource, @Value("${app.change-feed.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public long findMaxTransactionId() {
+        Long max = jdbcTemplate.queryForObject(SELECT_MAX_ID, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * @return the id of the {@code limit}-th transaction with an id in {@code (after, upTo]}, or
+     * empty if there are fewer
+     */
+    public Optional<Long> findPageEnd(long after, long upTo, int limit) {
+        return jdbcTemplate.queryForList(SELECT_PAGE_END, Long.class, after, upTo, limit - 1).stream().findFirst();
+    }
+
+    /**
+     * Streams the transactions with ids in {@code (after, upTo]}, lowest first. Columns:
+     * transaction_id, account_id, operation_type_id, amount, event_date.
+     */
+    public void streamChanges(long after, long upTo, RowCallbackHandler rows) {
+        jdbcTemplate.query(SELECT_CHANGES, rows, after, upTo);
+    }
+}
@@ -1,13 +1,45 @@
 package com.pismo.account.repository;
 
 import com.pismo.account.domain.entity.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
     
     List<Transaction> findByAccountAccountId(Long accountId);
+
+    // Read from the covering (account_id, event_date, transaction_id) index
+    @Query("SELECT t.operationTypeId AS operationTypeId, t.amount AS amount, t.eventDate AS eventDate "
+            + "FROM Transaction t WHERE t.account.accountId = :accountId AND t.eventDate >= :since "
+            + "AND t.operationTypeId IN :operationTypeIds")
+    List<RecentPosting> findRecentPostings(@Param("accountId") Long accountId,
+                                           @Param("since") LocalDateTime since,
+                                           @Param("operationTypeIds") Collection<Long> operationTypeIds);
+
+    @Query("SELECT t FROM Transaction t WHERE t.account.accountId = :accountId AND t.eventDate >= :since "
+            + "AND t.operationTypeId = :operationTypeId AND t.amount = :amount "
+            + "ORDER BY t.eventDate DESC, t.transactionId DESC")
+    List<Transaction> findRecentMatches(@Param("accountId") Long accountId,
+                                        @Param("since") LocalDateTime since,
+                                        @Param("operationTypeId") Long operationTypeId,
+                                        @Param("amount") BigDecimal amount,
+                                        Limit limit);
+
+    interface RecentPosting {
+        Long getOperationTypeId();
+
+        BigDecimal getAmount();
+
+        LocalDateTime getEventDate();
+    }
 }
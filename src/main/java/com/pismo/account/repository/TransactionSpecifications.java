@@ -0,0 +1,55 @@
+package com.pismo.account.repository;
+
+import com.pismo.account.domain.entity.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters for transaction search, combined with {@link Specification#where} and {@code and}.
+ * With an account filter they all resolve against the covering
+ * {@code (account_id, event_date, transaction_id) INCLUDE (amount, operation_type_id)} index.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> forAccount(Long accountId) {
+        return (root, query, cb) -> cb.equal(root.get("account").get("accountId"), accountId);
+    }
+
+    public static Specification<Transaction> ofOperationType(Long operationTypeId) {
+        return (root, query, cb) -> cb.equal(root.get("operationTypeId"), operationTypeId);
+    }
+
+    public static Specification<Transaction> onOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("eventDate"), from);
+    }
+
+    public static Specification<Transaction> before(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("eventDate"), to);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal minAmount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal maxAmount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+
+    /**
+     * Transactions after the given one in {@code (event_date DESC, transaction_id DESC)} order,
+     * the keyset of the next search page.
+     */
+    public static Specification<Transaction> after(LocalDateTime eventDate, Long transactionId) {
+        return (root, query, cb) -> cb.and(
+                // Redundant with the OR below, but gives the planner an index range bound
+                cb.lessThanOrEqualTo(root.get("eventDate"), eventDate),
+                cb.or(cb.lessThan(root.get("eventDate"), eventDate),
+                        cb.and(cb.equal(root.get("eventDate"), eventDate),
+                                cb.lessThan(root.get("transactionId"), transactionId))));
+    }
+}
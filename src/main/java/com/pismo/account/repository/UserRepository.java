@@ -2,8 +2,11 @@ package com.pismo.account.repository;
 
 import com.pismo.account.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +17,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+
+    /**
+     * Usernames and emails already taken among the given candidates, in one query.
+     */
+    @Query("SELECT u.username AS username, u.email AS email FROM User u " +
+            "WHERE u.username IN :usernames OR u.email IN :emails")
+    List<UserIdentity> findIdentities(Collection<String> usernames, Collection<String> emails);
+
+    interface UserIdentity {
+        String getUsername();
+
+        String getEmail();
+    }
 }
@@ -1,5 +1,6 @@
 package com.pismo.account.security;
 
+import com.pismo.account.monitoring.JwtAuthenticationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,8 +9,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,32 +22,50 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        event.requestUri = request.getRequestURI();
+        event.outcome = "ANONYMOUS";
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            VerifiedToken token = StringUtils.hasText(jwt) ? tokenProvider.verify(request, jwt).orElse(null) : null;
+            if (StringUtils.hasText(jwt) && token == null) {
+                event.outcome = "INVALID_TOKEN";
+            }
+            if (token != null) {
+                String username = token.username();
+                event.username = username;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, 
-                                null, 
-                                userDetails.getAuthorities()
-                        );
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (tokenRevocationService.isRevoked(username, token.issuedAt())
+                        || tokenRevocationService.isTokenRevoked(token.tokenId())) {
+                    event.outcome = "REVOKED";
+                } else {
+                    // Authorities come from the verified token, so no user lookup is needed
+                    UserPrincipal userDetails = UserPrincipal.fromToken(token);
+                    UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, 
+                                    null, 
+                                    userDetails.getAuthorities()
+                            );
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    event.outcome = "AUTHENTICATED";
+                }
             }
         } catch (Exception ex) {
+            event.outcome = "ERROR";
             log.error("Could not set user authentication in security context", ex);
         }
+        event.commit();
 
         filterChain.doFilter(request, response);
     }
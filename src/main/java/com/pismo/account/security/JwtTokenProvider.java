@@ -1,67 +1,166 @@
 package com.pismo.account.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+    static final String VERIFIED_TOKEN_ATTRIBUTE = JwtTokenProvider.class.getName() + ".verifiedToken";
+
     @Value("${app.jwt.secret:pismoSecretKeyForJWTAuthenticationThatIsAtLeast256BitsLongToMeetHS256Requirements}")
     private String jwtSecret;
 
-    @Value("${app.jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Value("${app.jwt.expiration:900000}") // 15 minutes in milliseconds
     private long jwtExpirationMs;
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+    @Value("${app.jwt.cache.max-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    private SecretKey key;
+    private JwtParser parser;
+
+    /**
+     * Recently verified tokens keyed by their signature segment, which is already an HMAC of
+     * the token content. Entries hold the full token so a hit is only trusted on an exact match,
+     * and each entry is evicted when the token itself expires.
+     */
+    private Cache<String, CachedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(String signature, CachedToken cached, long currentTime) {
+                        return Duration.between(Instant.now(), cached.verified().expiresAt()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String signature, CachedToken cached,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(signature, cached, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String signature, CachedToken cached,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Issues a token carrying the user id and granted roles as claims, so requests
+     * can be authenticated from the verified token alone.
+     */
+    public String generateToken(Authentication authentication, Long userId) {
+        return generateToken((UserDetails) authentication.getPrincipal(), userId);
+    }
+
+    public String generateToken(UserDetails userDetails, Long userId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLES_CLAIM, roles)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
-    }
+    /**
+     * Verifies the token signature and expiry and extracts its claims in a single pass.
+     * Tokens seen recently are served from the verified-token cache without re-parsing.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        CachedToken cached = verifiedTokens.getIfPresent(signature);
+        if (cached != null && cached.token().equals(token)
+                && cached.verified().expiresAt().isAfter(Instant.now())) {
+            return Optional.of(cached.verified());
+        }
 
-    public boolean validateToken(String authToken) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(authToken);
-            
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = toVerifiedToken(claims);
+            if (!signature.isEmpty()) {
+                verifiedTokens.put(signature, new CachedToken(token, verified));
+            }
+            return Optional.of(verified);
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Verifies a request's bearer token once however many filters ask for it; the outcome is kept
+     * on the request, so an invalid token costs one signature check and one log line.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<VerifiedToken> verify(HttpServletRequest request, String token) {
+        Optional<VerifiedToken> verified = (Optional<VerifiedToken>) request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE);
+        if (verified == null) {
+            verified = verify(token);
+            request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
+        }
+        return verified;
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT has no expiration");
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                userId == null ? null : userId.longValue(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private record CachedToken(String token, VerifiedToken verified) {
     }
 }
@@ -0,0 +1,216 @@
+package com.pismo.account.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pismo.account.dto.response.LoginLockoutResponse;
+import com.pismo.account.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks failed logins per username and per client IP so that a credential-stuffing run is
+ * stopped before it reaches BCrypt.
+ * <p>
+ * Each key keeps its most recent failure times in a fixed ring buffer sized to the threshold.
+ * When the buffer is full and its oldest entry is still inside the window, the key is locked
+ * out; each further lockout of the same key doubles the lockout time up to a ceiling. Locked
+ * keys are rejected by {@link #checkAllowed} with a 429 before the password is checked.
+ */
+@Service
+@Slf4j
+public class LoginAttemptService {
+
+    static final String USER_SCOPE = "user";
+    static final String IP_SCOPE = "ip";
+
+    private final int maxUserFailures;
+    private final int maxIpFailures;
+    private final long windowMillis;
+    private final long baseLockoutMillis;
+    private final long maxLockoutMillis;
+
+    private final Cache<String, FailureWindow> userWindows;
+    private final Cache<String, FailureWindow> ipWindows;
+
+    private final Counter failureCounter;
+    private final MeterRegistry meterRegistry;
+
+    public LoginAttemptService(@Value("${app.security.login-protection.max-failures-per-user:5}") int maxUserFailures,
+                               @Value("${app.security.login-protection.max-failures-per-ip:20}") int maxIpFailures,
+                               @Value("${app.security.login-protection.window:15m}") Duration window,
+                               @Value("${app.security.login-protection.base-lockout:30s}") Duration baseLockout,
+                               @Value("${app.security.login-protection.max-lockout:1h}") Duration maxLockout,
+                               @Value("${app.security.login-protection.max-keys:100000}") long maxKeys,
+                               MeterRegistry meterRegistry) {
+        this.maxUserFailures = maxUserFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.windowMillis = window.toMillis();
+        this.baseLockoutMillis = baseLockout.toMillis();
+        this.maxLockoutMillis = maxLockout.toMillis();
+        this.meterRegistry = meterRegistry;
+
+        // Keys idle for longer than both the window and the longest lockout carry no state worth keeping
+        Duration idleExpiry = window.compareTo(maxLockout) > 0 ? window : maxLockout;
+        this.userWindows = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleExpiry).build();
+        this.ipWindows = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleExpiry).build();
+
+        this.failureCounter = Counter.builder("auth.login.failures")
+                .description("Failed login attempts")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.lockouts.active", this, service -> service.countLocked(System.currentTimeMillis()))
+                .description("Usernames and IPs currently locked out of login")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if either the username or the client IP is locked out.
+     */
+    public void checkAllowed(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        checkWindow(userWindows.getIfPresent(username), USER_SCOPE, now);
+        if (clientIp != null) {
+            checkWindow(ipWindows.getIfPresent(clientIp), IP_SCOPE, now);
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        failureCounter.increment();
+        recordFailure(userWindows.get(username, key -> new FailureWindow(maxUserFailures)), USER_SCOPE, username, now);
+        if (clientIp != null) {
+            recordFailure(ipWindows.get(clientIp, key -> new FailureWindow(maxIpFailures)), IP_SCOPE, clientIp, now);
+        }
+    }
+
+    /**
+     * Clears the username's failures. The IP's history is kept, since one valid credential
+     * found by a stuffing run should not reset the run's own counter.
+     */
+    public void recordSuccess(String username) {
+        userWindows.invalidate(username);
+    }
+
+    public List<LoginLockoutResponse> getLockouts() {
+        long now = System.currentTimeMillis();
+        List<LoginLockoutResponse> lockouts = new ArrayList<>();
+        collect(userWindows, USER_SCOPE, now, lockouts);
+        collect(ipWindows, IP_SCOPE, now, lockouts);
+        lockouts.sort(Comparator.comparing(LoginLockoutResponse::getLockedUntil).reversed());
+        return lockouts;
+    }
+
+    public boolean clearUser(String username) {
+        return userWindows.asMap().remove(username) != null;
+    }
+
+    public boolean clearIp(String clientIp) {
+        return ipWindows.asMap().remove(clientIp) != null;
+    }
+
+    private void checkWindow(FailureWindow window, String scope, long now) {
+        if (window == null) {
+            return;
+        }
+        long lockedUntil = window.lockedUntil();
+        if (lockedUntil > now) {
+            meterRegistry.counter("auth.login.blocked", "scope", scope).increment();
+            long retryAfterSeconds = Math.max(1, (lockedUntil - now + 999) / 1000);
+            throw new TooManyRequestsException(
+                    "Too many failed login attempts, please retry later", retryAfterSeconds);
+        }
+    }
+
+    private void recordFailure(FailureWindow window, String scope, String key, long now) {
+        long lockedUntil = window.recordFailure(now, windowMillis, baseLockoutMillis, maxLockoutMillis);
+        if (lockedUntil > 0) {
+            meterRegistry.counter("auth.login.lockouts", "scope", scope).increment();
+            log.warn("Locking out {} {} from login until {}", scope, key, Instant.ofEpochMilli(lockedUntil));
+        }
+    }
+
+    private void collect(Cache<String, FailureWindow> windows, String scope, long now,
+                         List<LoginLockoutResponse> lockouts) {
+        for (Map.Entry<String, FailureWindow> entry : windows.asMap().entrySet()) {
+            FailureWindow window = entry.getValue();
+            long lockedUntil = window.lockedUntil();
+            if (lockedUntil > now) {
+                lockouts.add(new LoginLockoutResponse(scope, entry.getKey(),
+                        window.recentFailures(now, windowMillis), window.lockouts(),
+                        Instant.ofEpochMilli(lockedUntil)));
+            }
+        }
+    }
+
+    private long countLocked(long now) {
+        return userWindows.asMap().values().stream().filter(window -> window.lockedUntil() > now).count()
+                + ipWindows.asMap().values().stream().filter(window -> window.lockedUntil() > now).count();
+    }
+
+    /**
+     * Ring buffer of the last {@code threshold} failure times for one key, plus its lockout
+     * state. Guarded by its own monitor; contention is limited to attempts on the same key.
+     */
+    static final class FailureWindow {
+
+        // Caps the doubling so the shift cannot overflow; the max lockout applies long before
+        private static final int MAX_DOUBLINGS = 30;
+
+        private final long[] failureTimes;
+        private int next;
+        private int lockouts;
+        private long lockedUntil;
+
+        FailureWindow(int threshold) {
+            this.failureTimes = new long[Math.max(1, threshold)];
+        }
+
+        /**
+         * @return the new lockout expiry if this failure triggered a lockout, otherwise 0
+         */
+        synchronized long recordFailure(long now, long windowMillis, long baseLockoutMillis, long maxLockoutMillis) {
+            failureTimes[next] = now;
+            next = (next + 1) % failureTimes.length;
+
+            // After the write, failureTimes[next] is the oldest of the last threshold failures
+            long oldest = failureTimes[next];
+            if (oldest == 0 || now - oldest >= windowMillis) {
+                return 0;
+            }
+            long lockout = Math.min(maxLockoutMillis, baseLockoutMillis << Math.min(lockouts, MAX_DOUBLINGS));
+            lockouts++;
+            lockedUntil = now + lockout;
+            Arrays.fill(failureTimes, 0);
+            return lockedUntil;
+        }
+
+        synchronized long lockedUntil() {
+            return lockedUntil;
+        }
+
+        synchronized int lockouts() {
+            return lockouts;
+        }
+
+        synchronized int recentFailures(long now, long windowMillis) {
+            int count = 0;
+            for (long failureTime : failureTimes) {
+                if (failureTime != 0 && now - failureTime < windowMillis) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
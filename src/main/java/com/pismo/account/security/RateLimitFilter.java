@@ -0,0 +1,159 @@
+package com.pismo.account.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pismo.account.dto.response.ErrorResponse;
+import com.pismo.account.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting, run ahead of {@link JwtAuthenticationFilter} so throttled
+ * requests never reach authentication, the controllers or the connection pool.
+ * <p>
+ * Every request draws from a per-IP bucket, then from a bucket for its route keyed by the
+ * principal (or by IP for anonymous requests). The principal comes from the verified-token
+ * cache, so this adds no signature check for tokens already seen. Buckets live in a bounded
+ * Caffeine map and are updated with a single CAS each, see {@link TokenBucket}.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimitProperties properties;
+    private final JwtTokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final List<CompiledRoute> routes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter allowedCounter;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           JwtTokenProvider tokenProvider,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(
+                        (StringUtils.hasText(route.getMethod()) ? route.getMethod().toUpperCase() + " " : "") + route.getPath(),
+                        route.getMethod(), route.getPath(), route))
+                .toList();
+
+        this.allowedCounter = Counter.builder("http.rate_limit.allowed")
+                .description("Requests admitted by the rate limiter")
+                .register(meterRegistry);
+        Gauge.builder("http.rate_limit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        String clientIp = request.getRemoteAddr();
+
+        long waitNanos = acquire("ip:" + clientIp, properties.getPerIp(), now);
+        if (waitNanos > 0) {
+            reject(request, response, "ip", "all", waitNanos);
+            return;
+        }
+
+        CompiledRoute route = matchRoute(request);
+        String routeName = route == null ? DEFAULT_ROUTE : route.name();
+        RateLimitProperties.Limit limit = route == null ? properties.getDefaultLimit() : route.limit();
+        waitNanos = acquire(routeName + "|" + principalKey(request, clientIp), limit, now);
+        if (waitNanos > 0) {
+            reject(request, response, "route", routeName, waitNanos);
+            return;
+        }
+
+        allowedCounter.increment();
+        filterChain.doFilter(request, response);
+    }
+
+    private long acquire(String key, RateLimitProperties.Limit limit, long now) {
+        return buckets.get(key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now))
+                .tryAcquire(now);
+    }
+
+    private String principalKey(HttpServletRequest request, String clientIp) {
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            VerifiedToken token = tokenProvider.verify(request, bearerToken.substring(7)).orElse(null);
+            if (token != null) {
+                return "user:" + token.username();
+            }
+        }
+        return "ip:" + clientIp;
+    }
+
+    private CompiledRoute matchRoute(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (CompiledRoute route : routes) {
+            if ((route.method() == null || route.method().isEmpty() || route.method().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.path(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        String scope, String routeName, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        meterRegistry.counter("http.rate_limit.rejected", "scope", scope, "route", routeName).increment();
+        log.debug("Rate limited {} {} from {} ({} limit)", request.getMethod(), request.getRequestURI(),
+                request.getRemoteAddr(), scope);
+
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded, please retry later",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private record CompiledRoute(String name, String method, String path, RateLimitProperties.Limit limit) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.pismo.account.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits applied by {@link RateLimitFilter}, bound from {@code app.rate-limit}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on buckets kept in memory; least recently used keys are dropped first
+    private long maxKeys = 100_000;
+
+    // Buckets untouched for this long are dropped, which refills them implicitly
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    // Applied to every request from one client IP, whatever the route
+    private Limit perIp = new Limit(200, 100);
+
+    // Applied per principal (or per IP when anonymous) to requests matching no route below
+    private Limit defaultLimit = new Limit(100, 50);
+
+    // Per-route limits, first match wins
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private long capacity;
+        private double refillPerSecond;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @NoArgsConstructor
+    public static class Route extends Limit {
+        // HTTP method, or empty for any method
+        private String method;
+        // Ant-style path pattern, e.g. /api/auth/**
+        private String path;
+    }
+}
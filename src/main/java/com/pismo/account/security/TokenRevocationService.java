@@ -0,0 +1,128 @@
+package com.pismo.account.security;
+
+import com.pismo.account.domain.entity.RevokedToken;
+import com.pismo.account.repository.RevokedTokenRepository;
+import com.pismo.account.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Token revocation checks for {@link JwtAuthenticationFilter}, kept in memory so that no
+ * request pays a query for them.
+ * <ul>
+ *   <li>Per-user cutoffs: a token whose issued-at time is not after the user's cutoff is
+ *   rejected, which locks out disabled or role-changed users. Cutoffs are dropped once every
+ *   token issued before them has expired on its own.</li>
+ *   <li>Per-token revocations (logout): persisted to {@code revoked_tokens} and mirrored in a
+ *   Bloom filter. A negative answer, which is what almost every request gets, is definitive and
+ *   costs a few memory reads. Only a positive answer, i.e. a really revoked token or a rare false
+ *   positive, is confirmed against the table. The filter is rebuilt periodically from the table
+ *   so it picks up revocations made by other instances and sheds expired ones.</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long jwtExpirationMs;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private final Object filterLock = new Object();
+    private volatile BloomFilter revokedTokenIds;
+    private Set<String> revokedDuringRebuild;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${app.jwt.expiration:900000}") long jwtExpirationMs,
+                                  @Value("${app.jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${app.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedTokenIds = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public void revokeUserTokens(String username) {
+        log.info("Revoking tokens issued so far for user: {}", username);
+        userCutoffs.put(username, System.currentTimeMillis());
+    }
+
+    public boolean isRevoked(String username, Instant issuedAt) {
+        Long cutoff = userCutoffs.get(username);
+        if (cutoff == null) {
+            return false;
+        }
+        if (cutoff + jwtExpirationMs < System.currentTimeMillis()) {
+            userCutoffs.remove(username, cutoff);
+            return false;
+        }
+        // iat only has second precision, so a token issued in the same second as the cutoff is rejected too
+        return issuedAt == null || issuedAt.toEpochMilli() <= cutoff;
+    }
+
+    /**
+     * Revokes a single access token until its own expiry. The row is committed before the
+     * in-memory filter is updated, so a concurrent rebuild either reads the row or sees the id
+     * recorded in {@code revokedDuringRebuild}.
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        synchronized (filterLock) {
+            revokedTokenIds.put(tokenId);
+            if (revokedDuringRebuild != null) {
+                revokedDuringRebuild.add(tokenId);
+            }
+        }
+    }
+
+    public boolean isTokenRevoked(String tokenId) {
+        if (tokenId == null || !revokedTokenIds.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.rebuild-interval:60000}")
+    @Transactional
+    public void rebuild() {
+        synchronized (filterLock) {
+            revokedDuringRebuild = new HashSet<>();
+        }
+
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+        long count = 0;
+        try (Stream<String> tokenIds = revokedTokenRepository.streamActiveTokenIds(now)) {
+            Iterator<String> iterator = tokenIds.iterator();
+            while (iterator.hasNext()) {
+                rebuilt.put(iterator.next());
+                count++;
+            }
+        }
+
+        synchronized (filterLock) {
+            revokedDuringRebuild.forEach(rebuilt::put);
+            revokedTokenIds = rebuilt;
+            revokedDuringRebuild = null;
+        }
+        log.debug("Rebuilt revoked-token filter with {} entries, purged {} expired", count, purged);
+    }
+}
@@ -0,0 +1,51 @@
+package com.pismo.account.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of loaded users, plugged into {@code DaoAuthenticationProvider} so repeated
+ * logins skip the user query. Entries are evicted explicitly when a user is registered,
+ * enabled or disabled, re-roled, or has their password hash upgraded on login; the application
+ * has no other way to change a password. Anything written to {@code users} outside these paths
+ * is only seen once the entry expires after the TTL, so until then an old password keeps working.
+ * On a password mismatch against a cached entry the provider reloads from the database, so a
+ * stale hash can never lock a user out.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache implements UserCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(@Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                            @Value("${app.security.user-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        log.debug("Evicting cached user: {}", username);
+        cache.invalidate(username);
+    }
+}
@@ -0,0 +1,50 @@
+package com.pismo.account.security;
+
+import com.pismo.account.domain.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated principal carrying the user id and email alongside the usual
+ * {@link UserDetails} data, so callers never need a second lookup by username.
+ * Deliberately not a {@code CredentialsContainer}: instances are cached, and the
+ * password hash must survive Spring Security's post-authentication credential erasure.
+ */
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
+    private final boolean enabled;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public static UserPrincipal fromUser(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getName()))
+                .toList();
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(),
+                user.getPassword(), user.isEnabled(), authorities);
+    }
+
+    public static UserPrincipal fromToken(VerifiedToken token) {
+        List<GrantedAuthority> authorities = token.roles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+        return new UserPrincipal(token.userId(), token.username(), null, "", true, authorities);
+    }
+
+    public List<String> getRoleNames() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+}
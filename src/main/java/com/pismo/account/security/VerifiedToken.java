@@ -0,0 +1,17 @@
+package com.pismo.account.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims extracted from a bearer token whose signature and expiry have been verified.
+ */
+public record VerifiedToken(
+        String tokenId,
+        String username,
+        Long userId,
+        List<String> roles,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,119 @@
+package com.pismo.account.service;
+
+import com.pismo.account.dto.response.AccountImportResponse;
+import com.pismo.account.dto.response.AccountResponse;
+import com.pismo.account.repository.AccountBulkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports accounts in bulk from a list or from an uploaded file with one document number per
+ * line. Document numbers must be 11 to 14 characters, as for {@code POST /accounts}; anything
+ * else is reported as invalid. Input
+ * is consumed in chunks, and each chunk is inserted set-based by
+ * {@link AccountBulkRepository} in its own transaction, so memory stays bounded by the chunk
+ * size and a failure only rolls back the chunk in flight.
+ */
+@Service
+@Slf4j
+public class AccountImportService {
+
+    private static final int MIN_DOCUMENT_LENGTH = 11;
+    private static final int MAX_DOCUMENT_LENGTH = 14;
+
+    private final AccountBulkRepository accountBulkRepository;
+    private final DocumentNumberIndex documentNumberIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public AccountImportService(AccountBulkRepository accountBulkRepository,
+                                DocumentNumberIndex documentNumberIndex,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.import.accounts.chunk-size:5000}") int chunkSize) {
+        this.accountBulkRepository = accountBulkRepository;
+        this.documentNumberIndex = documentNumberIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    public AccountImportResponse importDocumentNumbers(List<String> documentNumbers) {
+        return importAll(documentNumbers.iterator());
+    }
+
+    /**
+     * Streams the file line by line; blank lines are skipped.
+     */
+    public AccountImportResponse importFile(InputStream inputStream) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            return importAll(reader.lines().iterator());
+        }
+    }
+
+    private AccountImportResponse importAll(Iterator<String> documentNumbers) {
+        AccountImportResponse report = new AccountImportResponse();
+        List<String> chunk = new ArrayList<>(chunkSize);
+        long received = 0;
+
+        while (documentNumbers.hasNext()) {
+            String documentNumber = documentNumbers.next();
+            documentNumber = documentNumber == null ? "" : documentNumber.strip();
+            if (documentNumber.isEmpty()) {
+                continue;
+            }
+            received++;
+            if (!isValid(documentNumber)) {
+                report.getInvalidDocumentNumbers().add(documentNumber);
+                continue;
+            }
+            chunk.add(documentNumber);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        report.setReceived(received);
+        log.info("Account import finished: {} received, {} created, {} duplicates, {} invalid", received,
+                report.getCreatedAccounts().size(), report.getDuplicateDocumentNumbers().size(),
+                report.getInvalidDocumentNumbers().size());
+        return report;
+    }
+
+    // The same rule as AccountRequest, so both entry points accept the same numbers
+    private static boolean isValid(String documentNumber) {
+        return documentNumber.length() >= MIN_DOCUMENT_LENGTH && documentNumber.length() <= MAX_DOCUMENT_LENGTH;
+    }
+
+    private void importChunk(List<String> chunk, AccountImportResponse report) {
+        Map<String, Long> created = new HashMap<>(
+                transactionTemplate.execute(status -> accountBulkRepository.insertMissing(chunk)));
+
+        for (String documentNumber : chunk) {
+            // remove() so a number repeated within the chunk is reported as a duplicate the second time
+            Long accountId = created.remove(documentNumber);
+            if (accountId != null) {
+                AccountResponse account = new AccountResponse(accountId, documentNumber);
+                documentNumberIndex.added(account);
+                report.getCreatedAccounts().add(account);
+            } else {
+                report.getDuplicateDocumentNumbers().add(documentNumber);
+            }
+        }
+    }
+}
@@ -6,14 +6,18 @@ import com.pismo.account.dto.response.AccountResponse;
 import com.pismo.account.exception.DuplicateResourceException;
 import com.pismo.account.exception.InsufficientBalance;
 import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.monitoring.BalanceUpdateEvent;
 import com.pismo.account.repository.AccountRepository;
+import com.pismo.account.repository.BalanceSlotRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,19 +25,32 @@ import java.math.BigDecimal;
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final DocumentNumberIndex documentNumberIndex;
+    private final BalanceSlotRepository balanceSlotRepository;
+    private final BalanceSlotService balanceSlotService;
 
     @Transactional
     public AccountResponse createAccount(AccountRequest request) {
         log.info("Creating account for document number: {}", request.getDocumentNumber());
-        
+
+        // On a filter miss the insert is tried directly, with the unique constraint as the backstop
+        if (documentNumberIndex.mightExist(request.getDocumentNumber())
+                && findByDocumentNumber(request.getDocumentNumber()).isPresent()) {
+            log.warn("Duplicate account creation attempted for document number: {}", request.getDocumentNumber());
+            throw new DuplicateResourceException(
+                    "Account with document number " + request.getDocumentNumber() + " already exists");
+        }
+
         try {
             Account account = new Account();
             account.setDocumentNumber(request.getDocumentNumber());
             
             Account savedAccount = accountRepository.save(account);
             log.info("Account created successfully with ID: {}", savedAccount.getAccountId());
-            
-            return new AccountResponse(savedAccount.getAccountId(), savedAccount.getDocumentNumber());
+
+            AccountResponse response = new AccountResponse(savedAccount.getAccountId(), savedAccount.getDocumentNumber());
+            documentNumberIndex.added(response);
+            return response;
             
         } catch (DataIntegrityViolationException e) {
             // Database unique constraint caught duplicate (race condition occurred)
@@ -53,6 +70,15 @@ public class AccountService {
         return new AccountResponse(account.getAccountId(), account.getDocumentNumber());
     }
 
+    @Transactional(readOnly = true)
+    public AccountResponse getAccountByDocumentNumber(String documentNumber) {
+        log.info("Retrieving account with document number: {}", documentNumber);
+
+        return findByDocumentNumber(documentNumber)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Account not found with document number: " + documentNumber));
+    }
+
     @Transactional(readOnly = true)
     public Account findAccountById(Long accountId) {
         return accountRepository.findById(accountId)
@@ -60,16 +86,69 @@ public class AccountService {
     }
 
 
+    /**
+     * Applies a posting to the account's balance and returns the new balance. Unsharded accounts
+     * are updated with one conditional statement on the account row; sharded ones go through
+     * {@link BalanceSlotService}.
+     */
     @Transactional
-    public void updateAccountBalance(Long accountId, BigDecimal amount){
-        Account account = findAccountById(accountId);
-        if(!account.hasSufficientbalance(amount)){
-            throw new InsufficientBalance("Insufficient balance for account ID: " + accountId);
+    public BigDecimal updateAccountBalance(Long accountId, BigDecimal amount){
+        BalanceUpdateEvent event = new BalanceUpdateEvent();
+        event.begin();
+        event.accountId = accountId;
+        event.amount = amount.doubleValue();
+        event.outcome = "FAILED";
+        try {
+            long dbStart = System.nanoTime();
+            Account account = findAccountById(accountId);
+            BigDecimal balance = applyToBalance(accountId, account.getBalanceSlots(), amount);
+            event.dbTime = System.nanoTime() - dbStart;
+            event.outcome = "UPDATED";
+            return balance;
+        } catch (InsufficientBalance e) {
+            event.outcome = "INSUFFICIENT_BALANCE";
+            throw e;
+        } finally {
+            event.commit();
         }
-        else{
-            BigDecimal balance = account.getBalance().subtract(amount);
-            account.setBalance(balance);
-            accountRepository.save(account);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(Long accountId) {
+        return balanceSlotRepository.findBalance(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with ID: " + accountId));
+    }
+
+    private BigDecimal applyToBalance(Long accountId, int slots, BigDecimal amount) {
+        if (slots > 0) {
+            Optional<BigDecimal> balance = balanceSlotService.post(accountId, slots, amount);
+            if (balance.isPresent()) {
+                return balance.get();
+            }
+            // The slots were collapsed after the account was read
+        }
+        if (accountRepository.debitBalance(accountId, amount) == 1) {
+            return getBalance(accountId);
+        }
+
+        // Either the balance is short or the account was sharded after it was read
+        int currentSlots = accountRepository.findBalanceSlots(accountId).orElse(0);
+        if (slots == 0 && currentSlots > 0) {
+            return balanceSlotService.post(accountId, currentSlots, amount)
+                    .orElseThrow(() -> new ConcurrencyFailureException(
+                            "Balance slots of account " + accountId + " changed during the posting"));
+        }
+        throw new InsufficientBalance("Insufficient balance for account ID: " + accountId);
+    }
+
+    private Optional<AccountResponse> findByDocumentNumber(String documentNumber) {
+        Optional<AccountResponse> cached = documentNumberIndex.getCached(documentNumber);
+        if (cached.isPresent()) {
+            return cached;
         }
+        Optional<AccountResponse> found = accountRepository.findByDocumentNumber(documentNumber)
+                .map(account -> new AccountResponse(account.getAccountId(), account.getDocumentNumber()));
+        found.ifPresent(documentNumberIndex::cache);
+        return found;
     }
 }
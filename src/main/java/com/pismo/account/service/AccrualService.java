@@ -0,0 +1,151 @@
+package com.pismo.account.service;
+
+import com.pismo.account.dto.response.AccrualResponse;
+import com.pismo.account.exception.InvalidStateException;
+import com.pismo.account.repository.AccountRange;
+import com.pismo.account.repository.AccrualRepository;
+import com.pismo.account.repository.AccrualRepository.ShardedCharge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Daily interest and late-fee accrual for revolving credit.
+ * <p>
+ * Accounts are processed in account id chunks, each in one transaction of a few set-based
+ * statements (see {@link AccrualRepository}) instead of loading and updating accounts one by
+ * one. Charges are keyed by account, type and accrual date, so rerunning a date, or resuming
+ * one that stopped halfway, only charges the accounts not charged yet.
+ * <p>
+ * Charges are posted as of the start of the accrual date, usually after that date's balance
+ * checkpoints were written. The charged accounts' later checkpoints are deleted with the posting
+ * and written again once the run finishes, see {@link BalanceCheckpointService#refill}.
+ */
+@Service
+@Slf4j
+public class AccrualService {
+
+    private static final int RATE_SCALE = 10;
+
+    private final AccrualRepository accrualRepository;
+    private final AccountService accountService;
+    private final BalanceCheckpointService checkpointService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BigDecimal dailyRate;
+    private final BigDecimal lateFee;
+    private final int graceDays;
+    private final long chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AccrualService(AccrualRepository accrualRepository,
+                          AccountService accountService,
+                          BalanceCheckpointService checkpointService,
+                          TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${app.accrual.annual-interest-rate:0.24}") BigDecimal annualInterestRate,
+                          @Value("${app.accrual.late-fee:25.00}") BigDecimal lateFee,
+                          @Value("${app.accrual.grace-days:30}") int graceDays,
+                          @Value("${app.accrual.chunk-size:10000}") long chunkSize) {
+        this.accrualRepository = accrualRepository;
+        this.accountService = accountService;
+        this.checkpointService = checkpointService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.dailyRate = annualInterestRate.divide(BigDecimal.valueOf(365), RATE_SCALE, RoundingMode.HALF_EVEN);
+        this.lateFee = lateFee;
+        this.graceDays = graceDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.accrual.cron:0 15 0 * * *}")
+    public void accrueYesterday() {
+        try {
+            accrue(LocalDate.now().minusDays(1));
+        } catch (InvalidStateException e) {
+            log.warn("Skipping accrual: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Charges interest and late fees for {@code date}; only one accrual runs at a time.
+     */
+    public AccrualResponse accrue(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidStateException("An accrual is already running");
+        }
+        try {
+            return run(date);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AccrualResponse run(LocalDate date) {
+        long started = System.nanoTime();
+        AccountRange accounts = accrualRepository.findAccountRange().orElse(new AccountRange(1, 0));
+        long chunks = 0;
+        long interestCharges = 0;
+        long lateFees = 0;
+        long staleCheckpoints = 0;
+        for (long from = accounts.from(); from <= accounts.to(); from += chunkSize) {
+            AccountRange chunk = new AccountRange(from, Math.min(from + chunkSize - 1, accounts.to()));
+            int[] charges = transactionTemplate.execute(status -> accrueChunk(chunk, date));
+            interestCharges += charges[0];
+            lateFees += charges[1];
+            staleCheckpoints += charges[2];
+            chunks++;
+        }
+        if (staleCheckpoints > 0) {
+            refillCheckpoints(date, staleCheckpoints);
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        long rowsPerSecond = (interestCharges + lateFees) * 1000 / Math.max(1, durationMs);
+        log.info("Accrued {}: {} interest charges and {} late fees over {} chunks in {} ms ({} rows/s)",
+                date, interestCharges, lateFees, chunks, durationMs, rowsPerSecond);
+        return new AccrualResponse(date, chunks, interestCharges, lateFees, durationMs, rowsPerSecond);
+    }
+
+    private void refillCheckpoints(LocalDate date, long staleCheckpoints) {
+        try {
+            long written = checkpointService.refill(date.atStartOfDay());
+            log.info("Replaced {} balance checkpoints made stale by the {} accrual with {}",
+                    staleCheckpoints, date, written);
+        } catch (InvalidStateException e) {
+            // Point-in-time balances stay right, reading from the checkpoints before the accrual date
+            log.warn("Could not rewrite {} balance checkpoints after the {} accrual: {}",
+                    staleCheckpoints, date, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of interest charges, of late fees and of balance checkpoints deleted
+     */
+    private int[] accrueChunk(AccountRange chunk, LocalDate date) {
+        accrualRepository.lockAccounts(chunk);
+        int interest = accrualRepository.insertInterest(chunk, date, dailyRate);
+        int fees = accrualRepository.insertLateFees(chunk, date, lateFee, date.minusDays(graceDays));
+        if (interest + fees == 0) {
+            return new int[]{0, 0, 0};
+        }
+
+        accrualRepository.applyCharges(chunk, date);
+        // Sharded accounts keep their balance in slots, which only the slot posting path updates
+        for (ShardedCharge charge : accrualRepository.findShardedCharges(chunk, date)) {
+            accountService.updateAccountBalance(charge.accountId(), charge.amount());
+        }
+        accrualRepository.findPendingCharges(chunk, date).forEach(charge -> eventPublisher.publishEvent(
+                new BalanceChangedEvent(charge.accountId(), charge.operationTypeId(), charge.amount())));
+        int staleCheckpoints = accrualRepository.postCharges(chunk, date, date.atStartOfDay());
+        return new int[]{interest, fees, staleCheckpoints};
+    }
+}
@@ -3,21 +3,28 @@ package com.pismo.account.service;
 import com.pismo.account.domain.entity.Role;
 import com.pismo.account.domain.entity.User;
 import com.pismo.account.dto.request.LoginRequest;
+import com.pismo.account.dto.request.RefreshTokenRequest;
 import com.pismo.account.dto.request.RegisterRequest;
 import com.pismo.account.dto.response.JwtResponse;
 import com.pismo.account.dto.response.MessageResponse;
 import com.pismo.account.exception.DuplicateResourceException;
+import com.pismo.account.exception.InvalidTokenException;
+import com.pismo.account.monitoring.LoginEvent;
 import com.pismo.account.repository.RoleRepository;
 import com.pismo.account.repository.UserRepository;
 import com.pismo.account.security.JwtTokenProvider;
+import com.pismo.account.security.LoginAttemptService;
+import com.pismo.account.security.TokenRevocationService;
+import com.pismo.account.security.UserPrincipal;
+import com.pismo.account.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,7 +32,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -37,6 +43,10 @@ public class AuthService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginAttemptService loginAttemptService;
 
     @Transactional
     public MessageResponse register(RegisterRequest registerRequest) {
@@ -81,40 +91,101 @@ public class AuthService {
 
         user.setRoles(roles);
         userRepository.save(user);
+        userCache.removeUserFromCache(user.getUsername());
 
         log.info("User registered successfully: {}", user.getUsername());
         return new MessageResponse("User registered successfully");
     }
 
-    public JwtResponse login(LoginRequest loginRequest) {
+    public JwtResponse login(LoginRequest loginRequest, String clientIp) {
         log.info("User login attempt: {}", loginRequest.getUsername());
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtTokenProvider.generateToken(authentication);
-
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        event.username = loginRequest.getUsername();
+        event.outcome = "FAILED";
+        try {
+            // Locked-out usernames and IPs are turned away before any password hashing
+            loginAttemptService.checkAllowed(loginRequest.getUsername(), clientIp);
+
+            Authentication authentication;
+            try {
+                authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                loginRequest.getUsername(),
+                                loginRequest.getPassword()
+                        )
+                );
+            } catch (BadCredentialsException e) {
+                loginAttemptService.recordFailure(loginRequest.getUsername(), clientIp);
+                throw e;
+            }
+            loginAttemptService.recordSuccess(loginRequest.getUsername());
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            // The principal already carries id and email, so no second lookup is needed
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            List<String> roles = principal.getRoleNames();
+
+            String jwt = jwtTokenProvider.generateToken(authentication, principal.getId());
+            String refreshToken = refreshTokenService.create(principal.getId());
+
+            log.info("User logged in successfully: {}", loginRequest.getUsername());
+
+            event.outcome = "SUCCESS";
+            return new JwtResponse(
+                    jwt,
+                    refreshToken,
+                    principal.getId(),
+                    principal.getUsername(),
+                    principal.getEmail(),
+                    roles
+            );
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
 
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token; the presented
+     * refresh token cannot be used again.
+     */
+    @Transactional
+    public JwtResponse refresh(RefreshTokenRequest refreshTokenRequest) {
+        User user = refreshTokenService.consume(refreshTokenRequest.getRefreshToken());
+        UserPrincipal principal = UserPrincipal.fromUser(user);
 
-        log.info("User logged in successfully: {}", loginRequest.getUsername());
+        String jwt = jwtTokenProvider.generateToken(principal, principal.getId());
+        String refreshToken = refreshTokenService.create(principal.getId());
 
+        log.info("Refreshed tokens for user: {}", principal.getUsername());
         return new JwtResponse(
                 jwt,
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                roles
+                refreshToken,
+                principal.getId(),
+                principal.getUsername(),
+                principal.getEmail(),
+                principal.getRoleNames()
         );
     }
+
+    /**
+     * Revokes the access token until it expires, and the refresh token if one is given.
+     */
+    public MessageResponse logout(String accessToken, String refreshToken) {
+        VerifiedToken token = jwtTokenProvider.verify(accessToken)
+                .orElseThrow(() -> new InvalidTokenException("Invalid access token"));
+
+        tokenRevocationService.revokeToken(token.tokenId(), token.expiresAt());
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+
+        log.info("User logged out: {}", token.username());
+        return new MessageResponse("Logged out successfully");
+    }
 }
@@ -0,0 +1,13 @@
+package com.pismo.account.service;
+
+import java.math.BigDecimal;
+
+/**
+ * A posting made in the current database transaction, published by every path that writes
+ * transactions. Listeners that only care about committed postings use
+ * {@code @TransactionalEventListener}.
+ *
+ * @param amount signed like the transaction, so debits are negative
+ */
+public record BalanceChangedEvent(Long accountId, Long operationTypeId, BigDecimal amount) {
+}
@@ -0,0 +1,124 @@
+package com.pismo.account.service;
+
+import com.pismo.account.dto.response.BalanceCheckpointResponse;
+import com.pismo.account.dto.response.BalanceResponse;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.exception.InvalidStateException;
+import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.repository.AccountRange;
+import com.pismo.account.repository.BalanceCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Point-in-time balances ("balance as of T") for disputes and audits.
+ * <p>
+ * A daily job checkpoints, as of midnight, the balance of every account with transactions
+ * since its previous checkpoint, building each checkpoint from the previous one so the job
+ * only reads the day's transactions. A query then reads the latest checkpoint before T and
+ * the transactions between the two, so its cost is bounded by a day of the account's postings
+ * however long its history is. Checkpoints are keyed by account and time, so rerunning a date
+ * only writes the ones still missing. Postings dated before an existing checkpoint (accrual
+ * charges) delete the account's checkpoints after them, which {@link #refill} writes again.
+ */
+@Service
+@Slf4j
+public class BalanceCheckpointService {
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BalanceCheckpointService(BalanceCheckpointRepository checkpointRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${app.balance-checkpoints.chunk-size:10000}") long chunkSize) {
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.balance-checkpoints.cron:0 5 0 * * *}")
+    public void checkpointToday() {
+        try {
+            checkpoint(LocalDate.now());
+        } catch (InvalidStateException e) {
+            log.warn("Skipping balance checkpoints: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Checkpoints balances as of the start of {@code date}; only one run at a time.
+     */
+    public BalanceCheckpointResponse checkpoint(LocalDate date) {
+        LocalDateTime checkpointAt = date.atStartOfDay();
+        // Transactions could still be posted before a checkpoint in the future
+        if (checkpointAt.isAfter(LocalDateTime.now())) {
+            throw new InvalidOperationException("Balances cannot be checkpointed ahead of time: " + date);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidStateException("Balance checkpoints are already being written");
+        }
+        try {
+            return run(checkpointAt);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Writes the checkpoints missing at every midnight after {@code since} up to today, such as
+     * those deleted because transactions were posted with an earlier event date. Accounts that
+     * still have a checkpoint at a date are skipped. Shares the one-run-at-a-time guard with
+     * {@link #checkpoint}.
+     *
+     * @return the number of checkpoints written
+     */
+    public long refill(LocalDateTime since) {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidStateException("Balance checkpoints are already being written");
+        }
+        try {
+            long written = 0;
+            for (LocalDate date = since.toLocalDate().plusDays(1); !date.isAfter(LocalDate.now()); date = date.plusDays(1)) {
+                written += run(date.atStartOfDay()).getCheckpoints();
+            }
+            return written;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceResponse getBalanceAt(Long accountId, LocalDateTime at) {
+        BigDecimal balance = checkpointRepository.findBalanceAt(accountId, at)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with ID: " + accountId));
+        return new BalanceResponse(accountId, at, balance);
+    }
+
+    private BalanceCheckpointResponse run(LocalDateTime checkpointAt) {
+        long started = System.nanoTime();
+        AccountRange accounts = checkpointRepository.findAccountRange().orElse(new AccountRange(1, 0));
+        long chunks = 0;
+        long checkpoints = 0;
+        for (long from = accounts.from(); from <= accounts.to(); from += chunkSize) {
+            AccountRange chunk = new AccountRange(from, Math.min(from + chunkSize - 1, accounts.to()));
+            checkpoints += transactionTemplate.execute(status -> checkpointRepository.insertCheckpoints(chunk, checkpointAt));
+            chunks++;
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Wrote {} balance checkpoints as of {} over {} chunks in {} ms",
+                checkpoints, checkpointAt, chunks, durationMs);
+        return new BalanceCheckpointResponse(checkpointAt, chunks, checkpoints, durationMs);
+    }
+}
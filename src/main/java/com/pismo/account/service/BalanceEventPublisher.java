@@ -0,0 +1,202 @@
+package com.pismo.account.service;
+
+import com.pismo.account.SchedulingConfig;
+import com.pismo.account.dto.response.BalanceEventResponse;
+import com.pismo.account.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes each committed posting's new balance to the Server-Sent Event streams open on its
+ * account.
+ * <p>
+ * Postings only hand the update to each subscriber's bounded buffer, so a posting never waits on
+ * a client. Every stream has its own virtual thread writing its buffer to the connection, so
+ * blocking on a slow socket costs a parked virtual thread rather than a platform thread, and the
+ * request thread is returned to the container as soon as the stream opens. A subscriber whose
+ * buffer is full when an update arrives has fallen behind and is disconnected; clients reconnect
+ * and start again from the current balance, which is the first event of every stream. Accounts
+ * with no subscribers cost one map lookup per posting. Only postings made on this instance are
+ * seen.
+ * <p>
+ * Postings on one account that commit concurrently can reach this listener in either order, so
+ * each update carries the balance read when it is handed over rather than the one its posting
+ * wrote. Updates and the opening balance for an account are read and queued one at a time, so a
+ * stream's balances never go back and its last one is always current.
+ */
+@Component
+@Slf4j
+public class BalanceEventPublisher {
+
+    // Queued by the heartbeat; compared by identity
+    private static final BalanceEventResponse HEARTBEAT = new BalanceEventResponse();
+
+    private final AccountService accountService;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final ThreadFactory writers = Thread.ofVirtual().name("balance-events-", 0).factory();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedCounter;
+
+    public BalanceEventPublisher(AccountService accountService,
+                                 @Value("${app.balance-events.timeout:30m}") Duration timeout,
+                                 @Value("${app.balance-events.buffer-size:32}") int bufferSize,
+                                 @Value("${app.balance-events.max-subscribers:50000}") int maxSubscribers,
+                                 MeterRegistry meterRegistry) {
+        this.accountService = accountService;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.droppedCounter = Counter.builder("balance_events.dropped")
+                .description("Balance event streams closed because the client fell behind")
+                .register(meterRegistry);
+        Gauge.builder("balance_events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open balance event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the account's balance changes, starting with its current balance.
+     */
+    public SseEmitter subscribe(Long accountId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManyRequestsException("Too many open balance event streams", 1);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(accountId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // Registered before the balance is read, so a posting committed after the read is not missed
+        Set<Subscriber> listening = subscribers.compute(accountId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        try {
+            synchronized (listening) {
+                BigDecimal balance = accountService.getBalance(accountId);
+                // Anything queued since registering is no newer than this balance
+                subscriber.queue.clear();
+                subscriber.queue.offer(new BalanceEventResponse(accountId, null, null, balance, LocalDateTime.now()));
+            }
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscriber.writer.start();
+        log.debug("Balance event stream opened for account ID: {}", accountId);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        Set<Subscriber> listening = subscribers.get(event.accountId());
+        if (listening == null) {
+            return;
+        }
+        synchronized (listening) {
+            BigDecimal balance = accountService.getBalance(event.accountId());
+            BalanceEventResponse update = new BalanceEventResponse(event.accountId(), event.operationTypeId(),
+                    event.amount(), balance, LocalDateTime.now());
+            for (Subscriber subscriber : listening) {
+                if (!subscriber.queue.offer(update)) {
+                    droppedCounter.increment();
+                    log.debug("Balance event stream for account ID: {} fell behind and was closed",
+                            event.accountId());
+                    remove(subscriber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps idle streams from being cut by proxies, and finds clients that went away without
+     * closing. A subscriber whose buffer is full is left to the next update to drop.
+     */
+    @Scheduled(fixedDelayString = "${app.balance-events.heartbeat:15000}", scheduler = SchedulingConfig.TICK_SCHEDULER)
+    public void heartbeat() {
+        subscribers.values().forEach(listening -> listening.forEach(subscriber -> subscriber.queue.offer(HEARTBEAT)));
+    }
+
+    public int size() {
+        return subscriberCount.get();
+    }
+
+    // Closing is left to the writer thread, which may be blocked sending to this client
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.accountId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriber.writer.interrupt();
+    }
+
+    private final class Subscriber {
+        private final Long accountId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BalanceEventResponse> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Thread writer;
+
+        private Subscriber(Long accountId, SseEmitter emitter, BlockingQueue<BalanceEventResponse> queue) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+            this.queue = queue;
+            this.writer = writers.newThread(this::write);
+        }
+
+        private void write() {
+            try {
+                while (!closed.get()) {
+                    BalanceEventResponse update = queue.take();
+                    if (update == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name("balance").data(update, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Removed; fall through to close
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Balance event stream for account ID: {} closed: {}", accountId, e.getMessage());
+                remove(this);
+            } finally {
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container
+                }
+            }
+        }
+    }
+}
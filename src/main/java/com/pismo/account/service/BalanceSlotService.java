@@ -0,0 +1,122 @@
+package com.pismo.account.service;
+
+import com.pismo.account.dto.response.BalanceSlotsResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.repository.BalanceSlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Postings to hot accounts whose balance is spread over sub-balance slots.
+ * <p>
+ * Every slot is kept at or below zero, the same bound as an account's balance, so a posting
+ * only needs its own slot to stay in bounds: it picks a random slot and debits it with one
+ * conditional {@code UPDATE}, and concurrent postings to the account lock different rows. When
+ * the chosen slot is short the posting falls back to locking all slots, checks the aggregate
+ * balance and spreads the result evenly again, which also refills the slots for the fast path.
+ * While an account is sharded its own {@code balance} column stays at zero.
+ */
+@Service
+@Slf4j
+public class BalanceSlotService {
+
+    private static final int SCALE = 2;
+
+    private final BalanceSlotRepository slotRepository;
+    private final Counter fastPostings;
+    private final Counter aggregatedPostings;
+
+    public BalanceSlotService(BalanceSlotRepository slotRepository, MeterRegistry meterRegistry) {
+        this.slotRepository = slotRepository;
+        this.fastPostings = Counter.builder("accounts.balance_slots.postings")
+                .description("Postings to sharded accounts, by whether a single slot covered them")
+                .tag("path", "slot")
+                .register(meterRegistry);
+        this.aggregatedPostings = Counter.builder("accounts.balance_slots.postings")
+                .description("Postings to sharded accounts, by whether a single slot covered them")
+                .tag("path", "aggregate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies {@code amount} to a sharded account.
+     *
+     * @param slots the slot count the caller read from the account
+     * @return the new balance, or empty if the account is no longer sharded
+     * @throws InsufficientBalance if the aggregate balance cannot cover the amount
+     */
+    @Transactional
+    public Optional<BigDecimal> post(Long accountId, int slots, BigDecimal amount) {
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        if (slotRepository.debitSlot(accountId, slot, amount)) {
+            fastPostings.increment();
+            return slotRepository.findBalance(accountId);
+        }
+
+        // The slot is short, or was dropped by a resize since the account was read
+        List<BigDecimal> balances = slotRepository.lockSlots(accountId);
+        if (balances.isEmpty()) {
+            return Optional.empty();
+        }
+        aggregatedPostings.increment();
+        BigDecimal slotTotal = balances.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal balance = slotRepository.findBalance(accountId).orElseThrow();
+        if (amount.compareTo(balance) < 0) {
+            throw new InsufficientBalance("Insufficient balance for account ID: " + accountId);
+        }
+        slotRepository.updateSlots(accountId, spread(slotTotal.subtract(amount), balances.size()));
+        return Optional.of(balance.subtract(amount));
+    }
+
+    /**
+     * Spreads the account's balance over {@code slots} slots, or moves it back onto the account
+     * row when {@code slots} is 0.
+     */
+    @Transactional
+    public BalanceSlotsResponse resize(Long accountId, int slots) {
+        List<BigDecimal> current = slotRepository.lockSlots(accountId);
+        BigDecimal balance = slotRepository.lockAccountBalance(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with ID: " + accountId))
+                .add(current.stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        List<BigDecimal> balances = spread(balance, slots);
+        slotRepository.replaceSlots(accountId, balances);
+        slotRepository.updateAccount(accountId, slots == 0 ? balance : BigDecimal.ZERO, slots);
+        log.info("Account {} balance moved from {} to {} slots", accountId, current.size(), slots);
+        return new BalanceSlotsResponse(accountId, slots, balance, balances);
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceSlotsResponse getSlots(Long accountId) {
+        BigDecimal balance = slotRepository.findBalance(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with ID: " + accountId));
+        List<BigDecimal> balances = slotRepository.findSlots(accountId);
+        return new BalanceSlotsResponse(accountId, balances.size(), balance, balances);
+    }
+
+    /**
+     * Splits a non-positive balance into {@code slots} shares, rounded towards zero, with the
+     * rounding remainder added to slot 0 so no share is positive.
+     */
+    static List<BigDecimal> spread(BigDecimal balance, int slots) {
+        if (slots == 0) {
+            return Collections.emptyList();
+        }
+        BigDecimal share = balance.divide(BigDecimal.valueOf(slots), SCALE, RoundingMode.DOWN);
+        List<BigDecimal> shares = new ArrayList<>(Collections.nCopies(slots, share));
+        shares.set(0, balance.subtract(share.multiply(BigDecimal.valueOf(slots - 1))));
+        return shares;
+    }
+}
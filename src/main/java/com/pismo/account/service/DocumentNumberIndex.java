@@ -0,0 +1,138 @@
+package com.pismo.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pismo.account.dto.response.AccountResponse;
+import com.pismo.account.repository.AccountRepository;
+import com.pismo.account.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of account document numbers: a Bloom filter of every existing number plus a
+ * bounded cache of recently seen accounts.
+ * <p>
+ * A negative from the filter is only a hint: accounts created by other instances are missing
+ * until the next rebuild. Inserts of new numbers use it to skip the existence query, since the
+ * unique constraint still rejects a real duplicate; lookups confirm a miss against the database
+ * before answering not found. A cache hit is a definite duplicate. Until the first build
+ * finishes, or while it is disabled, the filter answers "maybe" for everything.
+ * <p>
+ * The filter is rebuilt at startup and periodically. Rebuilds resize it to the account count and
+ * pick up accounts created by other instances. Numbers are added once their insert commits, and
+ * those added while a rebuild is reading are put into the new filter as well, so a rebuild never
+ * loses a number committed on this instance.
+ */
+@Component
+@Slf4j
+public class DocumentNumberIndex {
+
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedAccounts;
+    private final double falsePositiveRate;
+    private final Cache<String, AccountResponse> accounts;
+
+    private final Object filterLock = new Object();
+    private volatile BloomFilter documentNumbers;
+    private Set<String> addedDuringRebuild;
+
+    public DocumentNumberIndex(AccountRepository accountRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.accounts.document-index.expected-accounts:1000000}") long expectedAccounts,
+                               @Value("${app.accounts.document-index.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${app.accounts.document-index.cache-size:100000}") long cacheSize) {
+        this.accountRepository = accountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedAccounts = expectedAccounts;
+        this.falsePositiveRate = falsePositiveRate;
+        this.accounts = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    public boolean mightExist(String documentNumber) {
+        BloomFilter filter = documentNumbers;
+        return filter == null || filter.mightContain(documentNumber);
+    }
+
+    public Optional<AccountResponse> getCached(String documentNumber) {
+        return Optional.ofNullable(accounts.getIfPresent(documentNumber));
+    }
+
+    /**
+     * Records a looked-up account. Only call this with committed data.
+     */
+    public void cache(AccountResponse account) {
+        accounts.put(account.getDocumentNumber(), account);
+    }
+
+    /**
+     * Records a newly inserted account. Inside a transaction both the filter and the cache are
+     * only updated after commit: a rebuild reads committed rows only, so an earlier update could
+     * land in the filter it replaces and be lost.
+     */
+    public void added(AccountResponse account) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(account);
+                }
+            });
+        } else {
+            record(account);
+        }
+    }
+
+    private void record(AccountResponse account) {
+        synchronized (filterLock) {
+            if (documentNumbers != null) {
+                documentNumbers.put(account.getDocumentNumber());
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(account.getDocumentNumber());
+            }
+        }
+        cache(account);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.accounts.document-index.rebuild-interval:300000}",
+            initialDelayString = "${app.accounts.document-index.rebuild-interval:300000}")
+    public void rebuild() {
+        synchronized (filterLock) {
+            addedDuringRebuild = new HashSet<>();
+        }
+        try {
+            long count = accountRepository.count();
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedAccounts, count * 2), falsePositiveRate);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> numbers = accountRepository.streamDocumentNumbers()) {
+                    numbers.forEach(rebuilt::put);
+                }
+            });
+
+            synchronized (filterLock) {
+                addedDuringRebuild.forEach(rebuilt::put);
+                documentNumbers = rebuilt;
+            }
+            log.info("Rebuilt document number filter over {} accounts", count);
+        } finally {
+            synchronized (filterLock) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.entity.Transaction;
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.repository.TransactionRepository;
+import com.pismo.account.util.FingerprintWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Suppresses replayed postings: a request with the same account, operation type, amount and
+ * installments as one posted within {@code app.duplicates.window} gets the original posting's
+ * result back instead of being posted again.
+ * <p>
+ * Committed postings are remembered as 64-bit fingerprints in a {@link FingerprintWindow}, so
+ * the check is a hash lookup in fixed memory. With {@code app.duplicates.db-check} a miss is
+ * confirmed against recent {@code transactions}, which also catches postings made before a
+ * restart or on another instance; a match found that way reports the account's current balance.
+ * Postings are remembered once they commit, so two identical requests in flight at the same
+ * time are both posted.
+ */
+@Component
+@Slf4j
+public class DuplicateTransactionFilter {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final boolean enabled;
+    private final Duration window;
+    private final boolean dbCheck;
+    private final FingerprintWindow fingerprints;
+    private final Counter suppressed;
+
+    public DuplicateTransactionFilter(TransactionRepository transactionRepository,
+                                      AccountService accountService,
+                                      @Value("${app.duplicates.enabled:true}") boolean enabled,
+                                      @Value("${app.duplicates.window:10s}") Duration window,
+                                      @Value("${app.duplicates.generations:10}") int generations,
+                                      @Value("${app.duplicates.capacity:16384}") int capacity,
+                                      @Value("${app.duplicates.db-check:false}") boolean dbCheck,
+                                      MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+        this.enabled = enabled;
+        this.window = window;
+        this.dbCheck = dbCheck;
+        // Values: transaction id, posted amount and resulting balance, in cents
+        this.fingerprints = new FingerprintWindow(window, generations, capacity, 3, System.currentTimeMillis());
+        this.suppressed = Counter.builder("transactions.duplicates.suppressed")
+                .description("Postings answered with the result of an identical posting within the window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the result of an identical posting within the window, if there was one
+     */
+    public Optional<TransactionResponse> findDuplicate(TransactionRequest request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long[] original;
+        synchronized (fingerprints) {
+            original = fingerprints.get(fingerprint(request), System.currentTimeMillis());
+        }
+        Optional<TransactionResponse> duplicate = original != null
+                ? Optional.of(new TransactionResponse(original[0], request.getAccountId(),
+                        request.getOperationTypeId(), fromCents(original[1]), fromCents(original[2])))
+                : findPosted(request);
+        duplicate.ifPresent(response -> {
+            suppressed.increment();
+            log.info("Suppressed duplicate of transaction {} for account ID: {}",
+                    response.getTransactionId(), request.getAccountId());
+        });
+        return duplicate;
+    }
+
+    /**
+     * Remembers a posting once the surrounding transaction commits.
+     */
+    public void record(TransactionRequest request, TransactionResponse response) {
+        if (!enabled) {
+            return;
+        }
+        long fingerprint = fingerprint(request);
+        long[] values = {response.getTransactionId(), toCents(response.getAmount()), toCents(response.getBalance())};
+        Runnable remember = () -> {
+            synchronized (fingerprints) {
+                fingerprints.put(fingerprint, values, System.currentTimeMillis());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember.run();
+                }
+            });
+        } else {
+            remember.run();
+        }
+    }
+
+    // Installment purchases post only their first share, so their amount cannot be matched in the table
+    private Optional<TransactionResponse> findPosted(TransactionRequest request) {
+        if (!dbCheck || (request.getInstallments() != null && request.getInstallments() > 1)) {
+            return Optional.empty();
+        }
+        BigDecimal amount = TransactionService.calculateAmount(request.getAmount(), request.getOperationTypeId());
+        List<Transaction> matches = transactionRepository.findRecentMatches(request.getAccountId(),
+                LocalDateTime.now().minus(window), request.getOperationTypeId(), amount, Limit.of(1));
+        return matches.stream().findFirst().map(transaction -> new TransactionResponse(
+                transaction.getTransactionId(), request.getAccountId(), transaction.getOperationTypeId(),
+                transaction.getAmount(), accountService.getBalance(request.getAccountId())));
+    }
+
+    private static long fingerprint(TransactionRequest request) {
+        long hash = mix(request.getAccountId());
+        hash = mix(hash ^ request.getOperationTypeId());
+        hash = mix(hash ^ toCents(request.getAmount()));
+        return mix(hash ^ (request.getInstallments() == null ? 1 : request.getInstallments()));
+    }
+
+    // Murmur3 finalizer; each field is folded in and fully mixed before the next
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,187 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.entity.Hold;
+import com.pismo.account.domain.enums.HoldStatus;
+import com.pismo.account.repository.HoldRepository;
+import com.pismo.account.util.TimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory ledger of open (authorized) holds: the credit held per account, plus a
+ * {@link TimingWheel} of hold expiries.
+ * <p>
+ * Authorizations check and reserve credit here, so the availability check is a map update
+ * rather than a query over the {@code holds} table, and expiring holds never scans it. The
+ * {@code holds} table stays the record of every hold's state and the ledger is loaded from it
+ * before the application starts serving. The ledger only knows the holds placed through this
+ * instance, so holds assume a single instance (or sticky routing per account).
+ */
+@Component
+@Slf4j
+public class HoldLedger implements SmartInitializingSingleton {
+
+    private final HoldRepository holdRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Long, BigDecimal> heldByAccount = new ConcurrentHashMap<>();
+
+    // Both guarded by expiries
+    private final TimingWheel<Long> expiries;
+    private final Map<Long, OpenHold> openHolds = new HashMap<>();
+
+    public HoldLedger(HoldRepository holdRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${app.holds.tick:1000}") long tickMillis,
+                      @Value("${app.holds.wheel-size:64}") int wheelSize,
+                      @Value("${app.holds.wheel-levels:4}") int wheelLevels,
+                      MeterRegistry meterRegistry) {
+        this.holdRepository = holdRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expiries = new TimingWheel<>(tickMillis, wheelSize, wheelLevels, System.currentTimeMillis());
+        Gauge.builder("holds.open", this, HoldLedger::size)
+                .description("Authorized holds neither captured, released nor expired")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var holds = holdRepository.streamByStatus(HoldStatus.AUTHORIZED)) {
+                holds.forEach(hold -> {
+                    heldByAccount.merge(hold.getAccountId(), hold.getAmount(), BigDecimal::add);
+                    track(hold);
+                });
+            }
+        });
+        log.info("Loaded {} open holds", size());
+    }
+
+    public boolean hasHolds(Long accountId) {
+        return heldByAccount.containsKey(accountId);
+    }
+
+    public BigDecimal getHeld(Long accountId) {
+        return heldByAccount.getOrDefault(accountId, BigDecimal.ZERO);
+    }
+
+    /**
+     * Credit the account can still spend: its credit limit or its remaining balance headroom,
+     * whichever is lower, minus what is held.
+     */
+    public BigDecimal availableCredit(Long accountId, BigDecimal creditLimit, BigDecimal balance) {
+        return creditLimit.min(balance.negate()).subtract(getHeld(accountId));
+    }
+
+    /**
+     * Holds {@code hold.amount} for the account unless its holds would then exceed
+     * {@code headroom}, and schedules the hold's expiry.
+     *
+     * @return {@code false} if there was not enough headroom
+     */
+    public boolean reserve(Hold hold, BigDecimal headroom) {
+        boolean[] reserved = new boolean[1];
+        heldByAccount.compute(hold.getAccountId(), (accountId, held) -> {
+            BigDecimal total = held == null ? hold.getAmount() : held.add(hold.getAmount());
+            if (total.compareTo(headroom) > 0) {
+                return held;
+            }
+            reserved[0] = true;
+            return total;
+        });
+        if (reserved[0]) {
+            track(hold);
+        }
+        return reserved[0];
+    }
+
+    /**
+     * Gives back the credit of a hold that was captured or released.
+     *
+     * @return {@code false} if the hold was not open
+     */
+    public boolean release(Long holdId) {
+        OpenHold hold;
+        synchronized (expiries) {
+            hold = openHolds.remove(holdId);
+            if (hold != null) {
+                expiries.cancel(hold.timeout());
+            }
+        }
+        if (hold == null) {
+            return false;
+        }
+        unreserve(hold);
+        return true;
+    }
+
+    /**
+     * Takes every hold whose expiry has passed off the timing wheel. The holds stay open, with
+     * their credit held, until they are {@link #release released} once the expiry is committed,
+     * or put back with {@link #retryExpiry} if it could not be.
+     *
+     * @return the ids of the holds that came due
+     */
+    public List<Long> takeDue(long nowMillis) {
+        List<Long> due = new ArrayList<>();
+        synchronized (expiries) {
+            expiries.advance(nowMillis, holdId -> {
+                if (openHolds.containsKey(holdId)) {
+                    due.add(holdId);
+                }
+            });
+        }
+        return due;
+    }
+
+    /**
+     * Puts holds taken by {@link #takeDue} back on the timing wheel for the next tick. Holds
+     * released in the meantime are skipped.
+     */
+    public void retryExpiry(List<Long> holdIds, long nowMillis) {
+        synchronized (expiries) {
+            for (Long holdId : holdIds) {
+                OpenHold hold = openHolds.get(holdId);
+                if (hold != null) {
+                    openHolds.put(holdId, new OpenHold(holdId, hold.accountId(), hold.amount(),
+                            expiries.schedule(holdId, nowMillis)));
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (expiries) {
+            return openHolds.size();
+        }
+    }
+
+    private void track(Hold hold) {
+        synchronized (expiries) {
+            TimingWheel.Timeout<Long> timeout = expiries.schedule(hold.getHoldId(), hold.getExpiresAt().toEpochMilli());
+            openHolds.put(hold.getHoldId(), new OpenHold(hold.getHoldId(), hold.getAccountId(), hold.getAmount(), timeout));
+        }
+    }
+
+    private void unreserve(OpenHold hold) {
+        heldByAccount.computeIfPresent(hold.accountId(), (accountId, held) -> {
+            BigDecimal rest = held.subtract(hold.amount());
+            return rest.signum() > 0 ? rest : null;
+        });
+    }
+
+    private record OpenHold(Long holdId, Long accountId, BigDecimal amount, TimingWheel.Timeout<Long> timeout) {
+    }
+}
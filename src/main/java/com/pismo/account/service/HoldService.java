@@ -0,0 +1,234 @@
+package com.pismo.account.service;
+
+import com.pismo.account.SchedulingConfig;
+import com.pismo.account.domain.entity.Account;
+import com.pismo.account.domain.entity.Hold;
+import com.pismo.account.domain.enums.HoldStatus;
+import com.pismo.account.domain.enums.OperationTypeEnum;
+import com.pismo.account.dto.request.CaptureRequest;
+import com.pismo.account.dto.request.HoldRequest;
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.HoldResponse;
+import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.exception.InvalidStateException;
+import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.repository.HoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Authorize / capture / release of credit holds. An authorization reserves credit in the
+ * {@link HoldLedger} at once; capturing posts the transaction against the held credit, and
+ * releasing or expiring gives the credit back. The ledger is only changed after the database
+ * change commits, or undone if it rolls back.
+ */
+@Service
+@Slf4j
+public class HoldService {
+
+    private static final int EXPIRY_BATCH_SIZE = 1000;
+
+    private final HoldRepository holdRepository;
+    private final HoldLedger holdLedger;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final InstallmentService installmentService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration expiry;
+    private final Counter expiredCounter;
+
+    public HoldService(HoldRepository holdRepository,
+                       HoldLedger holdLedger,
+                       AccountService accountService,
+                       TransactionService transactionService,
+                       InstallmentService installmentService,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${app.holds.expiry:7d}") Duration expiry,
+                       MeterRegistry meterRegistry) {
+        this.holdRepository = holdRepository;
+        this.holdLedger = holdLedger;
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.installmentService = installmentService;
+        this.transactionTemplate = transactionTemplate;
+        this.expiry = expiry;
+        this.expiredCounter = Counter.builder("holds.expired")
+                .description("Holds that expired before being captured or released")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public HoldResponse authorize(HoldRequest request) {
+        log.info("Authorizing hold of {} for account ID: {}", request.getAmount(), request.getAccountId());
+
+        OperationTypeEnum operationType = OperationTypeEnum.fromId(request.getOperationTypeId());
+        if (operationType == null) {
+            throw new ResourceNotFoundException("Operation type not found with ID: " + request.getOperationTypeId());
+        }
+        if (!operationType.isNegative() || operationType.isTransfer() || operationType.isAccrual()) {
+            throw new InvalidOperationException("Only debit operations can be authorized, not "
+                    + operationType.getDescription());
+        }
+
+        Account account = accountService.findAccountById(request.getAccountId());
+        BigDecimal balance = accountService.getBalance(account.getAccountId());
+        BigDecimal scheduled = installmentService.scheduledDebt(account.getAccountId());
+        BigDecimal available = holdLedger.availableCredit(account.getAccountId(), account.getAvailableCreditLimit(), balance)
+                .subtract(scheduled);
+        if (request.getAmount().compareTo(available) > 0) {
+            throw new InsufficientBalance("Insufficient available credit for account ID: " + account.getAccountId());
+        }
+
+        Instant now = Instant.now();
+        Hold hold = holdRepository.save(new Hold(null, account.getAccountId(), request.getOperationTypeId(),
+                request.getAmount(), HoldStatus.AUTHORIZED, now, now.plus(expiry), null));
+
+        // The check above was optimistic; this one is atomic with other authorizations
+        BigDecimal headroom = account.getAvailableCreditLimit().min(balance.negate()).subtract(scheduled);
+        if (!holdLedger.reserve(hold, headroom)) {
+            throw new InsufficientBalance("Insufficient available credit for account ID: " + account.getAccountId());
+        }
+        afterRollback(() -> holdLedger.release(hold.getHoldId()));
+
+        log.info("Hold {} authorized for account ID: {}", hold.getHoldId(), account.getAccountId());
+        return toResponse(hold, HoldStatus.AUTHORIZED, null,
+                holdLedger.availableCredit(account.getAccountId(), account.getAvailableCreditLimit(), balance)
+                        .subtract(scheduled));
+    }
+
+    /**
+     * Posts the hold as a transaction, for its full amount or less. A hold is captured once;
+     * whatever is not captured is released.
+     */
+    @Transactional
+    public TransactionResponse capture(Long holdId, CaptureRequest request) {
+        Hold hold = findHold(holdId);
+        requireAuthorized(hold);
+        if (hold.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidStateException("Hold " + holdId + " has expired");
+        }
+
+        BigDecimal amount = request == null || request.getAmount() == null ? hold.getAmount() : request.getAmount();
+        if (amount.compareTo(hold.getAmount()) > 0) {
+            throw new InvalidOperationException("Capture amount exceeds the " + hold.getAmount()
+                    + " authorized by hold " + holdId);
+        }
+
+        TransactionResponse transaction = transactionService.createTransaction(
+                new TransactionRequest(hold.getAccountId(), hold.getOperationTypeId(), amount), hold.getAmount());
+        if (holdRepository.updateStatus(holdId, HoldStatus.AUTHORIZED, HoldStatus.CAPTURED,
+                transaction.getTransactionId()) == 0) {
+            throw new InvalidStateException("Hold " + holdId + " is no longer authorized");
+        }
+        afterCommit(() -> holdLedger.release(holdId));
+
+        log.info("Hold {} captured as transaction {}", holdId, transaction.getTransactionId());
+        return transaction;
+    }
+
+    @Transactional
+    public HoldResponse release(Long holdId) {
+        Hold hold = findHold(holdId);
+        requireAuthorized(hold);
+        if (holdRepository.updateStatus(holdId, HoldStatus.AUTHORIZED, HoldStatus.RELEASED, null) == 0) {
+            throw new InvalidStateException("Hold " + holdId + " is no longer authorized");
+        }
+        afterCommit(() -> holdLedger.release(holdId));
+
+        log.info("Hold {} released", holdId);
+        return toResponse(hold, HoldStatus.RELEASED, null, availableCredit(hold.getAccountId()).add(hold.getAmount()));
+    }
+
+    @Transactional(readOnly = true)
+    public HoldResponse getHold(Long holdId) {
+        Hold hold = findHold(holdId);
+        return toResponse(hold, hold.getStatus(), hold.getTransactionId(), availableCredit(hold.getAccountId()));
+    }
+
+    /**
+     * Expires the holds the ledger's timing wheel reports as due, in batched status updates.
+     * Their credit is only given back once a batch commits; a batch that fails is retried on the
+     * next tick.
+     */
+    @Scheduled(fixedDelayString = "${app.holds.tick:1000}", scheduler = SchedulingConfig.TICK_SCHEDULER)
+    public void expireDue() {
+        long now = System.currentTimeMillis();
+        List<Long> due = holdLedger.takeDue(now);
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += EXPIRY_BATCH_SIZE) {
+            List<Long> batch = due.subList(from, Math.min(from + EXPIRY_BATCH_SIZE, due.size()));
+            try {
+                expired += transactionTemplate.execute(status -> {
+                    // Holds captured or released meanwhile are left alone by the status condition
+                    int updated = holdRepository.updateStatuses(batch, HoldStatus.AUTHORIZED, HoldStatus.EXPIRED);
+                    afterCommit(() -> batch.forEach(holdLedger::release));
+                    return updated;
+                });
+            } catch (RuntimeException e) {
+                log.warn("Expiring {} holds failed, retrying on the next tick", batch.size(), e);
+                holdLedger.retryExpiry(batch, now);
+            }
+        }
+        if (expired > 0) {
+            expiredCounter.increment(expired);
+            log.info("Expired {} holds", expired);
+        }
+    }
+
+    private Hold findHold(Long holdId) {
+        return holdRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found with ID: " + holdId));
+    }
+
+    private void requireAuthorized(Hold hold) {
+        if (hold.getStatus() != HoldStatus.AUTHORIZED) {
+            throw new InvalidStateException("Hold " + hold.getHoldId() + " is already " + hold.getStatus());
+        }
+    }
+
+    private BigDecimal availableCredit(Long accountId) {
+        Account account = accountService.findAccountById(accountId);
+        return holdLedger.availableCredit(accountId, account.getAvailableCreditLimit(),
+                accountService.getBalance(accountId)).subtract(installmentService.scheduledDebt(accountId));
+    }
+
+    private HoldResponse toResponse(Hold hold, HoldStatus status, Long transactionId, BigDecimal availableCredit) {
+        return new HoldResponse(hold.getHoldId(), hold.getAccountId(), hold.getOperationTypeId(), hold.getAmount(),
+                status, hold.getExpiresAt(), transactionId, availableCredit);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void afterRollback(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
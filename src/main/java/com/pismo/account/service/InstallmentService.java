@@ -0,0 +1,332 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.entity.ScheduledPosting;
+import com.pismo.account.domain.enums.ScheduledPostingStatus;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.repository.AccountRange;
+import com.pismo.account.repository.PostingRepository;
+import com.pismo.account.repository.PostingRepository.Posting;
+import com.pismo.account.repository.ScheduledPostingRepository;
+import com.pismo.account.repository.ScheduledPostingRepository.DuePosting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Installment purchases: the first installment is posted with the purchase and the rest are
+ * stored in {@code scheduled_postings}, one a month, and posted when they fall due. The purchase
+ * is checked against available credit for its full amount, and until they post the unposted
+ * installments count against the account's available credit like open holds do, see
+ * {@link #scheduledDebt}. Which accounts have pending installments is kept in memory, loaded
+ * before the application starts serving, so postings on the other accounts skip that query;
+ * like holds, this assumes a single instance (or sticky routing per account).
+ * <p>
+ * Due postings are split into account id ranges, one per posting thread, so threads never
+ * update the same account. Each thread claims batches of due rows and posts a whole batch with
+ * one batched balance update and one multi-row transaction insert. Postings the batch update
+ * refuses (a short balance, or an account sharded over balance slots) are retried one by one
+ * through {@link AccountService#updateAccountBalance}, and marked FAILED if the balance still
+ * cannot cover them.
+ */
+@Service
+@Slf4j
+public class InstallmentService implements SmartInitializingSingleton {
+
+    private static final int SCALE = 2;
+
+    private final ScheduledPostingRepository scheduledPostingRepository;
+    private final PostingRepository postingRepository;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int threads;
+    private final ExecutorService postingPool;
+    private final Counter postedCounter;
+    private final Counter failedCounter;
+    // Pending installments per account; an account without any is absent
+    private final Map<Long, Integer> pendingByAccount = new ConcurrentHashMap<>();
+
+    public InstallmentService(ScheduledPostingRepository scheduledPostingRepository,
+                              PostingRepository postingRepository,
+                              AccountService accountService,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.installments.batch-size:1000}") int batchSize,
+                              @Value("${app.installments.threads:4}") int threads,
+                              MeterRegistry meterRegistry) {
+        this.scheduledPostingRepository = scheduledPostingRepository;
+        this.postingRepository = postingRepository;
+        this.accountService = accountService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.threads = threads;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.postingPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "installment-posting-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.postedCounter = Counter.builder("installments.postings")
+                .description("Scheduled installments processed, by outcome")
+                .tag("outcome", "posted")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("installments.postings")
+                .description("Scheduled installments processed, by outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status ->
+                scheduledPostingRepository.forEachPendingCount(pendingByAccount::put));
+        log.info("Loaded pending installments for {} accounts", pendingByAccount.size());
+    }
+
+    /**
+     * Schedules installments 2 to N of a purchase whose first installment was posted as
+     * {@code purchaseTransactionId} on {@code purchaseDate}. Callers must run inside a transaction.
+     *
+     * @param amounts the signed amounts of all N installments, as returned by {@link #split}
+     */
+    public void schedule(Long accountId, Long operationTypeId, Long purchaseTransactionId,
+                         List<BigDecimal> amounts, LocalDate purchaseDate) {
+        List<ScheduledPosting> postings = new ArrayList<>(amounts.size() - 1);
+        for (int installment = 2; installment <= amounts.size(); installment++) {
+            postings.add(new ScheduledPosting(null, accountId, operationTypeId, amounts.get(installment - 1),
+                    installment, amounts.size(), purchaseDate.plusMonths(installment - 1),
+                    ScheduledPostingStatus.PENDING, purchaseTransactionId, null));
+        }
+        scheduledPostingRepository.insertAll(postings);
+        // Counted before the commit, so a posting racing it still checks; taken back if it rolls back
+        pendingByAccount.merge(accountId, postings.size(), Integer::sum);
+        afterRollback(() -> removePending(accountId, postings.size()));
+        log.info("Scheduled {} installments for transaction {}", postings.size(), purchaseTransactionId);
+    }
+
+    /**
+     * The credit taken by the account's installments that are scheduled but not posted yet.
+     * Callers must run inside a transaction.
+     *
+     * @return the unsigned total, zero if there are none
+     */
+    public BigDecimal scheduledDebt(Long accountId) {
+        if (!pendingByAccount.containsKey(accountId)) {
+            return BigDecimal.ZERO;
+        }
+        return scheduledPostingRepository.sumPending(accountId).negate();
+    }
+
+    @Scheduled(fixedDelayString = "${app.installments.poll:60000}")
+    public void postDueInstallments() {
+        postDue(LocalDate.now());
+    }
+
+    /**
+     * Posts every pending installment due by {@code date}.
+     *
+     * @return the number of installments posted
+     */
+    public int postDue(LocalDate date) {
+        AccountRange due = scheduledPostingRepository.findDueAccountRange(date).orElse(null);
+        if (due == null) {
+            return 0;
+        }
+
+        long width = Math.max(1, (due.to() - due.from()) / threads + 1);
+        List<Future<Integer>> partitions = new ArrayList<>();
+        for (long from = due.from(); from <= due.to(); from += width) {
+            AccountRange range = new AccountRange(from, Math.min(from + width - 1, due.to()));
+            partitions.add(postingPool.submit(() -> postRange(date, range)));
+        }
+
+        int posted = 0;
+        for (Future<Integer> partition : partitions) {
+            try {
+                posted += partition.get();
+            } catch (ExecutionException e) {
+                log.error("Posting installments due by {} failed for a partition", date, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("Posted {} installments due by {} in {} partitions", posted, date, partitions.size());
+        return posted;
+    }
+
+    /**
+     * Splits a signed amount into {@code installments} shares, rounded towards zero, with the
+     * rounding remainder added to the first.
+     */
+    public static List<BigDecimal> split(BigDecimal amount, int installments) {
+        BigDecimal share = amount.divide(BigDecimal.valueOf(installments), SCALE, RoundingMode.DOWN);
+        if (share.signum() == 0) {
+            throw new InvalidOperationException("Amount " + amount.abs() + " is too small for "
+                    + installments + " installments");
+        }
+        List<BigDecimal> shares = new ArrayList<>(Collections.nCopies(installments, share));
+        shares.set(0, amount.subtract(share.multiply(BigDecimal.valueOf(installments - 1))));
+        return shares;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        postingPool.shutdown();
+    }
+
+    private int postRange(LocalDate date, AccountRange range) {
+        int posted = 0;
+        while (true) {
+            List<DuePosting> refused = new ArrayList<>();
+            Batch batch = transactionTemplate.execute(status -> postBatch(date, range, refused));
+            posted += batch.posted();
+            int resolved = batch.posted();
+            for (DuePosting posting : refused) {
+                Outcome outcome = postOne(posting.scheduledPostingId());
+                if (outcome == Outcome.POSTED) {
+                    posted++;
+                }
+                if (outcome != Outcome.RETRY) {
+                    resolved++;
+                }
+            }
+            // A short batch was the last one; a batch that resolved nothing would only be claimed again
+            if (batch.claimed() < batchSize || resolved == 0) {
+                return posted;
+            }
+        }
+    }
+
+    /**
+     * Claims a batch and posts it with one balance update batch and one transaction insert.
+     * Postings the balance update refuses are added to {@code refused} and left pending.
+     */
+    private Batch postBatch(LocalDate date, AccountRange range, List<DuePosting> refused) {
+        List<DuePosting> claimed = scheduledPostingRepository.claimDue(date, range, batchSize);
+        if (claimed.isEmpty()) {
+            return new Batch(0, 0);
+        }
+        boolean[] applied = postingRepository.applyBalances(claimed.stream().map(InstallmentService::toPosting).toList());
+
+        List<DuePosting> posted = new ArrayList<>(claimed.size());
+        for (int i = 0; i < claimed.size(); i++) {
+            (applied[i] ? posted : refused).add(claimed.get(i));
+        }
+        List<Long> transactionIds = postingRepository.insertTransactions(
+                posted.stream().map(InstallmentService::toPosting).toList(), LocalDateTime.now());
+        scheduledPostingRepository.markPosted(
+                posted.stream().map(DuePosting::scheduledPostingId).toList(), transactionIds);
+        posted.forEach(this::publish);
+        afterCommit(() -> posted.forEach(due -> removePending(due.accountId(), 1)));
+        postedCounter.increment(posted.size());
+        return new Batch(claimed.size(), posted.size());
+    }
+
+    /**
+     * Posts one refused installment through the regular balance update, in its own transaction.
+     */
+    private Outcome postOne(Long scheduledPostingId) {
+        try {
+            Outcome outcome = transactionTemplate.execute(status -> {
+                DuePosting due = scheduledPostingRepository.lockPending(scheduledPostingId).orElse(null);
+                if (due == null) {
+                    return Outcome.SKIPPED;
+                }
+                accountService.updateAccountBalance(due.accountId(), due.amount());
+                List<Long> transactionIds = postingRepository.insertTransactions(List.of(toPosting(due)),
+                        LocalDateTime.now());
+                scheduledPostingRepository.markPosted(List.of(scheduledPostingId), transactionIds);
+                publish(due);
+                afterCommit(() -> removePending(due.accountId(), 1));
+                return Outcome.POSTED;
+            });
+            if (outcome == Outcome.POSTED) {
+                postedCounter.increment();
+            }
+            return outcome;
+        } catch (InsufficientBalance e) {
+            transactionTemplate.executeWithoutResult(status -> scheduledPostingRepository.lockPending(scheduledPostingId)
+                    .ifPresent(due -> {
+                        scheduledPostingRepository.markFailed(scheduledPostingId);
+                        afterCommit(() -> removePending(due.accountId(), 1));
+                    }));
+            failedCounter.increment();
+            log.warn("Installment {} failed: {}", scheduledPostingId, e.getMessage());
+            return Outcome.FAILED;
+        } catch (RuntimeException e) {
+            log.warn("Installment {} could not be posted, will retry on the next run", scheduledPostingId, e);
+            return Outcome.RETRY;
+        }
+    }
+
+    private void publish(DuePosting due) {
+        eventPublisher.publishEvent(new BalanceChangedEvent(due.accountId(), due.operationTypeId(), due.amount()));
+    }
+
+    private void removePending(Long accountId, int count) {
+        pendingByAccount.computeIfPresent(accountId, (id, pending) -> pending > count ? pending - count : null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void afterRollback(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static Posting toPosting(DuePosting due) {
+        return new Posting(due.accountId(), due.operationTypeId(), due.amount());
+    }
+
+    private record Batch(int claimed, int posted) {
+    }
+
+    private enum Outcome {
+        POSTED,
+        FAILED,
+        // Posted or failed by another thread or instance meanwhile
+        SKIPPED,
+        RETRY
+    }
+}
@@ -0,0 +1,176 @@
+package com.pismo.account.service;
+
+import com.pismo.account.dto.response.ReconciliationResponse;
+import com.pismo.account.exception.InvalidStateException;
+import com.pismo.account.repository.AccountRange;
+import com.pismo.account.repository.ReconciliationRepository;
+import com.pismo.account.repository.ReconciliationRepository.Mismatch;
+import com.pismo.account.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+/**
+ * Checks that every account's balance equals its initial balance minus the sum of its
+ * transaction amounts.
+ * <p>
+ * The account id space is cut into fixed-size chunks that a parallel stream runs on a
+ * dedicated {@link ForkJoinPool}. Each chunk is one aggregate query that returns only the
+ * mismatched accounts, which are streamed to a CSV report as they arrive. Database load is
+ * bounded by a semaphore on queries in flight (fork/join may add compensating threads while
+ * tasks wait on each other, so the pool size alone is not a hard bound) and throttled by a
+ * token bucket on chunks per second.
+ */
+@Service
+@Slf4j
+public class ReconciliationService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    private static final String REPORT_HEADER =
+            "account_id,initial_balance,transaction_total,expected_balance,balance,difference";
+
+    private final ReconciliationRepository reconciliationRepository;
+    private final long chunkSize;
+    private final int threads;
+    private final double chunksPerSecond;
+    private final Path reportDirectory;
+    private final Counter mismatchCounter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReconciliationService(ReconciliationRepository reconciliationRepository,
+                                 @Value("${app.reconciliation.chunk-size:10000}") long chunkSize,
+                                 @Value("${app.reconciliation.threads:4}") int threads,
+                                 @Value("${app.reconciliation.chunks-per-second:50}") double chunksPerSecond,
+                                 @Value("${app.reconciliation.directory:${java.io.tmpdir}}") String reportDirectory,
+                                 MeterRegistry meterRegistry) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.chunksPerSecond = chunksPerSecond;
+        this.reportDirectory = Paths.get(reportDirectory);
+        this.mismatchCounter = Counter.builder("reconciliation.mismatches")
+                .description("Accounts whose balance did not match their transactions")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.reconciliation.cron:0 30 2 * * *}")
+    public void reconcileNightly() {
+        try {
+            reconcile();
+        } catch (InvalidStateException e) {
+            log.warn("Skipping nightly reconciliation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a full reconciliation; only one runs at a time.
+     */
+    public ReconciliationResponse reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidStateException("A reconciliation is already running");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationResponse run() {
+        Instant startedAt = Instant.now();
+        Path report = reportDirectory.resolve("reconciliation-" + FILE_TIMESTAMP.format(startedAt) + ".csv");
+        AccountRange accounts = reconciliationRepository.findAccountRange().orElse(new AccountRange(1, 0));
+        long chunks = accounts.to() < accounts.from() ? 0 : (accounts.to() - accounts.from()) / chunkSize + 1;
+        log.info("Reconciling account ids {} to {} in {} chunks", accounts.from(), accounts.to(), chunks);
+
+        Semaphore queries = new Semaphore(threads);
+        TokenBucket throttle = new TokenBucket(threads, chunksPerSecond, System.nanoTime());
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long[] totals;
+        try {
+            Files.createDirectories(reportDirectory);
+            try (BufferedWriter writer = Files.newBufferedWriter(report)) {
+                writer.write(REPORT_HEADER);
+                writer.newLine();
+                totals = pool.submit(() -> LongStream.range(0, chunks).parallel()
+                        .mapToObj(chunk -> {
+                            long from = accounts.from() + chunk * chunkSize;
+                            return new AccountRange(from, Math.min(from + chunkSize - 1, accounts.to()));
+                        })
+                        .map(range -> reconcileChunk(range, queries, throttle, writer))
+                        .reduce(new long[2], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]})).get();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reconciliation report " + report, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        long durationMs = Instant.now().toEpochMilli() - startedAt.toEpochMilli();
+        if (totals[1] > 0) {
+            log.warn("Reconciliation found {} mismatched accounts out of {}; see {}", totals[1], totals[0], report);
+        } else {
+            log.info("Reconciliation checked {} accounts in {} ms, no mismatches", totals[0], durationMs);
+        }
+        return new ReconciliationResponse(startedAt, totals[0], chunks, totals[1], report.toString(), durationMs);
+    }
+
+    /**
+     * @return the number of accounts checked and of mismatches found
+     */
+    private long[] reconcileChunk(AccountRange range, Semaphore queries, TokenBucket throttle, BufferedWriter writer) {
+        for (long wait; (wait = throttle.tryAcquire(System.nanoTime())) > 0; ) {
+            LockSupport.parkNanos(wait);
+        }
+        queries.acquireUninterruptibly();
+        try {
+            long accounts = reconciliationRepository.countAccounts(range);
+            int mismatches = accounts == 0 ? 0 : reconciliationRepository.findMismatches(range,
+                    mismatch -> write(writer, mismatch));
+            mismatchCounter.increment(mismatches);
+            return new long[]{accounts, mismatches};
+        } finally {
+            queries.release();
+        }
+    }
+
+    private static void write(BufferedWriter writer, Mismatch mismatch) {
+        String line = mismatch.accountId() + "," + mismatch.initialBalance().toPlainString() + ","
+                + mismatch.transactionTotal().toPlainString() + "," + mismatch.expectedBalance().toPlainString() + ","
+                + mismatch.balance().toPlainString() + ","
+                + mismatch.balance().subtract(mismatch.expectedBalance()).toPlainString();
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.entity.RefreshToken;
+import com.pismo.account.domain.entity.User;
+import com.pismo.account.exception.InvalidTokenException;
+import com.pismo.account.repository.RefreshTokenRepository;
+import com.pismo.account.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only a SHA-256 hash of each token is stored, and
+ * every successful refresh revokes the presented token and issues a new one, so a leaked
+ * refresh token is good for at most one use.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final Duration refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               @Value("${app.jwt.refresh-expiration:7d}") Duration refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    @Transactional
+    public String create(Long userId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setUser(userRepository.getReferenceById(userId));
+        refreshToken.setExpiresAt(Instant.now().plus(refreshExpiration));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    /**
+     * Consumes the given refresh token and returns its (enabled) owner. The caller is
+     * expected to issue a new token pair for the returned user within the same transaction.
+     * <p>
+     * The token is revoked with a conditional update before anything else is read, so a token
+     * presented twice at once is accepted by exactly one of the requests.
+     */
+    @Transactional
+    public User consume(String rawToken) {
+        String tokenHash = hash(rawToken);
+        if (refreshTokenRepository.revokeIfActive(tokenHash, Instant.now()) != 1) {
+            throw new InvalidTokenException("Refresh token is invalid, expired or revoked");
+        }
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        User user = refreshToken.getUser();
+        if (!user.isEnabled()) {
+            throw new InvalidTokenException("User is disabled");
+        }
+        return user;
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.revoke(hash(rawToken));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.enums.OperationTypeEnum;
+import com.pismo.account.dto.response.OperationTypeSpendResponse;
+import com.pismo.account.dto.response.SpendAnalyticsResponse;
+import com.pismo.account.repository.SpendAggregateRepository;
+import com.pismo.account.repository.SpendAggregateRepository.Aggregate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Spend per operation type, transaction counts and credit exposure, per account and across
+ * all accounts, kept as counters updated by every committed posting instead of {@code SUM}
+ * queries over {@code transactions}.
+ * <p>
+ * The totals across accounts are {@link LongAdder}s, striped so concurrent postings do not
+ * contend on one counter; they are seeded from {@code spend_aggregates} at startup and read
+ * without touching the database. Per-account deltas wait in a map until the periodic flush
+ * adds them to {@code spend_aggregates}, and an account's totals are its stored row per
+ * operation type plus its pending delta. Like {@link HoldLedger}, the totals across accounts
+ * only see the postings of this instance since it started.
+ */
+@Component
+@Slf4j
+public class SpendAnalytics implements SmartInitializingSingleton {
+
+    private static final OperationTypeEnum[] TYPES = OperationTypeEnum.values();
+
+    private final SpendAggregateRepository aggregateRepository;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+    // Amounts in cents, indexed by operation type ordinal
+    private final LongAdder[] totalCents = new LongAdder[TYPES.length];
+    private final LongAdder[] totalCounts = new LongAdder[TYPES.length];
+    // Unflushed deltas: cents then count for each type. Only changed inside map compute calls
+    private final Map<Long, long[]> pending = new ConcurrentHashMap<>();
+
+    public SpendAnalytics(SpendAggregateRepository aggregateRepository,
+                          AccountService accountService,
+                          TransactionTemplate transactionTemplate) {
+        this.aggregateRepository = aggregateRepository;
+        this.accountService = accountService;
+        this.transactionTemplate = transactionTemplate;
+        for (int i = 0; i < TYPES.length; i++) {
+            totalCents[i] = new LongAdder();
+            totalCounts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Aggregate> totals = aggregateRepository.findByAccount(SpendAggregateRepository.ALL_ACCOUNTS);
+        if (totals.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> aggregateRepository.backfill());
+            totals = aggregateRepository.findByAccount(SpendAggregateRepository.ALL_ACCOUNTS);
+            log.info("Spend aggregates built from the transactions table");
+        }
+        for (Aggregate total : totals) {
+            int type = typeIndex(total.operationTypeId());
+            totalCents[type].add(toCents(total.amount()));
+            totalCounts[type].add(total.transactionCount());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        int type = typeIndex(event.operationTypeId());
+        long cents = toCents(event.amount());
+        totalCents[type].add(cents);
+        totalCounts[type].increment();
+        pending.compute(event.accountId(), (accountId, delta) -> {
+            long[] counters = delta == null ? new long[TYPES.length * 2] : delta;
+            counters[type * 2] += cents;
+            counters[type * 2 + 1]++;
+            return counters;
+        });
+    }
+
+    public SpendAnalyticsResponse getTotals() {
+        long[] counters = new long[TYPES.length * 2];
+        for (int i = 0; i < TYPES.length; i++) {
+            counters[i * 2] = totalCents[i].sum();
+            counters[i * 2 + 1] = totalCounts[i].sum();
+        }
+        return toResponse(null, counters);
+    }
+
+    /**
+     * An account's totals: its stored aggregates, at most one row per operation type, plus
+     * what it posted since the last flush.
+     */
+    public SpendAnalyticsResponse getAccountTotals(Long accountId) {
+        accountService.findAccountById(accountId);
+        long[] counters = new long[TYPES.length * 2];
+        for (Aggregate stored : aggregateRepository.findByAccount(accountId)) {
+            int type = typeIndex(stored.operationTypeId());
+            counters[type * 2] += toCents(stored.amount());
+            counters[type * 2 + 1] += stored.transactionCount();
+        }
+        pending.computeIfPresent(accountId, (id, delta) -> {
+            for (int i = 0; i < delta.length; i++) {
+                counters[i] += delta[i];
+            }
+            return delta;
+        });
+        return toResponse(accountId, counters);
+    }
+
+    /**
+     * Adds the pending per-account deltas, and their sum, to {@code spend_aggregates} in one
+     * transaction. Deltas are taken out of the map atomically, so a posting counted during the
+     * flush is either in this flush or the next; if the flush fails they are put back.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval:10000}")
+    public synchronized void flush() {
+        Map<Long, long[]> drained = new HashMap<>();
+        for (Long accountId : pending.keySet()) {
+            pending.computeIfPresent(accountId, (id, delta) -> {
+                drained.put(id, delta);
+                return null;
+            });
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Aggregate> rows = new ArrayList<>();
+        long[] sum = new long[TYPES.length * 2];
+        drained.forEach((accountId, delta) -> {
+            for (int type = 0; type < TYPES.length; type++) {
+                if (delta[type * 2 + 1] > 0) {
+                    rows.add(toAggregate(accountId, type, delta));
+                    sum[type * 2] += delta[type * 2];
+                    sum[type * 2 + 1] += delta[type * 2 + 1];
+                }
+            }
+        });
+        for (int type = 0; type < TYPES.length; type++) {
+            if (sum[type * 2 + 1] > 0) {
+                rows.add(toAggregate(SpendAggregateRepository.ALL_ACCOUNTS, type, sum));
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> aggregateRepository.addAll(rows));
+        } catch (RuntimeException e) {
+            drained.forEach((accountId, delta) -> pending.merge(accountId, delta, (current, restored) -> {
+                for (int i = 0; i < current.length; i++) {
+                    current[i] += restored[i];
+                }
+                return current;
+            }));
+            throw e;
+        }
+        log.debug("Flushed spend aggregates of {} accounts", drained.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Spend aggregates could not be flushed on shutdown", e);
+        }
+    }
+
+    private static SpendAnalyticsResponse toResponse(Long accountId, long[] counters) {
+        List<OperationTypeSpendResponse> byType = new ArrayList<>();
+        long cents = 0;
+        long transactions = 0;
+        for (int type = 0; type < TYPES.length; type++) {
+            if (counters[type * 2 + 1] > 0) {
+                byType.add(new OperationTypeSpendResponse(TYPES[type].getId(), TYPES[type].getDescription(),
+                        BigDecimal.valueOf(counters[type * 2], 2), counters[type * 2 + 1]));
+            }
+            cents += counters[type * 2];
+            transactions += counters[type * 2 + 1];
+        }
+        // Debits are negative and raise the debt, so exposure is the negated sum of all amounts
+        return new SpendAnalyticsResponse(accountId, byType, transactions, BigDecimal.valueOf(-cents, 2));
+    }
+
+    private static Aggregate toAggregate(long accountId, int type, long[] counters) {
+        return new Aggregate(accountId, TYPES[type].getId(), BigDecimal.valueOf(counters[type * 2], 2),
+                counters[type * 2 + 1]);
+    }
+
+    private static int typeIndex(Long operationTypeId) {
+        OperationTypeEnum type = OperationTypeEnum.fromId(operationTypeId);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown operation type " + operationTypeId);
+        }
+        return type.ordinal();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
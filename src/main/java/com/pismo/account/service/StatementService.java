@@ -0,0 +1,283 @@
+package com.pismo.account.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.pismo.account.dto.response.StatementRunResponse;
+import com.pismo.account.exception.InvalidStateException;
+import com.pismo.account.repository.AccountRange;
+import com.pismo.account.repository.StatementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Monthly statements for every account: opening balance, the month's transactions and closing
+ * balance, one JSON object per line in gzip files under {@code <directory>/<yyyy-MM>/}.
+ * <p>
+ * The account id space is split into partitions run on a worker pool. Each partition streams
+ * its rows through one cursor ordered by {@code (account_id, event_date)} and writes them to a
+ * temporary file through a {@link FileChannel}; when done the file is forced to disk and
+ * atomically renamed to its final name, which is the partition's checkpoint. A run that
+ * crashed is restarted with the same plan (the partitioning is written down on the first run)
+ * and only regenerates partitions without a final file.
+ */
+@Service
+@Slf4j
+public class StatementService {
+
+    private static final String PLAN_FILE = "plan.properties";
+    private static final int GZIP_BUFFER = 64 * 1024;
+
+    private final StatementRepository statementRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final int partitions;
+    private final int threads;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public StatementService(StatementRepository statementRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.statements.directory:${java.io.tmpdir}/statements}") String directory,
+                            @Value("${app.statements.partitions:64}") int partitions,
+                            @Value("${app.statements.threads:4}") int threads) {
+        this.statementRepository = statementRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = Paths.get(directory);
+        this.partitions = partitions;
+        this.threads = threads;
+    }
+
+    @Scheduled(cron = "${app.statements.cron:0 0 4 1 * *}")
+    public void generatePreviousMonth() {
+        try {
+            generate(YearMonth.now().minusMonths(1));
+        } catch (InvalidStateException e) {
+            log.warn("Skipping monthly statements: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Generates the month's statements, or finishes a run for the month that was interrupted;
+     * only one run goes at a time.
+     */
+    public StatementRunResponse generate(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidStateException("Statements are already being generated");
+        }
+        try {
+            return run(month);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write statements for " + month, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private StatementRunResponse run(YearMonth month) throws IOException {
+        Instant startedAt = Instant.now();
+        Path monthDirectory = directory.resolve(month.toString());
+        Files.createDirectories(monthDirectory);
+        List<AccountRange> plan = loadOrCreatePlan(monthDirectory);
+
+        List<Integer> pending = new ArrayList<>();
+        for (int partition = 0; partition < plan.size(); partition++) {
+            if (!Files.exists(partitionFile(monthDirectory, partition))) {
+                pending.add(partition);
+            }
+        }
+        log.info("Generating {} statements: {} of {} partitions left", month, pending.size(), plan.size());
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long statements = 0;
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int partition : pending) {
+                results.add(workers.submit(() -> writePartition(month, monthDirectory, partition, plan.get(partition))));
+            }
+            for (Future<Long> result : results) {
+                statements += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Statement generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        long durationMs = Instant.now().toEpochMilli() - startedAt.toEpochMilli();
+        log.info("Wrote {} statements for {} in {} ms", statements, month, durationMs);
+        return new StatementRunResponse(month.toString(), plan.size(), plan.size() - pending.size(), statements,
+                monthDirectory.toString(), durationMs);
+    }
+
+    /**
+     * @return the number of statements written
+     */
+    private long writePartition(YearMonth month, Path monthDirectory, int partition, AccountRange range)
+            throws IOException {
+        Path target = partitionFile(monthDirectory, partition);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        long statements;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), GZIP_BUFFER);
+             StatementWriter writer = new StatementWriter(month, gzip)) {
+            readOnlyTransaction.executeWithoutResult(status -> statementRepository.streamStatementRows(range,
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay(), writer::accept));
+            writer.finish();
+            gzip.finish();
+            channel.force(true);
+            statements = writer.statements;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Statements partition {} ({} to {}) written", partition, range.from(), range.to());
+        return statements;
+    }
+
+    /**
+     * Reads the partitioning of an interrupted run, or splits the current account id range and
+     * writes it down so a restart covers the same accounts in the same partitions.
+     */
+    private List<AccountRange> loadOrCreatePlan(Path monthDirectory) throws IOException {
+        Path planFile = monthDirectory.resolve(PLAN_FILE);
+        Properties plan = new Properties();
+        if (Files.exists(planFile)) {
+            try (var in = Files.newInputStream(planFile)) {
+                plan.load(in);
+            }
+        } else {
+            AccountRange accounts = statementRepository.findAccountRange().orElse(new AccountRange(1, 0));
+            plan.setProperty("from", Long.toString(accounts.from()));
+            plan.setProperty("to", Long.toString(accounts.to()));
+            plan.setProperty("partitions", Integer.toString(partitions));
+            Path temporary = monthDirectory.resolve(PLAN_FILE + ".tmp");
+            try (var out = Files.newOutputStream(temporary)) {
+                plan.store(out, null);
+            }
+            Files.move(temporary, planFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        long from = Long.parseLong(plan.getProperty("from"));
+        long to = Long.parseLong(plan.getProperty("to"));
+        int count = Integer.parseInt(plan.getProperty("partitions"));
+        List<AccountRange> ranges = new ArrayList<>(count);
+        if (to < from) {
+            return ranges;
+        }
+        long width = (to - from) / count + 1;
+        for (long start = from; start <= to; start += width) {
+            ranges.add(new AccountRange(start, Math.min(start + width - 1, to)));
+        }
+        return ranges;
+    }
+
+    private static Path partitionFile(Path monthDirectory, int partition) {
+        return monthDirectory.resolve(String.format("statements-%05d.ndjson.gz", partition));
+    }
+
+    /**
+     * Turns the ordered statement rows of a partition into one JSON statement per account.
+     */
+    private final class StatementWriter implements AutoCloseable {
+
+        private final String month;
+        private final JsonGenerator json;
+        private long statements;
+        private Long accountId;
+        private BigDecimal balance;
+
+        StatementWriter(YearMonth month, OutputStream out) throws IOException {
+            this.month = month.toString();
+            this.json = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+            this.json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            try {
+                long rowAccountId = rs.getLong(1);
+                if (accountId == null || accountId != rowAccountId) {
+                    endStatement();
+                    startStatement(rowAccountId, rs.getBigDecimal(2));
+                }
+                long transactionId = rs.getLong(3);
+                if (!rs.wasNull()) {
+                    BigDecimal amount = rs.getBigDecimal(5);
+                    balance = balance.subtract(amount);
+                    json.writeStartObject();
+                    json.writeNumberField("transaction_id", transactionId);
+                    json.writeNumberField("operation_type_id", rs.getLong(4));
+                    json.writeNumberField("amount", amount);
+                    json.writeStringField("event_date", rs.getTimestamp(6).toLocalDateTime().toString());
+                    json.writeNumberField("balance", balance);
+                    json.writeEndObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            endStatement();
+            json.flush();
+        }
+
+        private void startStatement(long rowAccountId, BigDecimal openingBalance) throws IOException {
+            accountId = rowAccountId;
+            balance = openingBalance;
+            json.writeStartObject();
+            json.writeNumberField("account_id", rowAccountId);
+            json.writeStringField("month", month);
+            json.writeNumberField("opening_balance", openingBalance);
+            json.writeArrayFieldStart("transactions");
+        }
+
+        private void endStatement() throws IOException {
+            if (accountId == null) {
+                return;
+            }
+            json.writeEndArray();
+            json.writeNumberField("closing_balance", balance);
+            json.writeEndObject();
+            statements++;
+            accountId = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.pismo.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pismo.account.SchedulingConfig;
+import com.pismo.account.dto.response.TransactionItemResponse;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.exception.TooManyRequestsException;
+import com.pismo.account.repository.TransactionFeedRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Feed of committed transactions in transaction id order, for downstream consumers that sync
+ * incrementally: a consumer passes the last cursor it was given and gets the transactions after
+ * it, streamed as NDJSON, with the cursor to continue from in {@code X-Next-Cursor}.
+ * <p>
+ * Ids are handed out when a row is inserted but become visible when its transaction commits, so
+ * a lower id can appear after a higher one. The feed only serves ids up to a horizon: the highest
+ * id that was already committed {@code app.change-feed.settle-lag} ago, sampled every
+ * {@code app.change-feed.poll}. Any transaction that commits within the settle lag of inserting
+ * is then visible before the cursor can move past it. A consumer already at the horizon is
+ * long-polled: its request is parked as a {@link DeferredResult}, holding no thread, and answered
+ * when the horizon moves past its cursor, or with {@code 204} after {@code app.change-feed.wait}.
+ * The sampler only hands those answers to virtual threads, so preparing pages for many waiting
+ * consumers does not delay the next sample.
+ */
+@Component
+@Slf4j
+public class TransactionChangeFeed implements SmartInitializingSingleton {
+
+    public static final int MAX_LIMIT = 10_000;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final TransactionFeedRepository feedRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final long settleLagNanos;
+    private final Duration wait;
+    private final int maxWaiting;
+    // (sampled at, highest committed id) pairs younger than the settle lag; guarded by samples
+    private final ArrayDeque<long[]> samples = new ArrayDeque<>();
+    private final Set<Waiter> waiting = ConcurrentHashMap.newKeySet();
+    private final ExecutorService answering =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-", 0).factory());
+    private volatile long horizon;
+
+    public TransactionChangeFeed(TransactionFeedRepository feedRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.change-feed.settle-lag:5s}") Duration settleLag,
+                                 @Value("${app.change-feed.wait:30s}") Duration wait,
+                                 @Value("${app.change-feed.max-waiting:1000}") int maxWaiting) {
+        this.feedRepository = feedRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.settleLagNanos = settleLag.toNanos();
+        this.wait = wait;
+        this.maxWaiting = maxWaiting;
+    }
+
+    // Nothing is in flight before the application serves, so everything committed is settled
+    @Override
+    public void afterSingletonsInstantiated() {
+        horizon = feedRepository.findMaxTransactionId();
+        log.info("Transaction change feed starts at horizon {}", horizon);
+    }
+
+    public long getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Up to {@code limit} transactions with ids above {@code after}, answered at once when there
+     * are settled ids above it and otherwise when there are, or when the wait runs out.
+     *
+     * @param after the previous response's {@code X-Next-Cursor}, or 0 to start from the beginning
+     */
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> changes(long after, int limit) {
+        if (after < 0) {
+            throw new InvalidOperationException("Cursor must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidOperationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        DeferredResult<ResponseEntity<StreamingResponseBody>> result =
+                new DeferredResult<>(wait.toMillis(), () -> ResponseEntity.noContent().build());
+        long settled = horizon;
+        if (after < settled) {
+            result.setResult(page(after, settled, limit));
+            return result;
+        }
+        if (waiting.size() >= maxWaiting) {
+            throw new TooManyRequestsException("Too many consumers waiting for transaction changes", 1);
+        }
+        Waiter waiter = new Waiter(after, limit, result);
+        waiting.add(waiter);
+        result.onCompletion(() -> waiting.remove(waiter));
+        // The horizon may have moved before the waiter was added
+        settled = horizon;
+        if (after < settled && waiting.remove(waiter)) {
+            result.setResult(page(after, settled, limit));
+        }
+        return result;
+    }
+
+    /**
+     * Samples the highest committed id, moves the horizon to the newest sample at least the
+     * settle lag old and answers the consumers it moved past.
+     */
+    @Scheduled(fixedDelayString = "${app.change-feed.poll:200}", scheduler = SchedulingConfig.TICK_SCHEDULER)
+    public void advance() {
+        long settled = sample(System.nanoTime(), feedRepository.findMaxTransactionId());
+        if (settled == horizon) {
+            return;
+        }
+        horizon = settled;
+        for (Waiter waiter : waiting) {
+            if (waiter.after() < settled && waiting.remove(waiter)) {
+                // Each page queries for its end, which must not hold up the next sample
+                answering.execute(() -> answer(waiter, settled));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        answering.shutdown();
+    }
+
+    // The highest id among the samples at least the settle lag old, or the current horizon
+    private long sample(long now, long maxId) {
+        long settled = horizon;
+        synchronized (samples) {
+            samples.addLast(new long[]{now, maxId});
+            while (!samples.isEmpty() && now - samples.peekFirst()[0] >= settleLagNanos) {
+                settled = Math.max(settled, samples.pollFirst()[1]);
+            }
+        }
+        return settled;
+    }
+
+    private void answer(Waiter waiter, long settled) {
+        try {
+            waiter.result().setResult(page(waiter.after(), settled, waiter.limit()));
+        } catch (RuntimeException e) {
+            log.warn("Could not answer a transaction change feed consumer", e);
+            waiter.result().setErrorResult(e);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> page(long after, long settled, int limit) {
+        // Ids past the horizon are left out, and gaps from rolled back ids are skipped over
+        long end = feedRepository.findPageEnd(after, settled, limit).orElse(settled);
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status ->
+                feedRepository.streamChanges(after, end, rs -> {
+                    TransactionItemResponse item = new TransactionItemResponse(rs.getLong(1), rs.getLong(2),
+                            rs.getLong(3), rs.getBigDecimal(4), rs.getTimestamp(5).toLocalDateTime());
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(item));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(NEXT_CURSOR_HEADER, String.valueOf(end))
+                .body(body);
+    }
+
+    private record Waiter(long after, int limit, DeferredResult<ResponseEntity<StreamingResponseBody>> result) {
+    }
+}
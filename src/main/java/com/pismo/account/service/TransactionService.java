@@ -4,61 +4,249 @@ import com.pismo.account.domain.entity.Account;
 import com.pismo.account.domain.entity.Transaction;
 import com.pismo.account.domain.enums.OperationTypeEnum;
 import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.request.TransactionSearchRequest;
+import com.pismo.account.dto.response.TransactionItemResponse;
 import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.dto.response.TransactionSearchResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.InvalidOperationException;
 import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.exception.VelocityLimitExceededException;
+import com.pismo.account.monitoring.TransactionPostingEvent;
 import com.pismo.account.repository.TransactionRepository;
+import com.pismo.account.repository.TransactionSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionService {
 
+    public static final int MAX_SEARCH_LIMIT = 500;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("eventDate"), Sort.Order.desc("transactionId"));
+
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
+    private final HoldLedger holdLedger;
+    private final InstallmentService installmentService;
+    private final VelocityGuard velocityGuard;
+    private final DuplicateTransactionFilter duplicateFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Posts a transaction, unless an identical one was posted within the duplicate window, in
+     * which case that posting's result is returned instead.
+     */
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
+        Optional<TransactionResponse> duplicate = duplicateFilter.findDuplicate(request);
+        if (duplicate.isPresent()) {
+            return duplicate.get();
+        }
+        TransactionResponse response = createTransaction(request, BigDecimal.ZERO);
+        duplicateFilter.record(request, response);
+        return response;
+    }
+
+    /**
+     * Posts a transaction. Debits must also fit in the credit left after the account's open
+     * holds and unposted installments, except for {@code capturedHold}, the amount of a hold
+     * this posting captures. An installment purchase is checked for its full amount.
+     */
+    @Transactional
+    TransactionResponse createTransaction(TransactionRequest request, BigDecimal capturedHold) {
         log.info("Creating transaction for account ID: {}, operation type: {}", 
                 request.getAccountId(), request.getOperationTypeId());
 
-        // Validate account exists
-        Account account = accountService.findAccountById(request.getAccountId());
+        TransactionPostingEvent event = new TransactionPostingEvent();
+        event.begin();
+        event.accountId = request.getAccountId();
+        event.operationTypeId = request.getOperationTypeId();
+        event.amount = request.getAmount().doubleValue();
+        event.outcome = "FAILED";
+        try {
+            // Validate account exists
+            long dbStart = System.nanoTime();
+            Account account = accountService.findAccountById(request.getAccountId());
+            event.dbTime += System.nanoTime() - dbStart;
 
-        // Validate operation type is valid
-        OperationTypeEnum operationTypeEnum = OperationTypeEnum.fromId(request.getOperationTypeId());
-        if (operationTypeEnum == null) {
-            throw new ResourceNotFoundException("Operation type not found with ID: " + request.getOperationTypeId());
+            // Validate operation type is valid
+            OperationTypeEnum operationTypeEnum = OperationTypeEnum.fromId(request.getOperationTypeId());
+            if (operationTypeEnum == null) {
+                event.outcome = "UNKNOWN_OPERATION_TYPE";
+                throw new ResourceNotFoundException("Operation type not found with ID: " + request.getOperationTypeId());
+            }
+            if (operationTypeEnum.isTransfer()) {
+                event.outcome = "TRANSFER_OPERATION_TYPE";
+                throw new InvalidOperationException(
+                        operationTypeEnum.getDescription() + " transactions are only posted through /transfers");
+            }
+            if (operationTypeEnum.isAccrual()) {
+                event.outcome = "ACCRUAL_OPERATION_TYPE";
+                throw new InvalidOperationException(
+                        operationTypeEnum.getDescription() + " transactions are only posted by the accrual job");
+            }
+
+            // Apply sign based on operation type (debt transactions are negative)
+            BigDecimal amount = calculateAmount(request.getAmount(), request.getOperationTypeId());
+            BigDecimal charged = amount.negate();
+
+            // Installment purchases post the first installment now and schedule the rest
+            List<BigDecimal> installments = null;
+            if (request.getInstallments() != null && request.getInstallments() > 1) {
+                if (operationTypeEnum != OperationTypeEnum.INSTALLMENT_PURCHASE) {
+                    event.outcome = "INSTALLMENTS_NOT_ALLOWED";
+                    throw new InvalidOperationException("Only " + OperationTypeEnum.INSTALLMENT_PURCHASE.getDescription()
+                            + " transactions can be split into installments");
+                }
+                installments = InstallmentService.split(amount, request.getInstallments());
+                amount = installments.get(0);
+            }
+            // The balance update only checks what is posted now, so holds and installments need this check
+            BigDecimal scheduled = charged.signum() > 0
+                    ? installmentService.scheduledDebt(account.getAccountId()) : BigDecimal.ZERO;
+            if (charged.signum() > 0 && (installments != null || scheduled.signum() > 0
+                    || holdLedger.hasHolds(account.getAccountId()))) {
+                BigDecimal available = holdLedger.availableCredit(account.getAccountId(),
+                        account.getAvailableCreditLimit(), accountService.getBalance(account.getAccountId()))
+                        .subtract(scheduled);
+                if (charged.compareTo(available.add(capturedHold)) > 0) {
+                    event.outcome = "INSUFFICIENT_CREDIT";
+                    throw new InsufficientBalance(
+                            "Insufficient available credit for account ID: " + account.getAccountId());
+                }
+            }
+
+            try {
+                velocityGuard.check(account.getAccountId(), request.getOperationTypeId(), amount);
+            } catch (VelocityLimitExceededException e) {
+                event.outcome = "VELOCITY_LIMIT";
+                throw e;
+            }
+
+            // Create transaction
+            Transaction transaction = new Transaction();
+            transaction.setAccount(account);
+            transaction.setOperationTypeId(request.getOperationTypeId());
+            transaction.setAmount(amount);
+
+            dbStart = System.nanoTime();
+            BigDecimal balance = accountService.updateAccountBalance(account.getAccountId(), amount);
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            eventPublisher.publishEvent(new BalanceChangedEvent(account.getAccountId(),
+                    request.getOperationTypeId(), amount));
+            if (installments != null) {
+                installmentService.schedule(account.getAccountId(), request.getOperationTypeId(),
+                        savedTransaction.getTransactionId(), installments, LocalDate.now());
+            }
+            event.dbTime += System.nanoTime() - dbStart;
+            log.info("Transaction created successfully with ID: {}", savedTransaction.getTransactionId());
+
+            event.outcome = "POSTED";
+            return new TransactionResponse(
+                    savedTransaction.getTransactionId(),
+                    savedTransaction.getAccount().getAccountId(),
+                    savedTransaction.getOperationTypeId(),
+                    savedTransaction.getAmount(),
+                    balance
+            );
+        } catch (RuntimeException e) {
+            if ("FAILED".equals(event.outcome)) {
+                event.outcome = e.getClass().getSimpleName();
+            }
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Finds transactions matching the filters, newest first, a page at a time. Pages are keyed
+     * on the last transaction returned rather than an offset, so each page is an index range
+     * scan however deep into the results it is, and postings made while paging do not shift it.
+     *
+     * @param cursor the {@code next_cursor} of the previous page, or null for the first
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearchResponse search(TransactionSearchRequest request, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new InvalidOperationException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new InvalidOperationException("from must be before to");
+        }
+        if (request.getMinAmount() != null && request.getMaxAmount() != null
+                && request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
+            throw new InvalidOperationException("min_amount must not exceed max_amount");
         }
 
-        // Apply sign based on operation type (debt transactions are negative)
-        BigDecimal amount = calculateAmount(request.getAmount(), request.getOperationTypeId());
-
-        // Create transaction
-        Transaction transaction = new Transaction();
-        transaction.setAccount(account);
-        transaction.setOperationTypeId(request.getOperationTypeId());
-        transaction.setAmount(amount);
-
-        accountService.updateAccountBalance(account.getAccountId(), amount);
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        log.info("Transaction created successfully with ID: {}", savedTransaction.getTransactionId());
-
-        return new TransactionResponse(
-                savedTransaction.getTransactionId(),
-                savedTransaction.getAccount().getAccountId(),
-                savedTransaction.getOperationTypeId(),
-                savedTransaction.getAmount(),
-                savedTransaction.getAccount().getBalance()
-        );
+        Specification<Transaction> spec = Specification.where(null);
+        if (request.getAccountId() != null) {
+            spec = spec.and(TransactionSpecifications.forAccount(request.getAccountId()));
+        }
+        if (request.getOperationTypeId() != null) {
+            spec = spec.and(TransactionSpecifications.ofOperationType(request.getOperationTypeId()));
+        }
+        if (request.getFrom() != null) {
+            spec = spec.and(TransactionSpecifications.onOrAfter(request.getFrom()));
+        }
+        if (request.getTo() != null) {
+            spec = spec.and(TransactionSpecifications.before(request.getTo()));
+        }
+        if (request.getMinAmount() != null) {
+            spec = spec.and(TransactionSpecifications.amountAtLeast(request.getMinAmount()));
+        }
+        if (request.getMaxAmount() != null) {
+            spec = spec.and(TransactionSpecifications.amountAtMost(request.getMaxAmount()));
+        }
+        if (cursor != null) {
+            spec = spec.and(decodeCursor(cursor));
+        }
+
+        // One extra row tells whether there is a next page without a count query
+        List<Transaction> found = transactionRepository.findBy(spec,
+                query -> query.sortBy(NEWEST_FIRST).limit(limit + 1).all());
+        List<Transaction> page = found.size() > limit ? found.subList(0, limit) : found;
+        String nextCursor = found.size() > limit ? encodeCursor(page.get(limit - 1)) : null;
+        return new TransactionSearchResponse(page.stream()
+                .map(transaction -> new TransactionItemResponse(transaction.getTransactionId(),
+                        transaction.getAccount().getAccountId(), transaction.getOperationTypeId(),
+                        transaction.getAmount(), transaction.getEventDate()))
+                .toList(), nextCursor);
+    }
+
+    private static String encodeCursor(Transaction last) {
+        String key = last.getEventDate() + "|" + last.getTransactionId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Specification<Transaction> decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf('|');
+            return TransactionSpecifications.after(LocalDateTime.parse(key.substring(0, separator)),
+                    Long.parseLong(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidOperationException("Invalid cursor: " + cursor);
+        }
     }
 
-    private BigDecimal calculateAmount(BigDecimal amount, Long operationTypeId) {
+    static BigDecimal calculateAmount(BigDecimal amount, Long operationTypeId) {
         OperationTypeEnum operationTypeEnum = OperationTypeEnum.fromId(operationTypeId);
         
         if (operationTypeEnum == null) {
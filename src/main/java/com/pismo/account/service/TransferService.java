@@ -0,0 +1,110 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.entity.Account;
+import com.pismo.account.domain.enums.OperationTypeEnum;
+import com.pismo.account.dto.request.TransferRequest;
+import com.pismo.account.dto.response.TransferResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.repository.AccountRepository;
+import com.pismo.account.repository.PostingRepository;
+import com.pismo.account.repository.PostingRepository.Posting;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves funds between two accounts in one database transaction: a TRANSFER_DEBIT on the
+ * source and a TRANSFER_CREDIT on the destination, or neither.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransferService {
+
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final PostingRepository postingRepository;
+    private final HoldLedger holdLedger;
+    private final InstallmentService installmentService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public TransferResponse transfer(TransferRequest request) {
+        Long sourceId = request.getSourceAccountId();
+        Long destinationId = request.getDestinationAccountId();
+        BigDecimal amount = request.getAmount();
+        log.info("Transferring {} from account ID: {} to account ID: {}", amount, sourceId, destinationId);
+
+        if (sourceId.equals(destinationId)) {
+            throw new InvalidOperationException("Source and destination accounts must be different");
+        }
+
+        // Both rows locked in one statement, lowest account_id first
+        Map<Long, Account> accounts = new HashMap<>();
+        accountRepository.findAllByIdForUpdate(List.of(sourceId, destinationId))
+                .forEach(account -> accounts.put(account.getAccountId(), account));
+        Account source = requireAccount(accounts, sourceId);
+        requireAccount(accounts, destinationId);
+
+        BigDecimal scheduled = installmentService.scheduledDebt(sourceId);
+        if (scheduled.signum() > 0 || holdLedger.hasHolds(sourceId)) {
+            BigDecimal available = holdLedger.availableCredit(sourceId, source.getAvailableCreditLimit(),
+                    accountService.getBalance(sourceId)).subtract(scheduled);
+            if (amount.compareTo(available) > 0) {
+                throw new InsufficientBalance("Insufficient available credit for account ID: " + sourceId);
+            }
+        }
+
+        Posting debit = new Posting(sourceId, OperationTypeEnum.TRANSFER_DEBIT.getId(), amount.negate());
+        Posting credit = new Posting(destinationId, OperationTypeEnum.TRANSFER_CREDIT.getId(), amount);
+        // Same order as the row locks, which matters for sharded accounts whose slots lock separately
+        List<Posting> legs = sourceId < destinationId ? List.of(debit, credit) : List.of(credit, debit);
+
+        Map<Long, BigDecimal> balances = applyBalances(legs, accounts, sourceId);
+        List<Long> transactionIds = postingRepository.insertTransactions(List.of(debit, credit), LocalDateTime.now());
+        for (Posting leg : legs) {
+            eventPublisher.publishEvent(new BalanceChangedEvent(leg.accountId(), leg.operationTypeId(), leg.amount()));
+        }
+
+        log.info("Transfer posted as transactions {} and {}", transactionIds.get(0), transactionIds.get(1));
+        return new TransferResponse(transactionIds.get(0), transactionIds.get(1), sourceId, destinationId, amount,
+                balances.get(sourceId), balances.get(destinationId));
+    }
+
+    private Map<Long, BigDecimal> applyBalances(List<Posting> legs, Map<Long, Account> accounts, Long sourceId) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        if (legs.stream().anyMatch(leg -> accounts.get(leg.accountId()).isSharded())) {
+            legs.forEach(leg -> balances.put(leg.accountId(),
+                    accountService.updateAccountBalance(leg.accountId(), leg.amount())));
+            return balances;
+        }
+
+        // Only the debit can be refused; the locked rows give the new balances without a re-read
+        for (boolean applied : postingRepository.applyBalances(legs)) {
+            if (!applied) {
+                throw new InsufficientBalance("Insufficient balance for account ID: " + sourceId);
+            }
+        }
+        legs.forEach(leg -> balances.put(leg.accountId(),
+                accounts.get(leg.accountId()).getBalance().subtract(leg.amount())));
+        return balances;
+    }
+
+    private static Account requireAccount(Map<Long, Account> accounts, Long accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found with ID: " + accountId);
+        }
+        return account;
+    }
+}
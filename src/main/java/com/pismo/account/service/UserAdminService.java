@@ -0,0 +1,68 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.entity.Role;
+import com.pismo.account.domain.entity.User;
+import com.pismo.account.dto.response.MessageResponse;
+import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.repository.RoleRepository;
+import com.pismo.account.repository.UserRepository;
+import com.pismo.account.security.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserAdminService {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserCache userCache;
+
+    @Transactional
+    public MessageResponse updateStatus(String username, boolean enabled) {
+        log.info("Setting enabled={} for user: {}", enabled, username);
+
+        User user = findUser(username);
+        user.setEnabled(enabled);
+        userRepository.save(user);
+        userCache.removeUserFromCache(username);
+
+        if (!enabled) {
+            tokenRevocationService.revokeUserTokens(username);
+        }
+        return new MessageResponse("User " + (enabled ? "enabled" : "disabled") + " successfully");
+    }
+
+    @Transactional
+    public MessageResponse updateRoles(String username, Set<String> roleNames) {
+        log.info("Updating roles for user: {} to {}", username, roleNames);
+
+        User user = findUser(username);
+        Set<Role> roles = new HashSet<>();
+        roleNames.forEach(roleName -> {
+            String name = "ROLE_" + roleName.toUpperCase();
+            roles.add(roleRepository.findByName(name)
+                    .orElseThrow(() -> new ResourceNotFoundException("Role not found: " + name)));
+        });
+        user.setRoles(roles);
+        userRepository.save(user);
+        userCache.removeUserFromCache(username);
+
+        // Tokens carry the roles they were issued with, so force a fresh login
+        tokenRevocationService.revokeUserTokens(username);
+        return new MessageResponse("User roles updated successfully");
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+    }
+}
@@ -0,0 +1,243 @@
+package com.pismo.account.service;
+
+import com.pismo.account.domain.entity.Role;
+import com.pismo.account.dto.request.RegisterRequest;
+import com.pismo.account.dto.response.BulkRegisterResponse;
+import com.pismo.account.repository.RoleRepository;
+import com.pismo.account.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Registers users in bulk for tenant onboarding.
+ * <p>
+ * Per batch, duplicates are found with one {@code IN} query, passwords are hashed in parallel
+ * on a provisioning pool kept apart from the login hashing pool, and users plus their
+ * {@code user_roles} rows are written with JDBC batch inserts in one transaction. Role names
+ * are resolved from an in-memory map instead of a query per user. A user naming a role that is
+ * not in the table is rejected, so a typo cannot create a role; only the default
+ * {@code ROLE_USER} is created when missing, as {@link AuthService#register} would.
+ */
+@Service
+@Slf4j
+public class UserProvisioningService {
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, email, password, enabled) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) SELECT u.id, ? FROM users u WHERE u.username = ?";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingPool;
+    private final int batchSize;
+
+    private volatile Map<String, Long> roleIds = Map.of();
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   RoleRepository roleRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${app.security.password-hashing.strength:10}") int strength,
+                                   @Value("${app.provisioning.hash-threads:0}") int hashThreads,
+                                   @Value("${app.provisioning.batch-size:1000}") int batchSize) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.batchSize = batchSize;
+
+        int poolSize = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Queue is bounded to one batch; beyond that the submitting thread hashes too, which throttles intake
+        this.hashingPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "provisioning-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public BulkRegisterResponse registerAll(List<RegisterRequest> requests) {
+        log.info("Bulk registering {} users", requests.size());
+
+        List<String> created = new ArrayList<>();
+        List<BulkRegisterResponse.RejectedUser> rejected = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        Map<String, Long> roles = resolveRoles(requests.stream()
+                .flatMap(request -> roleNames(request.getRoles()).stream())
+                .collect(Collectors.toSet()));
+
+        List<Candidate> batch = new ArrayList<>(batchSize);
+        for (RegisterRequest request : requests) {
+            if (!seenUsernames.add(request.getUsername())) {
+                rejected.add(new BulkRegisterResponse.RejectedUser(request.getUsername(), "Duplicate username in request"));
+                continue;
+            }
+            if (!seenEmails.add(request.getEmail())) {
+                rejected.add(new BulkRegisterResponse.RejectedUser(request.getUsername(), "Duplicate email in request"));
+                continue;
+            }
+            Set<String> roleNamesForUser = roleNames(request.getRoles());
+            String unknownRole = roleNamesForUser.stream()
+                    .filter(name -> !roles.containsKey(name))
+                    .findFirst()
+                    .orElse(null);
+            if (unknownRole != null) {
+                rejected.add(new BulkRegisterResponse.RejectedUser(request.getUsername(), "Unknown role: " + unknownRole));
+                continue;
+            }
+            Set<Long> roleIdsForUser = roleNamesForUser.stream()
+                    .map(roles::get)
+                    .collect(Collectors.toSet());
+            batch.add(new Candidate(request, roleIdsForUser));
+            if (batch.size() == batchSize) {
+                insertBatch(batch, created, rejected);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, created, rejected);
+        }
+
+        log.info("Bulk registration finished: {} created, {} rejected", created.size(), rejected.size());
+        return new BulkRegisterResponse(requests.size(), created.size(), created, rejected);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private void insertBatch(List<Candidate> batch, List<String> created,
+                             List<BulkRegisterResponse.RejectedUser> rejected) {
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        userRepository.findIdentities(
+                batch.stream().map(candidate -> candidate.request().getUsername()).toList(),
+                batch.stream().map(candidate -> candidate.request().getEmail()).toList()
+        ).forEach(identity -> {
+            takenUsernames.add(identity.getUsername());
+            takenEmails.add(identity.getEmail());
+        });
+
+        List<Candidate> fresh = new ArrayList<>(batch.size());
+        for (Candidate candidate : batch) {
+            if (takenUsernames.contains(candidate.request().getUsername())) {
+                rejected.add(new BulkRegisterResponse.RejectedUser(candidate.request().getUsername(), "Username already exists"));
+            } else if (takenEmails.contains(candidate.request().getEmail())) {
+                rejected.add(new BulkRegisterResponse.RejectedUser(candidate.request().getUsername(), "Email already exists"));
+            } else {
+                fresh.add(candidate);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hashAll(fresh);
+        List<Object[]> userRows = new ArrayList<>(fresh.size());
+        List<Object[]> roleRows = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            RegisterRequest request = fresh.get(i).request();
+            userRows.add(new Object[]{request.getUsername(), request.getEmail(), hashes.get(i), true});
+            fresh.get(i).roleIds().forEach(roleId -> roleRows.add(new Object[]{roleId, request.getUsername()}));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER, userRows);
+                jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roleRows);
+            });
+            fresh.forEach(candidate -> created.add(candidate.request().getUsername()));
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these names between the check and the insert; the batch rolled back
+            log.warn("Bulk registration batch of {} users conflicted with a concurrent registration", fresh.size());
+            fresh.forEach(candidate -> rejected.add(new BulkRegisterResponse.RejectedUser(
+                    candidate.request().getUsername(), "Conflicting concurrent registration, retry")));
+        }
+    }
+
+    private List<String> hashAll(List<Candidate> candidates) {
+        List<Future<String>> futures = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String password = candidate.request().getPassword();
+            futures.add(hashingPool.submit(() -> passwordEncoder.encode(password)));
+        }
+
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+
+    private static Set<String> roleNames(Set<String> requestedRoles) {
+        if (requestedRoles == null || requestedRoles.isEmpty()) {
+            return Set.of(DEFAULT_ROLE);
+        }
+        return requestedRoles.stream().map(role -> "ROLE_" + role.toUpperCase()).collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the name-to-id map of existing roles. The cached map is reloaded only when it misses
+     * one of the given names; names still missing after that are left out, except the default
+     * role, which is created.
+     */
+    private synchronized Map<String, Long> resolveRoles(Set<String> names) {
+        Map<String, Long> roles = roleIds;
+        if (roles.keySet().containsAll(names)) {
+            return roles;
+        }
+        Map<String, Long> reloaded = new HashMap<>();
+        roleRepository.findAll().forEach(role -> reloaded.put(role.getName(), role.getId()));
+        if (names.contains(DEFAULT_ROLE) && !reloaded.containsKey(DEFAULT_ROLE)) {
+            Role role = new Role();
+            role.setName(DEFAULT_ROLE);
+            reloaded.put(DEFAULT_ROLE, roleRepository.save(role).getId());
+        }
+        roleIds = Map.copyOf(reloaded);
+        return roleIds;
+    }
+
+    private record Candidate(RegisterRequest request, Set<Long> roleIds) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.pismo.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pismo.account.exception.VelocityLimitExceededException;
+import com.pismo.account.repository.TransactionRepository;
+import com.pismo.account.util.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Velocity and spend-limit rules ("at most 10 purchases a minute", "at most 5000 withdrawn a
+ * day") checked on the posting path.
+ * <p>
+ * Each account's recent postings are kept as one {@link SlidingWindowCounter} per rule, so a
+ * check is a few array reads under the account's lock rather than a {@code COUNT}/{@code SUM}
+ * query. The windows live in a bounded cache; an account that is not in it has its windows
+ * rebuilt from its {@code transactions} within the longest rule window, which the
+ * {@code (account_id, event_date, ...)} index serves. Only postings through
+ * {@link TransactionService#createTransaction} are counted as they happen; a rebuild also counts
+ * rows posted other ways (scheduled installments) if a rule covers their operation type. Like
+ * the hold ledger, the counters only see this instance's postings.
+ * <p>
+ * An account's windows can be evicted while one of its postings is still uncommitted. The
+ * rebuild cannot see that posting, and its commit only touches the evicted windows, so the
+ * account is undercounted by it until it leaves the rule windows. This only happens when the
+ * cache is full.
+ */
+@Component
+@EnableConfigurationProperties(VelocityProperties.class)
+@Slf4j
+public class VelocityGuard {
+
+    private final TransactionRepository transactionRepository;
+    private final boolean enabled;
+    private final List<Rule> rules;
+    private final Set<Long> operationTypeIds = new HashSet<>();
+    private final Duration longestWindow;
+    private final Cache<Long, SlidingWindowCounter[]> accounts;
+
+    public VelocityGuard(TransactionRepository transactionRepository,
+                         VelocityProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.enabled = properties.isEnabled();
+        List<VelocityProperties.Rule> configured = properties.getRules();
+        this.rules = IntStream.range(0, configured.size())
+                .mapToObj(i -> toRule(i, configured.get(i), meterRegistry))
+                .toList();
+        rules.forEach(rule -> operationTypeIds.addAll(rule.operationTypeIds()));
+        this.longestWindow = rules.stream().map(Rule::window).max(Duration::compareTo).orElse(Duration.ZERO);
+        // Windows untouched for the longest rule window are empty, so dropping them loses nothing
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxAccounts())
+                .expireAfterAccess(longestWindow.isZero() ? Duration.ofMinutes(1) : longestWindow)
+                .build();
+    }
+
+    /**
+     * Counts a posting of {@code amount} against every rule covering its operation type, unless
+     * that would take any of them over its limit. If the surrounding transaction rolls back the
+     * posting is taken back out of the windows.
+     *
+     * @throws VelocityLimitExceededException if a rule's limit would be exceeded
+     */
+    public void check(Long accountId, Long operationTypeId, BigDecimal amount) {
+        if (!enabled || !operationTypeIds.contains(operationTypeId)) {
+            return;
+        }
+        long cents = toCents(amount);
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter[] windows = windows(accountId);
+        synchronized (windows) {
+            for (Rule rule : rules) {
+                if (!rule.operationTypeIds().contains(operationTypeId)) {
+                    continue;
+                }
+                SlidingWindowCounter window = windows[rule.index()];
+                if ((rule.maxCount() != null && window.count(now) >= rule.maxCount())
+                        || (rule.maxCents() != null && window.sum(now) + cents > rule.maxCents())) {
+                    rule.rejections().increment();
+                    throw new VelocityLimitExceededException(
+                            "Velocity limit " + rule.name() + " exceeded for account ID: " + accountId);
+                }
+            }
+            update(windows, operationTypeId, now, cents, true);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (windows) {
+                            update(windows, operationTypeId, now, cents, false);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private SlidingWindowCounter[] windows(Long accountId) {
+        SlidingWindowCounter[] windows = accounts.getIfPresent(accountId);
+        if (windows != null) {
+            return windows;
+        }
+        // Loaded outside the cache so the query holds none of its locks; if two threads load the
+        // same account, the first windows put are kept
+        SlidingWindowCounter[] loaded = load(accountId);
+        windows = accounts.asMap().putIfAbsent(accountId, loaded);
+        return windows != null ? windows : loaded;
+    }
+
+    private SlidingWindowCounter[] load(Long accountId) {
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter[] windows = rules.stream()
+                .map(rule -> new SlidingWindowCounter(rule.window(), rule.buckets(), now))
+                .toArray(SlidingWindowCounter[]::new);
+        LocalDateTime since = LocalDateTime.now().minus(longestWindow);
+        List<TransactionRepository.RecentPosting> postings =
+                transactionRepository.findRecentPostings(accountId, since, operationTypeIds);
+        for (TransactionRepository.RecentPosting posting : postings) {
+            long at = posting.getEventDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            update(windows, posting.getOperationTypeId(), at, toCents(posting.getAmount()), true);
+        }
+        log.debug("Rebuilt velocity windows for account ID: {} from {} postings", accountId, postings.size());
+        return windows;
+    }
+
+    private void update(SlidingWindowCounter[] windows, Long operationTypeId, long at, long cents, boolean add) {
+        for (Rule rule : rules) {
+            if (rule.operationTypeIds().contains(operationTypeId)) {
+                if (add) {
+                    windows[rule.index()].add(at, cents);
+                } else {
+                    windows[rule.index()].remove(at, cents);
+                }
+            }
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.abs().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static Rule toRule(int index, VelocityProperties.Rule rule, MeterRegistry meterRegistry) {
+        if (rule.getName() == null || rule.getWindow() == null || rule.getOperationTypes().isEmpty()
+                || (rule.getMaxCount() == null && rule.getMaxAmount() == null)) {
+            throw new IllegalArgumentException("Velocity rule " + index
+                    + " needs a name, a window, operation types and a max count or max amount");
+        }
+        Counter rejections = Counter.builder("transactions.velocity.rejected")
+                .description("Postings refused by a velocity or spend-limit rule")
+                .tag("rule", rule.getName())
+                .register(meterRegistry);
+        return new Rule(index, rule.getName(), Set.copyOf(rule.getOperationTypes()), rule.getWindow(),
+                rule.getBuckets(), rule.getMaxCount(),
+                rule.getMaxAmount() == null ? null : toCents(rule.getMaxAmount()), rejections);
+    }
+
+    private record Rule(int index, String name, Set<Long> operationTypeIds, Duration window, int buckets,
+                        Integer maxCount, Long maxCents, Counter rejections) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.pismo.account.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Velocity and spend-limit rules enforced by {@link VelocityGuard}, bound from {@code app.velocity}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.velocity")
+public class VelocityProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on accounts whose windows are kept in memory; least recently used dropped first
+    private long maxAccounts = 100_000;
+
+    // Every rule is checked, so a posting is refused if any rule it matches would be exceeded
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        // Operation types the rule counts; their counts and amounts are pooled
+        private List<Long> operationTypes = new ArrayList<>();
+        private Duration window;
+        // Slices the window slides by; more buckets track the window more closely
+        private int buckets = 10;
+        // Most postings allowed in the window, or null for no count limit
+        private Integer maxCount;
+        // Most total (absolute) amount allowed in the window, or null for no amount limit
+        private BigDecimal maxAmount;
+    }
+}
@@ -0,0 +1,138 @@
+package com.pismo.account.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fixed-memory set of 64-bit fingerprints seen within a sliding time window, each carrying a few
+ * {@code long} values.
+ * <p>
+ * The window is split into {@code generations}; each is an open-addressed hash table of fixed
+ * capacity holding the fingerprints added during its slice of time. When the window moves past a
+ * generation its table is cleared and reused for the newest slice, so entries expire in bulk with
+ * no per-entry timestamps or sweeps, and the memory never grows. A generation that fills up
+ * refuses further entries, which can only miss a fingerprint, never report one that was not
+ * added. The window slides a generation at a time, so an entry is found for between
+ * {@code window - width} and {@code window} after it was added, where
+ * {@code width = window / generations}.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+public class FingerprintWindow {
+
+    private static final long EMPTY = 0;
+
+    private final long generationMillis;
+    private final int mask;
+    private final int maxEntries;
+    private final int valueCount;
+    private final long[][] keys;
+    private final long[][] values;
+    private final int[] sizes;
+
+    // Absolute index (time / generationMillis) of the newest generation
+    private long head;
+
+    public FingerprintWindow(Duration window, int generations, int capacity, int valueCount, long nowMillis) {
+        if (generations < 1 || window.toMillis() < generations || capacity < 2
+                || Integer.bitCount(capacity) != 1 || valueCount < 0) {
+            throw new IllegalArgumentException(
+                    "Fingerprint window needs generations of at least 1ms and a power-of-two capacity");
+        }
+        this.generationMillis = window.toMillis() / generations;
+        this.mask = capacity - 1;
+        // Probe sequences stay short at up to 3/4 full
+        this.maxEntries = capacity - capacity / 4;
+        this.valueCount = valueCount;
+        this.keys = new long[generations][capacity];
+        this.values = new long[generations][capacity * valueCount];
+        this.sizes = new int[generations];
+        this.head = nowMillis / generationMillis;
+    }
+
+    /**
+     * Adds {@code fingerprint} with its values to the current generation, replacing the values of
+     * an earlier add in the same generation.
+     *
+     * @return {@code false} if the current generation is full
+     */
+    public boolean put(long fingerprint, long[] entryValues, long nowMillis) {
+        advance(nowMillis);
+        int generation = generation(head);
+        long key = fingerprint == EMPTY ? 1 : fingerprint;
+        int slot = find(generation, key);
+        if (keys[generation][slot] == EMPTY) {
+            if (sizes[generation] >= maxEntries) {
+                return false;
+            }
+            keys[generation][slot] = key;
+            sizes[generation]++;
+        }
+        System.arraycopy(entryValues, 0, values[generation], slot * valueCount, valueCount);
+        return true;
+    }
+
+    /**
+     * @return the values most recently added with {@code fingerprint} within the window, or
+     * {@code null} if it was not added
+     */
+    public long[] get(long fingerprint, long nowMillis) {
+        advance(nowMillis);
+        long key = fingerprint == EMPTY ? 1 : fingerprint;
+        for (long g = head; g > head - keys.length; g--) {
+            int generation = generation(g);
+            int slot = find(generation, key);
+            if (keys[generation][slot] != EMPTY) {
+                return Arrays.copyOfRange(values[generation], slot * valueCount, (slot + 1) * valueCount);
+            }
+        }
+        return null;
+    }
+
+    public int size(long nowMillis) {
+        advance(nowMillis);
+        int size = 0;
+        for (int s : sizes) {
+            size += s;
+        }
+        return size;
+    }
+
+    // Slot holding key, or the empty slot where it would go; a table is never full, so this ends
+    private int find(int generation, long key) {
+        long[] table = keys[generation];
+        int slot = (int) mix(key) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void advance(long nowMillis) {
+        long current = nowMillis / generationMillis;
+        if (current <= head) {
+            return;
+        }
+        // Clears at most one revolution; anything older is already out of the window
+        for (long g = Math.max(head + 1, current - keys.length + 1); g <= current; g++) {
+            int generation = generation(g);
+            if (sizes[generation] > 0) {
+                Arrays.fill(keys[generation], EMPTY);
+                sizes[generation] = 0;
+            }
+        }
+        head = current;
+    }
+
+    private int generation(long absolute) {
+        return (int) Math.floorMod(absolute, (long) keys.length);
+    }
+
+    // Fingerprints may be poorly distributed in their low bits (e.g. small ids), so spread them
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,92 @@
+package com.pismo.account.util;
+
+import java.time.Duration;
+
+/**
+ * Count and sum of events over a sliding time window, kept in a ring of fixed-width buckets.
+ * <p>
+ * The window is split into {@code buckets} slices; an event is added to the slice its time falls
+ * in, and moving forward clears the slices that fell out of the window, so adding and reading
+ * are O(1) in the number of events and the memory is two small arrays however busy the window
+ * is. The window slides a bucket at a time, so a reading covers between {@code window - width}
+ * and {@code window} of history, where {@code width = window / buckets}.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int[] counts;
+    private final long[] sums;
+
+    // Absolute index (time / bucketMillis) of the newest bucket
+    private long head;
+
+    public SlidingWindowCounter(Duration window, int buckets, long nowMillis) {
+        if (buckets < 1 || window.toMillis() < buckets) {
+            throw new IllegalArgumentException("Sliding window needs at least one bucket of at least 1ms");
+        }
+        this.bucketMillis = window.toMillis() / buckets;
+        this.counts = new int[buckets];
+        this.sums = new long[buckets];
+        this.head = nowMillis / bucketMillis;
+    }
+
+    /**
+     * Records an event at {@code atMillis}. Events older than the window are ignored, so a
+     * counter can be rebuilt by adding past events in any order after moving it to now.
+     */
+    public void add(long atMillis, long value) {
+        update(atMillis, 1, value);
+    }
+
+    /**
+     * Takes back an event recorded by {@link #add}, unless it has left the window since.
+     */
+    public void remove(long atMillis, long value) {
+        update(atMillis, -1, -value);
+    }
+
+    public int count(long nowMillis) {
+        advance(nowMillis);
+        int count = 0;
+        for (int c : counts) {
+            count += c;
+        }
+        return count;
+    }
+
+    public long sum(long nowMillis) {
+        advance(nowMillis);
+        long sum = 0;
+        for (long s : sums) {
+            sum += s;
+        }
+        return sum;
+    }
+
+    private void update(long atMillis, int count, long value) {
+        long bucket = atMillis / bucketMillis;
+        advance(atMillis);
+        if (bucket <= head - counts.length) {
+            return;
+        }
+        int slot = (int) Math.floorMod(bucket, (long) counts.length);
+        counts[slot] += count;
+        sums[slot] += value;
+    }
+
+    private void advance(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        if (bucket <= head) {
+            return;
+        }
+        // Clears at most one revolution; anything older is already out of the window
+        for (long b = Math.max(head + 1, bucket - counts.length + 1); b <= bucket; b++) {
+            int slot = (int) Math.floorMod(b, (long) counts.length);
+            counts[slot] = 0;
+            sums[slot] = 0;
+        }
+        head = bucket;
+    }
+}
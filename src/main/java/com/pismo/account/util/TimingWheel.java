@@ -0,0 +1,186 @@
+package com.pismo.account.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for expiring very large numbers of timeouts.
+ * <p>
+ * Level 0 has one slot per tick; each level above it has slots that span a whole revolution of
+ * the level below. A timeout is linked into the slot of the lowest level that can hold its
+ * deadline, and when a higher-level slot comes round its timeouts are moved down a level, so
+ * scheduling, cancelling and expiring are each O(1) per timeout no matter how many are pending
+ * and no sorted structure or scan is needed. Deadlines beyond the top level's range are parked
+ * in the top level and re-placed as they come round.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Slot<T>[][] levels;
+    private final long maxDelta;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levelCount, long nowMillis) {
+        if (tickMillis < 1 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levelCount < 1
+                || Integer.numberOfTrailingZeros(wheelSize) * levelCount > 62) {
+            throw new IllegalArgumentException(
+                    "Timing wheel needs a positive tick, a power-of-two wheel size and at most 62 bits of range");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.maxDelta = (1L << (bits * levelCount)) - 1;
+        this.levels = new Slot[levelCount][wheelSize];
+        for (Slot<T>[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} to be handed out by the first {@link #advance} at or after
+     * {@code deadlineMillis}.
+     *
+     * @return a handle for {@link #cancel}
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(item, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        place(timeout, 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * @return {@code false} if the timeout already expired or was cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.slot == null) {
+            return false;
+        }
+        timeout.slot.unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, passing every timeout that came due to
+     * {@code expired}.
+     *
+     * @return the number of expired timeouts
+     */
+    public int advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        int count = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Levels whose lower digits all rolled over to zero, cascaded top-down so nothing
+            // is re-placed into a slot that was already cascaded this tick
+            int boundary = 1;
+            while (boundary < levels.length && (currentTick & ((1L << (bits * boundary)) - 1)) == 0) {
+                boundary++;
+            }
+            for (int level = boundary - 1; level >= 1; level--) {
+                Slot<T> slot = levels[level][index(currentTick, level)];
+                for (Timeout<T> timeout = slot.drain(); timeout != null; ) {
+                    Timeout<T> next = timeout.next;
+                    timeout.next = null;
+                    place(timeout, 0);
+                    timeout = next;
+                }
+            }
+
+            for (Timeout<T> timeout = levels[0][index(currentTick, 0)].drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                size--;
+                count++;
+                expired.accept(timeout.item);
+                timeout = next;
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Timeout<T> timeout, long minDelta) {
+        long delta = Math.min(Math.max(timeout.deadlineTick - currentTick, minDelta), maxDelta);
+        long tick = currentTick + delta;
+        int level = 0;
+        while (level < levels.length - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        levels[level][index(tick, level)].link(timeout);
+    }
+
+    private int index(long tick, int level) {
+        return (int) ((tick >>> (bits * level)) & mask);
+    }
+
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+
+    private static final class Slot<T> {
+        private Timeout<T> head;
+
+        void link(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void unlink(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        // Detaches the whole list; the returned timeouts are still chained through next
+        Timeout<T> drain() {
+            Timeout<T> first = head;
+            head = null;
+            for (Timeout<T> timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.slot = null;
+                timeout.prev = null;
+            }
+            return first;
+        }
+    }
+}
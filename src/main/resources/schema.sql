@@ -6,8 +6,24 @@
 CREATE TABLE IF NOT EXISTS accounts (
     account_id BIGSERIAL PRIMARY KEY,
     document_number VARCHAR(14) NOT NULL UNIQUE,
-    balance DECIMAL(19, 2) NOT NULL DEFAULT 1000,
-    available_credit_limit DECIMAL(19, 2) NOT NULL DEFAULT 1000
+    balance DECIMAL(19, 2) NOT NULL DEFAULT -1000,
+    initial_balance DECIMAL(19, 2) NOT NULL DEFAULT -1000,
+    available_credit_limit DECIMAL(19, 2) NOT NULL DEFAULT 1000,
+    balance_slots INTEGER NOT NULL DEFAULT 0
+);
+-- Columns added since the table was first created; CREATE TABLE IF NOT EXISTS leaves existing tables as they are
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS balance_slots INTEGER NOT NULL DEFAULT 0;
+-- Every account was opened at -1000, so the default is also right for rows that predate the column
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS initial_balance DECIMAL(19, 2) NOT NULL DEFAULT -1000;
+ALTER TABLE accounts ALTER COLUMN balance SET DEFAULT -1000;
+
+-- Sub-balances of hot accounts; an account's balance is accounts.balance plus SUM(balance) here
+CREATE TABLE IF NOT EXISTS account_balance_slots (
+    account_id BIGINT NOT NULL,
+    slot INTEGER NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (account_id, slot),
+    CONSTRAINT fk_balance_slot_account FOREIGN KEY (account_id) REFERENCES accounts(account_id)
 );
 
 -- Create transactions table
@@ -20,7 +36,116 @@ CREATE TABLE IF NOT EXISTS transactions (
     CONSTRAINT fk_account FOREIGN KEY (account_id) REFERENCES accounts(account_id)
 );
 
+-- Create users and roles tables
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    role_id BIGINT NOT NULL REFERENCES roles(id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+-- Refresh tokens are stored as SHA-256 hashes of the opaque token
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- Revoked access tokens (by jti), kept until the token would have expired anyway
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Credit authorizations; only AUTHORIZED holds are loaded into memory at startup
+CREATE TABLE IF NOT EXISTS holds (
+    hold_id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    transaction_id BIGINT,
+    CONSTRAINT fk_hold_account FOREIGN KEY (account_id) REFERENCES accounts(account_id),
+    CONSTRAINT fk_hold_transaction FOREIGN KEY (transaction_id) REFERENCES transactions(transaction_id)
+);
+
+-- Installments 2..N of installment purchases, posted by the scheduler when due
+CREATE TABLE IF NOT EXISTS scheduled_postings (
+    scheduled_posting_id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    installment INTEGER NOT NULL,
+    installments INTEGER NOT NULL,
+    due_date DATE NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    purchase_transaction_id BIGINT NOT NULL,
+    transaction_id BIGINT,
+    CONSTRAINT fk_scheduled_posting_account FOREIGN KEY (account_id) REFERENCES accounts(account_id),
+    CONSTRAINT fk_scheduled_posting_purchase FOREIGN KEY (purchase_transaction_id) REFERENCES transactions(transaction_id),
+    CONSTRAINT fk_scheduled_posting_transaction FOREIGN KEY (transaction_id) REFERENCES transactions(transaction_id)
+);
+
+-- Interest and late-fee charges; one per account, type and accrual date
+CREATE TABLE IF NOT EXISTS accrual_charges (
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    accrual_date DATE NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    posted BOOLEAN NOT NULL,
+    PRIMARY KEY (account_id, operation_type_id, accrual_date),
+    CONSTRAINT fk_accrual_charge_account FOREIGN KEY (account_id) REFERENCES accounts(account_id)
+);
+
+-- Balance of an account as of checkpoint_at, from every transaction before it
+CREATE TABLE IF NOT EXISTS balance_checkpoints (
+    account_id BIGINT NOT NULL,
+    checkpoint_at TIMESTAMP NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (account_id, checkpoint_at),
+    CONSTRAINT fk_balance_checkpoint_account FOREIGN KEY (account_id) REFERENCES accounts(account_id)
+);
+
+-- Running spend totals per account and operation type; account_id 0 holds the totals across accounts
+CREATE TABLE IF NOT EXISTS spend_aggregates (
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    PRIMARY KEY (account_id, operation_type_id)
+);
+
 -- Create indexes for better query performance
-CREATE INDEX IF NOT EXISTS idx_transactions_account_id ON transactions(account_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_event_date ON transactions(event_date);
+-- Statements, point-in-time balances and transaction search read each account's transactions by
+-- event_date (search newest first, a backward scan). The included columns let all of them run as
+-- index-only scans; it also serves every lookup by account_id alone
+CREATE INDEX IF NOT EXISTS idx_transactions_account_event_id
+    ON transactions(account_id, event_date, transaction_id) INCLUDE (amount, operation_type_id);
+-- Superseded by idx_transactions_account_event_id
+DROP INDEX IF EXISTS idx_transactions_account_id;
+DROP INDEX IF EXISTS idx_transactions_account_event_date;
 CREATE INDEX IF NOT EXISTS idx_accounts_document_number ON accounts(document_number);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_holds_status ON holds(status);
+-- Only pending rows are claimed, so posted history does not bloat the due-date index
+CREATE INDEX IF NOT EXISTS idx_scheduled_postings_due ON scheduled_postings(due_date, account_id) WHERE status = 'PENDING';
+-- Unposted installments are summed per account when checking available credit
+CREATE INDEX IF NOT EXISTS idx_scheduled_postings_pending_account ON scheduled_postings(account_id) WHERE status = 'PENDING';
@@ -0,0 +1,70 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.AccountRequest;
+import com.pismo.account.service.AccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shared setup for integration tests against the dev profile. Subclasses that add no
+ * configuration of their own run in one cached application context, so they share its database
+ * and each uses its own document number prefix. The properties below are what the subclasses need
+ * between them, chosen so that none changes what another test sees: small batches, so a few rows
+ * span several, holds that expire within a test, a daily interest rate of 0.001 that makes
+ * interest easy to check, and spend counters flushed and the change feed advanced by the tests
+ * only, with no settle lag. Files the application writes go to a directory of their own under
+ * {@code target} for each test run.
+ */
+@SpringBootTest(properties = {
+        "app.import.accounts.chunk-size=7",
+        "app.holds.expiry=2s",
+        "app.holds.tick=200",
+        "app.installments.batch-size=7",
+        "app.reconciliation.chunk-size=3",
+        "app.reconciliation.chunks-per-second=10000",
+        "app.statements.partitions=4",
+        "app.accrual.annual-interest-rate=0.365",
+        "app.accrual.chunk-size=2",
+        "app.balance-checkpoints.chunk-size=2",
+        "app.analytics.flush-interval=3600000",
+        "app.change-feed.settle-lag=0s",
+        "app.change-feed.poll=3600000"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("dev")
+public abstract class AbstractIntegrationTest {
+
+    private static final Path OUTPUT_DIRECTORY = createOutputDirectory();
+    protected static final Path STATEMENT_DIRECTORY = OUTPUT_DIRECTORY.resolve("statements");
+
+    @Autowired
+    protected AccountService accountService;
+
+    @DynamicPropertySource
+    static void outputDirectories(DynamicPropertyRegistry registry) {
+        registry.add("app.reconciliation.directory", OUTPUT_DIRECTORY::toString);
+        registry.add("app.statements.directory", STATEMENT_DIRECTORY::toString);
+    }
+
+    protected Long createAccount(String documentNumber) {
+        return accountService.createAccount(new AccountRequest(documentNumber)).getAccountId();
+    }
+
+    private static Path createOutputDirectory() {
+        try {
+            Path target = Files.createDirectories(Path.of("target"));
+            return Files.createTempDirectory(target, "integration-test-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
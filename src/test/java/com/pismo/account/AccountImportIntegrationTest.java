@@ -0,0 +1,76 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.response.AccountImportResponse;
+import com.pismo.account.dto.response.AccountResponse;
+import com.pismo.account.repository.AccountRepository;
+import com.pismo.account.service.AccountImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountImportIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("Should create new accounts and report duplicates and invalid numbers")
+    void importDocumentNumbers_ReportsOutcomes() {
+        accountImportService.importDocumentNumbers(List.of("70000000001"));
+
+        AccountImportResponse response = accountImportService.importDocumentNumbers(List.of(
+                "70000000001", "70000000002", "70000000003", "70000000002", "123"));
+
+        assertThat(response.getReceived()).isEqualTo(5);
+        assertThat(response.getCreatedAccounts()).extracting(AccountResponse::getDocumentNumber)
+                .containsExactly("70000000002", "70000000003");
+        assertThat(response.getDuplicateDocumentNumbers()).containsExactly("70000000001", "70000000002");
+        assertThat(response.getInvalidDocumentNumbers()).containsExactly("123");
+
+        AccountResponse created = response.getCreatedAccounts().get(0);
+        assertThat(accountRepository.findById(created.getAccountId()).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal(-1000));
+    }
+
+    @Test
+    @DisplayName("Should accept the same document numbers as account creation, formatted or not")
+    void importDocumentNumbers_SameRuleAsCreate() {
+        List<String> formatted = List.of("720.000.000-01", "7200000000\t02", "72000000\\N03", "72000\"000,04");
+
+        AccountImportResponse response = accountImportService.importDocumentNumbers(
+                List.of(formatted.get(0), formatted.get(1), formatted.get(2), formatted.get(3), "7200000005"));
+
+        assertThat(response.getCreatedAccounts()).extracting(AccountResponse::getDocumentNumber)
+                .containsExactlyElementsOf(formatted);
+        assertThat(response.getInvalidDocumentNumbers()).containsExactly("7200000005");
+        formatted.forEach(documentNumber ->
+                assertThat(accountRepository.existsByDocumentNumber(documentNumber)).isTrue());
+    }
+
+    @Test
+    @DisplayName("Should stream a file across several chunks")
+    void importFile_SpansChunks() throws Exception {
+        String file = IntStream.range(0, 20)
+                .mapToObj(i -> String.valueOf(71000000000L + i))
+                .collect(Collectors.joining("\n", "", "\n\n"));
+
+        AccountImportResponse response = accountImportService.importFile(
+                new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getReceived()).isEqualTo(20);
+        assertThat(response.getCreatedAccounts()).hasSize(20);
+        assertThat(accountRepository.existsByDocumentNumber("71000000019")).isTrue();
+    }
+}
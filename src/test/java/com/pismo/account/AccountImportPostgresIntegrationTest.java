@@ -0,0 +1,63 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.response.AccountImportResponse;
+import com.pismo.account.dto.response.AccountResponse;
+import com.pismo.account.service.AccountImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the COPY-based import path against a real PostgreSQL; skipped where Docker is unavailable.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@ActiveProfiles("dev")
+@Testcontainers(disabledWithoutDocker = true)
+class AccountImportPostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Test
+    @DisplayName("Should import through COPY and skip existing accounts with ON CONFLICT")
+    void importDocumentNumbers_CopyPath() {
+        accountImportService.importDocumentNumbers(List.of("80000000001"));
+
+        AccountImportResponse response = accountImportService.importDocumentNumbers(List.of(
+                "80000000001", "80000000002", "80000000002", "80000000003"));
+
+        assertThat(response.getCreatedAccounts()).extracting(AccountResponse::getDocumentNumber)
+                .containsExactly("80000000002", "80000000003");
+        assertThat(response.getDuplicateDocumentNumbers()).containsExactly("80000000001", "80000000002");
+    }
+
+    @Test
+    @DisplayName("Should load document numbers containing COPY syntax as they are")
+    void importDocumentNumbers_QuotesCopySyntax() {
+        List<String> documentNumbers = List.of(
+                "8000000000\t04", "80000000\\N05", "800000\n000006", "800\"000,00007", "800.000.000-08");
+
+        AccountImportResponse response = accountImportService.importDocumentNumbers(documentNumbers);
+
+        assertThat(response.getCreatedAccounts()).extracting(AccountResponse::getDocumentNumber)
+                .containsExactlyInAnyOrderElementsOf(documentNumbers);
+        assertThat(response.getInvalidDocumentNumbers()).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.AccrualResponse;
+import com.pismo.account.service.AccrualService;
+import com.pismo.account.service.BalanceSlotService;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccrualIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccrualService accrualService;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should charge interest and late fees once per accrual date")
+    void accrue_ChargesOncePerDate() {
+        LocalDate today = LocalDate.now();
+        Long revolving = createAccount("79000000001");
+        Long overdue = createAccount("79000000002");
+        Long paid = createAccount("79000000003");
+        Long maxedOut = createAccount("79000000004");
+        Long sharded = createAccount("79000000005");
+        Long clean = createAccount("79000000006");
+        purchase(revolving, "500.00");
+        purchaseOn(overdue, "500.00", today.minusDays(40));
+        purchaseOn(paid, "600.00", today.minusDays(40));
+        transactionService.createTransaction(new TransactionRequest(paid, 4L, new BigDecimal("100.00")));
+        purchase(maxedOut, "999.80");
+        purchase(sharded, "500.00");
+        balanceSlotService.resize(sharded, 4);
+
+        AccrualResponse first = accrualService.accrue(today);
+
+        assertThat(first.getInterestCharges()).isGreaterThanOrEqualTo(5);
+        assertThat(first.getLateFees()).isGreaterThanOrEqualTo(1);
+        assertThat(charges(revolving)).containsExactly(new BigDecimal("-0.50"));
+        assertThat(accountService.getBalance(revolving)).isEqualByComparingTo("-499.50");
+        // 0.50 interest, then the 25.00 fee for 40 days without a payment
+        assertThat(charges(overdue)).containsExactly(new BigDecimal("-0.50"), new BigDecimal("-25.00"));
+        assertThat(accountService.getBalance(overdue)).isEqualByComparingTo("-474.50");
+        assertThat(charges(paid)).containsExactly(new BigDecimal("-0.50"));
+        // 1.00 of interest would leave the balance positive, so only the 0.20 left is charged
+        assertThat(charges(maxedOut)).containsExactly(new BigDecimal("-0.20"));
+        assertThat(accountService.getBalance(maxedOut)).isEqualByComparingTo("0.00");
+        assertThat(accountService.getBalance(sharded)).isEqualByComparingTo("-499.50");
+        assertThat(charges(clean)).isEmpty();
+
+        AccrualResponse rerun = accrualService.accrue(today);
+
+        assertThat(rerun.getInterestCharges()).isZero();
+        assertThat(rerun.getLateFees()).isZero();
+        assertThat(accountService.getBalance(overdue)).isEqualByComparingTo("-474.50");
+
+        // The next day charges interest again but not another late fee within the grace period
+        accrualService.accrue(today.plusDays(1));
+        assertThat(charges(overdue)).hasSize(3);
+    }
+
+    private List<BigDecimal> charges(Long accountId) {
+        return jdbcTemplate.queryForList("SELECT amount FROM transactions WHERE account_id = ? "
+                + "AND operation_type_id IN (7, 8) ORDER BY transaction_id", BigDecimal.class, accountId);
+    }
+
+    private void purchase(Long accountId, String amount) {
+        transactionService.createTransaction(new TransactionRequest(accountId, 1L, new BigDecimal(amount)));
+    }
+
+    private void purchaseOn(Long accountId, String amount, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO transactions (account_id, operation_type_id, amount, event_date) "
+                + "VALUES (?, 1, ?, ?)", accountId, new BigDecimal(amount).negate(), Timestamp.valueOf(date.atStartOfDay()));
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + ? WHERE account_id = ?", new BigDecimal(amount), accountId);
+    }
+}
@@ -0,0 +1,116 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.exception.ResourceNotFoundException;
+import com.pismo.account.service.AccrualService;
+import com.pismo.account.service.BalanceCheckpointService;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BalanceCheckpointIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceCheckpointService checkpointService;
+
+    @Autowired
+    private AccrualService accrualService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should answer point-in-time balances from checkpoints and the transactions since")
+    void getBalanceAt_FromCheckpoints() {
+        LocalDate today = LocalDate.now();
+        Long active = createAccount("80000000001");
+        Long idle = createAccount("80000000002");
+        post(active, "-100.00", today.minusDays(3).atTime(10, 0));
+        post(active, "-200.00", today.minusDays(2).atTime(10, 0));
+        post(active, "50.00", today.minusDays(1).atTime(10, 0));
+        transactionService.createTransaction(new TransactionRequest(active, 4L, new BigDecimal("30.00")));
+
+        // Out of order: each checkpoint is built from the latest one before it, if any
+        checkpointService.checkpoint(today.minusDays(1));
+        checkpointService.checkpoint(today.minusDays(2));
+        checkpointService.checkpoint(today);
+
+        assertThat(checkpoints(active)).isEqualTo(3);
+        assertThat(checkpoints(idle)).isZero();
+        assertThat(checkpointService.checkpoint(today).getCheckpoints()).isZero();
+
+        assertBalance(active, today.minusDays(3).atTime(9, 0), "-1000.00");
+        // Transactions at the requested time are included
+        assertBalance(active, today.minusDays(3).atTime(10, 0), "-900.00");
+        assertBalance(active, today.minusDays(2).atStartOfDay(), "-900.00");
+        assertBalance(active, today.minusDays(2).atTime(12, 0), "-700.00");
+        assertBalance(active, today.minusDays(1).atTime(12, 0), "-750.00");
+        assertBalance(active, LocalDateTime.now(), "-780.00");
+        assertThat(checkpointService.getBalanceAt(active, LocalDateTime.now()).getBalance())
+                .isEqualByComparingTo(accountService.getBalance(active));
+        assertBalance(idle, LocalDateTime.now(), "-1000.00");
+    }
+
+    @Test
+    @DisplayName("Should rewrite checkpoints that an accrual posted behind")
+    void accrual_AfterCheckpoint() {
+        LocalDate today = LocalDate.now();
+        Long accountId = createAccount("80000000003");
+        post(accountId, "-500.00", today.minusDays(2).atTime(10, 0));
+        // The nightly checkpoint runs before the accrual for the day before
+        checkpointService.checkpoint(today);
+
+        accrualService.accrue(today.minusDays(1));
+
+        BigDecimal balance = accountService.getBalance(accountId);
+        assertThat(balance).isGreaterThan(new BigDecimal("-500.00"));
+        assertThat(checkpointService.getBalanceAt(accountId, LocalDateTime.now()).getBalance())
+                .isEqualByComparingTo(balance);
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM balance_checkpoints "
+                + "WHERE account_id = ? AND checkpoint_at = ?", BigDecimal.class, accountId,
+                Timestamp.valueOf(today.atStartOfDay()))).isEqualByComparingTo(balance);
+    }
+
+    @Test
+    @DisplayName("Should refuse future checkpoints and unknown accounts")
+    void checkpoint_Rejected() {
+        assertThatThrownBy(() -> checkpointService.checkpoint(LocalDate.now().plusDays(1)))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> checkpointService.getBalanceAt(Long.MAX_VALUE, LocalDateTime.now()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void assertBalance(Long accountId, LocalDateTime at, String expected) {
+        BigDecimal scanned = jdbcTemplate.queryForObject("SELECT a.initial_balance - COALESCE(SUM(t.amount), 0) "
+                + "FROM accounts a LEFT JOIN transactions t ON t.account_id = a.account_id AND t.event_date <= ? "
+                + "WHERE a.account_id = ? GROUP BY a.initial_balance", BigDecimal.class, Timestamp.valueOf(at), accountId);
+        assertThat(scanned).isEqualByComparingTo(expected);
+        assertThat(checkpointService.getBalanceAt(accountId, at).getBalance()).isEqualByComparingTo(expected);
+    }
+
+    private long checkpoints(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balance_checkpoints WHERE account_id = ?",
+                Long.class, accountId);
+    }
+
+    private void post(Long accountId, String amount, LocalDateTime eventDate) {
+        jdbcTemplate.update("INSERT INTO transactions (account_id, operation_type_id, amount, event_date) "
+                        + "VALUES (?, ?, ?, ?)", accountId, amount.startsWith("-") ? 1 : 4, new BigDecimal(amount),
+                Timestamp.valueOf(eventDate));
+        jdbcTemplate.update("UPDATE accounts SET balance = balance - ? WHERE account_id = ?", new BigDecimal(amount), accountId);
+    }
+}
@@ -0,0 +1,73 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.request.TransferRequest;
+import com.pismo.account.service.BalanceEventPublisher;
+import com.pismo.account.service.TransactionService;
+import com.pismo.account.service.TransferService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class BalanceEventIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BalanceEventPublisher balanceEventPublisher;
+
+    @Test
+    @DisplayName("Should stream the current balance, then the balance after each committed posting")
+    void stream_PushesBalances() throws Exception {
+        Long accountId = createAccount("86000000001");
+        Long otherId = createAccount("86000000002");
+        int before = balanceEventPublisher.size();
+
+        MvcResult stream = mockMvc.perform(get("/accounts/{id}/events", accountId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(balanceEventPublisher.size()).isEqualTo(before + 1);
+        MockHttpServletResponse response = stream.getResponse();
+        awaitContent(response, "\"balance\":-1000");
+
+        transactionService.createTransaction(new TransactionRequest(accountId, 1L, new BigDecimal("30.00")));
+        transactionService.createTransaction(new TransactionRequest(otherId, 1L, new BigDecimal("45.00")));
+        transferService.transfer(new TransferRequest(otherId, accountId, new BigDecimal("5.00")));
+
+        awaitContent(response, "\"operation_type_id\":6,\"amount\":5.00,\"balance\":-975.00");
+        String events = response.getContentAsString();
+        assertThat(events).contains("event:balance")
+                .contains("\"operation_type_id\":1,\"amount\":-30.00,\"balance\":-970.00")
+                .doesNotContain("45.00");
+
+        stream.getRequest().getAsyncContext().complete();
+        assertThat(balanceEventPublisher.size()).isEqualTo(before);
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!response.getContentAsString().contains(expected)) {
+            assertThat(System.currentTimeMillis()).as("waiting for %s in %s", expected, response.getContentAsString())
+                    .isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
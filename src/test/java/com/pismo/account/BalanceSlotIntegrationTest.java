@@ -0,0 +1,82 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.BalanceSlotsResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.service.BalanceSlotService;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Posts far more purchases a minute than the velocity rules allow one account, all identical, so it
+// needs a context of its own
+@TestPropertySource(properties = {"app.velocity.enabled=false", "app.duplicates.enabled=false"})
+class BalanceSlotIntegrationTest extends AbstractIntegrationTest {
+
+    private static final long PURCHASE = 1L;
+    private static final long PAYMENT = 4L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Test
+    @DisplayName("Should keep a sharded account's balance exact under concurrent postings")
+    void concurrentPostings_KeepBalance() throws Exception {
+        Long accountId = createAccount("73000000001");
+        BalanceSlotsResponse sharded = balanceSlotService.resize(accountId, 8);
+        assertThat(sharded.getSlotBalances()).hasSize(8).allMatch(slot -> slot.signum() <= 0);
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("-1000");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> postings = new ArrayList<>();
+            for (int i = 0; i < 160; i++) {
+                long operationType = i % 4 == 0 ? PAYMENT : PURCHASE;
+                postings.add(executor.submit(() -> transactionService.createTransaction(
+                        new TransactionRequest(accountId, operationType, new BigDecimal("10.00")))));
+            }
+            for (Future<?> posting : postings) {
+                posting.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 120 purchases of 10 and 40 payments of 10
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("-200");
+        assertThat(balanceSlotService.getSlots(accountId).getSlotBalances()).allMatch(slot -> slot.signum() <= 0);
+    }
+
+    @Test
+    @DisplayName("Should check the aggregate balance and unshard without losing money")
+    void aggregateCheck_AndUnshard() {
+        Long accountId = createAccount("73000000002");
+        balanceSlotService.resize(accountId, 4);
+
+        // No single slot holds 600, so this needs the aggregate
+        assertThat(accountService.updateAccountBalance(accountId, new BigDecimal("-600"))).isEqualByComparingTo("-400");
+        assertThatThrownBy(() -> accountService.updateAccountBalance(accountId, new BigDecimal("-400.01")))
+                .isInstanceOf(InsufficientBalance.class);
+
+        BalanceSlotsResponse unsharded = balanceSlotService.resize(accountId, 0);
+
+        assertThat(unsharded.getSlotBalances()).isEmpty();
+        assertThat(accountService.findAccountById(accountId).getBalance()).isEqualByComparingTo("-400");
+        assertThat(accountService.updateAccountBalance(accountId, new BigDecimal("-400"))).isEqualByComparingTo("0");
+    }
+}
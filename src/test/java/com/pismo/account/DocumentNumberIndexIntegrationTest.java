@@ -0,0 +1,50 @@
+package com.pismo.account;
+
+import com.pismo.account.domain.entity.Account;
+import com.pismo.account.dto.request.AccountRequest;
+import com.pismo.account.repository.AccountRepository;
+import com.pismo.account.service.DocumentNumberIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentNumberIndexIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private DocumentNumberIndex documentNumberIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should keep a number whose insert commits while the filter is rebuilt")
+    void added_SurvivesRebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            accountService.createAccount(new AccountRequest("88000000001"));
+            // Reads committed rows only, so the new account is not among them
+            documentNumberIndex.rebuild();
+        });
+
+        assertThat(documentNumberIndex.mightExist("88000000001")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should find an account the filter has not seen yet")
+    void getAccountByDocumentNumber_FilterMiss() {
+        documentNumberIndex.rebuild();
+        // As if created by another instance since the last rebuild
+        Account account = new Account();
+        account.setDocumentNumber("88000000002");
+        accountRepository.save(account);
+        assertThat(documentNumberIndex.mightExist("88000000002")).isFalse();
+
+        assertThat(accountService.getAccountByDocumentNumber("88000000002").getAccountId())
+                .isEqualTo(account.getAccountId());
+    }
+}
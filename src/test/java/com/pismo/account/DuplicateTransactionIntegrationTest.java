@@ -0,0 +1,82 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.repository.TransactionRepository;
+import com.pismo.account.service.DuplicateTransactionFilter;
+import com.pismo.account.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DuplicateTransactionIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Should answer a replayed posting with the original result and post it once")
+    void replay_ReturnsOriginal() {
+        Long accountId = createAccount("85000000001");
+        TransactionRequest request = new TransactionRequest(accountId, 1L, new BigDecimal("25.00"));
+
+        TransactionResponse original = transactionService.createTransaction(request);
+        TransactionResponse replay = transactionService.createTransaction(
+                new TransactionRequest(accountId, 1L, new BigDecimal("25.0")));
+
+        assertThat(replay).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(original);
+        assertThat(transactionRepository.findByAccountAccountId(accountId)).hasSize(1);
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("-975.00");
+
+        // Any other operation type or amount is a new posting
+        transactionService.createTransaction(new TransactionRequest(accountId, 3L, new BigDecimal("25.00")));
+        transactionService.createTransaction(new TransactionRequest(accountId, 1L, new BigDecimal("25.01")));
+        assertThat(transactionRepository.findByAccountAccountId(accountId)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should not remember postings that rolled back")
+    void rolledBack_NotRemembered() {
+        Long accountId = createAccount("85000000002");
+        TransactionRequest request = new TransactionRequest(accountId, 1L, new BigDecimal("600.00"));
+        transactionService.createTransaction(new TransactionRequest(accountId, 1L, new BigDecimal("500.00")));
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request)).isInstanceOf(InsufficientBalance.class);
+        transactionService.createTransaction(new TransactionRequest(accountId, 4L, new BigDecimal("200.00")));
+
+        TransactionResponse posted = transactionService.createTransaction(request);
+        assertThat(posted.getBalance()).isEqualByComparingTo("-100.00");
+    }
+
+    @Test
+    @DisplayName("Should find a posting this instance did not see in the table when the DB check is on")
+    void dbCheck_FindsEarlierPosting() {
+        Long accountId = createAccount("85000000003");
+        TransactionResponse original = transactionService.createTransaction(
+                new TransactionRequest(accountId, 3L, new BigDecimal("40.00")));
+
+        // A filter with nothing remembered, as after a restart
+        DuplicateTransactionFilter fresh = new DuplicateTransactionFilter(transactionRepository, accountService,
+                true, Duration.ofSeconds(10), 10, 16, true, new SimpleMeterRegistry());
+
+        assertThat(fresh.findDuplicate(new TransactionRequest(accountId, 3L, new BigDecimal("40.00"))))
+                .hasValueSatisfying(duplicate -> {
+                    assertThat(duplicate.getTransactionId()).isEqualTo(original.getTransactionId());
+                    assertThat(duplicate.getAmount()).isEqualByComparingTo("-40.00");
+                });
+        assertThat(fresh.findDuplicate(new TransactionRequest(accountId, 1L, new BigDecimal("40.00")))).isEmpty();
+    }
+}
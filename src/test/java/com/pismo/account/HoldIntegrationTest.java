@@ -0,0 +1,97 @@
+package com.pismo.account;
+
+import com.pismo.account.domain.enums.HoldStatus;
+import com.pismo.account.dto.request.CaptureRequest;
+import com.pismo.account.dto.request.HoldRequest;
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.HoldResponse;
+import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.exception.InvalidStateException;
+import com.pismo.account.service.HoldService;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HoldIntegrationTest extends AbstractIntegrationTest {
+
+    private static final long PURCHASE = 1L;
+    private static final long PAYMENT = 4L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Test
+    @DisplayName("Should reserve credit on authorization and post it on capture")
+    void authorizeAndCapture() {
+        Long accountId = createAccount("74000000001");
+
+        HoldResponse hold = holdService.authorize(new HoldRequest(accountId, PURCHASE, new BigDecimal("600.00")));
+        assertThat(hold.getStatus()).isEqualTo(HoldStatus.AUTHORIZED);
+        assertThat(hold.getAvailableCredit()).isEqualByComparingTo("400");
+
+        assertThatThrownBy(() -> holdService.authorize(new HoldRequest(accountId, PURCHASE, new BigDecimal("500.00"))))
+                .isInstanceOf(InsufficientBalance.class);
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                new TransactionRequest(accountId, PURCHASE, new BigDecimal("500.00"))))
+                .isInstanceOf(InsufficientBalance.class);
+        assertThatThrownBy(() -> holdService.capture(hold.getHoldId(), new CaptureRequest(new BigDecimal("600.01"))))
+                .isInstanceOf(InvalidOperationException.class);
+
+        TransactionResponse transaction = holdService.capture(hold.getHoldId(), new CaptureRequest(new BigDecimal("450.00")));
+
+        assertThat(transaction.getAmount()).isEqualByComparingTo("-450");
+        assertThat(transaction.getBalance()).isEqualByComparingTo("-550");
+        HoldResponse captured = holdService.getHold(hold.getHoldId());
+        assertThat(captured.getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(captured.getTransactionId()).isEqualTo(transaction.getTransactionId());
+        assertThat(captured.getAvailableCredit()).isEqualByComparingTo("550");
+        assertThatThrownBy(() -> holdService.capture(hold.getHoldId(), null))
+                .isInstanceOf(InvalidStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should give the credit back on release and refuse non-debit authorizations")
+    void release() {
+        Long accountId = createAccount("74000000002");
+        HoldResponse hold = holdService.authorize(new HoldRequest(accountId, PURCHASE, new BigDecimal("1000.00")));
+        assertThat(hold.getAvailableCredit()).isEqualByComparingTo("0");
+
+        HoldResponse released = holdService.release(hold.getHoldId());
+
+        assertThat(released.getStatus()).isEqualTo(HoldStatus.RELEASED);
+        assertThat(released.getAvailableCredit()).isEqualByComparingTo("1000");
+        assertThat(holdService.getHold(hold.getHoldId()).getAvailableCredit()).isEqualByComparingTo("1000");
+        assertThatThrownBy(() -> holdService.release(hold.getHoldId())).isInstanceOf(InvalidStateException.class);
+        assertThatThrownBy(() -> holdService.authorize(new HoldRequest(accountId, PAYMENT, BigDecimal.TEN)))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should expire holds that are neither captured nor released")
+    void expire() throws InterruptedException {
+        Long accountId = createAccount("74000000003");
+        HoldResponse hold = holdService.authorize(new HoldRequest(accountId, PURCHASE, new BigDecimal("300.00")));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (holdService.getHold(hold.getHoldId()).getStatus() == HoldStatus.AUTHORIZED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        HoldResponse expired = holdService.getHold(hold.getHoldId());
+        assertThat(expired.getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(expired.getAvailableCredit()).isEqualByComparingTo("1000");
+        assertThatThrownBy(() -> holdService.capture(hold.getHoldId(), null)).isInstanceOf(InvalidStateException.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.pismo.account;
+
+import com.pismo.account.domain.entity.Transaction;
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.repository.TransactionRepository;
+import com.pismo.account.service.BalanceSlotService;
+import com.pismo.account.service.InstallmentService;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstallmentIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private InstallmentService installmentService;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should post each installment on its due date")
+    void installmentPurchase_PostsWhenDue() {
+        Long accountId = createAccount("76000000001");
+
+        TransactionResponse first = transactionService.createTransaction(
+                new TransactionRequest(accountId, 2L, new BigDecimal("100.00"), 3));
+        assertThat(first.getAmount()).isEqualByComparingTo("-33.34");
+        assertThat(first.getBalance()).isEqualByComparingTo("-966.66");
+
+        installmentService.postDue(LocalDate.now().plusMonths(1));
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("-933.33");
+
+        installmentService.postDue(LocalDate.now().plusMonths(2));
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("-900.00");
+        assertThat(transactionRepository.findByAccountAccountId(accountId)).extracting(Transaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyInAnyOrder(new BigDecimal("-33.34"), new BigDecimal("-33.33"), new BigDecimal("-33.33"));
+        assertThat(statuses(first.getTransactionId())).containsExactly("POSTED", "POSTED");
+    }
+
+    @Test
+    @DisplayName("Should post due installments across partitions and batches, including sharded accounts")
+    void postDue_ManyAccounts() {
+        List<Long> accountIds = new ArrayList<>();
+        List<Long> purchases = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Long accountId = createAccount(String.format("760000001%02d", i));
+            accountIds.add(accountId);
+            purchases.add(transactionService.createTransaction(
+                    new TransactionRequest(accountId, 2L, new BigDecimal("60.00"), 4)).getTransactionId());
+        }
+        balanceSlotService.resize(accountIds.get(3), 4);
+
+        installmentService.postDue(LocalDate.now().plusMonths(3));
+
+        for (int i = 0; i < accountIds.size(); i++) {
+            assertThat(accountService.getBalance(accountIds.get(i))).isEqualByComparingTo("-940.00");
+            assertThat(statuses(purchases.get(i))).containsOnly("POSTED").hasSize(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count unposted installments against available credit")
+    void installmentPurchase_ReservesUnpostedInstallments() {
+        Long accountId = createAccount("76000000002");
+        Long purchase = transactionService.createTransaction(
+                new TransactionRequest(accountId, 2L, new BigDecimal("200.00"), 2)).getTransactionId();
+
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                new TransactionRequest(accountId, 3L, new BigDecimal("850.00"))))
+                .isInstanceOf(InsufficientBalance.class);
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                new TransactionRequest(accountId, 2L, new BigDecimal("900.00"), 3)))
+                .isInstanceOf(InsufficientBalance.class);
+        transactionService.createTransaction(new TransactionRequest(accountId, 3L, new BigDecimal("800.00")));
+        assertThat(scheduledDebt(accountId)).isEqualByComparingTo("100.00");
+
+        installmentService.postDue(LocalDate.now().plusMonths(1));
+
+        assertThat(statuses(purchase)).containsExactly("POSTED");
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("0.00");
+        assertThat(scheduledDebt(accountId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail an installment the balance cannot cover and keep posting the others")
+    void postDue_InsufficientBalance() {
+        Long accountId = createAccount("76000000003");
+        Long purchase = transactionService.createTransaction(
+                new TransactionRequest(accountId, 2L, new BigDecimal("200.00"), 2)).getTransactionId();
+        // Credit taken outside the posting paths, e.g. a manual adjustment
+        jdbcTemplate.update("UPDATE accounts SET balance = -50 WHERE account_id = ?", accountId);
+
+        installmentService.postDue(LocalDate.now().plusMonths(1));
+
+        assertThat(statuses(purchase)).containsExactly("FAILED");
+        assertThat(accountService.getBalance(accountId)).isEqualByComparingTo("-50.00");
+    }
+
+    private BigDecimal scheduledDebt(Long accountId) {
+        return transactionTemplate.execute(status -> installmentService.scheduledDebt(accountId));
+    }
+
+    private List<String> statuses(Long purchaseTransactionId) {
+        return jdbcTemplate.queryForList("SELECT status FROM scheduled_postings WHERE purchase_transaction_id = ? "
+                + "ORDER BY installment", String.class, purchaseTransactionId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.request.TransferRequest;
+import com.pismo.account.dto.response.ReconciliationResponse;
+import com.pismo.account.service.BalanceSlotService;
+import com.pismo.account.service.ReconciliationService;
+import com.pismo.account.service.TransactionService;
+import com.pismo.account.service.TransferService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconciliationIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should report only the accounts whose balance does not match their transactions")
+    void reconcile_ReportsMismatches() throws Exception {
+        Long purchaser = createAccount("77000000001");
+        Long sharded = createAccount("77000000002");
+        Long corrupted = createAccount("77000000003");
+        transactionService.createTransaction(new TransactionRequest(purchaser, 1L, new BigDecimal("120.50")));
+        transactionService.createTransaction(new TransactionRequest(purchaser, 4L, new BigDecimal("20.00")));
+        balanceSlotService.resize(sharded, 4);
+        transferService.transfer(new TransferRequest(purchaser, sharded, new BigDecimal("30.00")));
+        transactionService.createTransaction(new TransactionRequest(corrupted, 3L, new BigDecimal("10.00")));
+        // A lost update: the balance moved without a transaction
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 5 WHERE account_id = ?", corrupted);
+
+        ReconciliationResponse response = reconciliationService.reconcile();
+
+        assertThat(response.getAccounts()).isGreaterThanOrEqualTo(3);
+        assertThat(response.getMismatches()).isGreaterThanOrEqualTo(1);
+        List<String> report = Files.readAllLines(Path.of(response.getReportFile()));
+        assertThat(report.get(0)).startsWith("account_id,");
+        assertThat(report).contains(corrupted + ",-1000.00,-10.00,-990.00,-985.00,5.00");
+        assertThat(report).noneMatch(line -> line.startsWith(purchaser + ",") || line.startsWith(sharded + ","));
+    }
+}
@@ -0,0 +1,54 @@
+package com.pismo.account;
+
+import com.pismo.account.domain.entity.User;
+import com.pismo.account.exception.InvalidTokenException;
+import com.pismo.account.repository.UserRepository;
+import com.pismo.account.service.RefreshTokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should accept a refresh token once and reject it afterwards")
+    void consume_OnlyOnce() {
+        String token = refreshTokenService.create(createUser("refreshonce"));
+
+        User owner = refreshTokenService.consume(token);
+
+        assertThat(owner.getUsername()).isEqualTo("refreshonce");
+        assertThatThrownBy(() -> refreshTokenService.consume(token))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token revoked on logout")
+    void consume_AfterRevoke() {
+        String token = refreshTokenService.create(createUser("refreshrevoked"));
+
+        refreshTokenService.revoke(token);
+
+        assertThatThrownBy(() -> refreshTokenService.consume(token))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> refreshTokenService.consume("unknown"))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    private Long createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("unused");
+        return userRepository.save(user).getId();
+    }
+}
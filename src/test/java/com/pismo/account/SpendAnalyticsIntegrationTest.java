@@ -0,0 +1,80 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.request.TransferRequest;
+import com.pismo.account.dto.response.OperationTypeSpendResponse;
+import com.pismo.account.dto.response.SpendAnalyticsResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.service.SpendAnalytics;
+import com.pismo.account.service.TransactionService;
+import com.pismo.account.service.TransferService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// On its own database: other cached contexts flush their counters into the shared one, under
+// account ids this context's fresh schema reuses
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:spend_analytics")
+class SpendAnalyticsIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private SpendAnalytics spendAnalytics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should count committed postings per account and overall, before and after a flush")
+    void postings_UpdateCounters() {
+        Long spender = createAccount("83000000001");
+        Long receiver = createAccount("83000000002");
+        SpendAnalyticsResponse before = spendAnalytics.getTotals();
+
+        transactionService.createTransaction(new TransactionRequest(spender, 1L, new BigDecimal("100.00")));
+        transactionService.createTransaction(new TransactionRequest(spender, 4L, new BigDecimal("40.00")));
+        transferService.transfer(new TransferRequest(spender, receiver, new BigDecimal("10.00")));
+        // Rolled back, so never counted
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                new TransactionRequest(spender, 1L, new BigDecimal("5000.00"))))
+                .isInstanceOf(InsufficientBalance.class);
+
+        assertSpenderTotals(spendAnalytics.getAccountTotals(spender));
+        assertThat(spendAnalytics.getAccountTotals(receiver).getCreditExposure()).isEqualByComparingTo("-10.00");
+        SpendAnalyticsResponse after = spendAnalytics.getTotals();
+        assertThat(after.getTransactions() - before.getTransactions()).isEqualTo(4);
+        assertThat(after.getCreditExposure().subtract(before.getCreditExposure())).isEqualByComparingTo("60.00");
+
+        spendAnalytics.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(transaction_count) FROM spend_aggregates "
+                + "WHERE account_id = ?", Long.class, spender)).isEqualTo(3);
+        // Now read back from the table instead of the pending deltas, and not counted twice
+        assertSpenderTotals(spendAnalytics.getAccountTotals(spender));
+    }
+
+    private void assertSpenderTotals(SpendAnalyticsResponse totals) {
+        assertThat(totals.getTransactions()).isEqualTo(3);
+        assertThat(totals.getByOperationType())
+                .extracting(OperationTypeSpendResponse::getOperationTypeId, OperationTypeSpendResponse::getAmount)
+                .containsExactly(
+                        tuple(1L, new BigDecimal("-100.00")),
+                        tuple(4L, new BigDecimal("40.00")),
+                        tuple(5L, new BigDecimal("-10.00")));
+        // Matches the debt the balance shows
+        assertThat(totals.getCreditExposure()).isEqualByComparingTo("70.00");
+    }
+}
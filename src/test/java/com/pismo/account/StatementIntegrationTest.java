@@ -0,0 +1,102 @@
+package com.pismo.account;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.StatementRunResponse;
+import com.pismo.account.service.StatementService;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementIntegrationTest extends AbstractIntegrationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should write opening balance, transactions and closing balance, and resume only unfinished partitions")
+    void generate_WritesAndResumes() throws IOException {
+        YearMonth month = YearMonth.now();
+        Long active = createAccount("78000000001");
+        Long idle = createAccount("78000000002");
+        // Last month's purchase only counts towards the opening balance
+        jdbcTemplate.update("INSERT INTO transactions (account_id, operation_type_id, amount, event_date) "
+                + "VALUES (?, 1, -100.00, ?)", active, Timestamp.valueOf(month.minusMonths(1).atDay(15).atStartOfDay()));
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 100.00 WHERE account_id = ?", active);
+        transactionService.createTransaction(new TransactionRequest(active, 1L, new BigDecimal("50.00")));
+        transactionService.createTransaction(new TransactionRequest(active, 4L, new BigDecimal("20.00")));
+
+        StatementRunResponse first = statementService.generate(month);
+
+        assertThat(first.getPartitionsSkipped()).isZero();
+        Map<Long, JsonNode> statements = readStatements(month);
+        assertThat(first.getStatements()).isEqualTo(statements.size());
+        JsonNode statement = statements.get(active);
+        assertThat(statement.get("opening_balance").decimalValue()).isEqualByComparingTo("-900.00");
+        assertThat(statement.get("transactions")).hasSize(2);
+        assertThat(statement.get("transactions").get(0).get("amount").decimalValue()).isEqualByComparingTo("-50.00");
+        assertThat(statement.get("closing_balance").decimalValue())
+                .isEqualByComparingTo(accountService.getBalance(active));
+        assertThat(statements.get(idle).get("transactions")).isEmpty();
+        assertThat(statements.get(idle).get("closing_balance").decimalValue()).isEqualByComparingTo("-1000.00");
+
+        // A crash leaves one partition unfinished: its final file missing and a partial temporary file
+        Path lost = partitionFiles(month).get(0);
+        Files.move(lost, lost.resolveSibling(lost.getFileName() + ".tmp"));
+
+        StatementRunResponse resumed = statementService.generate(month);
+
+        assertThat(resumed.getPartitions()).isEqualTo(first.getPartitions());
+        assertThat(resumed.getPartitionsSkipped()).isEqualTo(first.getPartitions() - 1);
+        assertThat(readStatements(month)).hasSameSizeAs(statements);
+    }
+
+    private List<Path> partitionFiles(YearMonth month) throws IOException {
+        try (Stream<Path> files = Files.list(STATEMENT_DIRECTORY.resolve(month.toString()))) {
+            return files.filter(file -> file.toString().endsWith(".ndjson.gz")).sorted().toList();
+        }
+    }
+
+    private Map<Long, JsonNode> readStatements(YearMonth month) throws IOException {
+        Map<Long, JsonNode> statements = new HashMap<>();
+        for (Path file : partitionFiles(month)) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode statement = objectMapper.readTree(line);
+                    statements.put(statement.get("account_id").asLong(), statement);
+                }
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,92 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.service.TransactionChangeFeed;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionChangeFeedIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionChangeFeed changeFeed;
+
+    @Test
+    @DisplayName("Should page through new transactions in id order with the next cursor")
+    void changes_PagesInIdOrder() throws Exception {
+        Long accountId = createAccount("87000000001");
+        changeFeed.advance();
+        long start = changeFeed.getHorizon();
+        Long first = post(accountId, "10.00").getTransactionId();
+        Long second = post(accountId, "20.00").getTransactionId();
+        Long third = post(accountId, "30.00").getTransactionId();
+
+        // Not served until the horizon moves past them
+        assertThat(changeFeed.changes(start, 10).hasResult()).isFalse();
+        changeFeed.advance();
+
+        ResponseEntity<StreamingResponseBody> page = result(changeFeed.changes(start, 2));
+        assertThat(page.getHeaders().getFirst(TransactionChangeFeed.NEXT_CURSOR_HEADER)).isEqualTo(second.toString());
+        List<String> lines = lines(page);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"transaction_id\":" + first, "\"amount\":-10.00");
+        assertThat(lines.get(1)).contains("\"transaction_id\":" + second);
+
+        page = result(changeFeed.changes(second, 10));
+        assertThat(page.getHeaders().getFirst(TransactionChangeFeed.NEXT_CURSOR_HEADER)).isEqualTo(third.toString());
+        assertThat(lines(page)).singleElement().asString().contains("\"transaction_id\":" + third);
+    }
+
+    @Test
+    @DisplayName("Should answer a waiting consumer once a new transaction settles")
+    void changes_LongPolls() throws Exception {
+        Long accountId = createAccount("87000000002");
+        changeFeed.advance();
+        DeferredResult<ResponseEntity<StreamingResponseBody>> waiting =
+                changeFeed.changes(changeFeed.getHorizon(), 10);
+        assertThat(waiting.hasResult()).isFalse();
+
+        Long posted = post(accountId, "15.00").getTransactionId();
+        changeFeed.advance();
+
+        // Answered off the sampling thread
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!waiting.hasResult()) {
+            assertThat(System.currentTimeMillis()).as("waiting for the consumer to be answered").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(lines(result(waiting))).anySatisfy(line -> assertThat(line).contains("\"transaction_id\":" + posted));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<StreamingResponseBody> result(
+            DeferredResult<ResponseEntity<StreamingResponseBody>> deferred) {
+        assertThat(deferred.hasResult()).isTrue();
+        return (ResponseEntity<StreamingResponseBody>) deferred.getResult();
+    }
+
+    private static List<String> lines(ResponseEntity<StreamingResponseBody> page) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        page.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private TransactionResponse post(Long accountId, String amount) {
+        return transactionService.createTransaction(new TransactionRequest(accountId, 1L, new BigDecimal(amount)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionSearchRequest;
+import com.pismo.account.dto.response.TransactionItemResponse;
+import com.pismo.account.dto.response.TransactionSearchResponse;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionSearchIntegrationTest extends AbstractIntegrationTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should page through matching transactions newest first with a keyset cursor")
+    void search_PagesByCursor() {
+        Long accountId = createAccount("81000000001");
+        Long other = createAccount("81000000002");
+        // Two transactions share each timestamp, so pages must also be keyed on the id
+        for (int i = 0; i < 10; i++) {
+            post(accountId, 1L, "-" + (10 + i) + ".00", DAY.plusHours(i / 2));
+        }
+        post(other, 1L, "-10.00", DAY);
+
+        List<TransactionItemResponse> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionSearchResponse page = transactionService.search(byAccount(accountId), cursor, 3);
+            seen.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(seen).hasSize(10);
+        assertThat(seen).extracting(TransactionItemResponse::getAccountId).containsOnly(accountId);
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionItemResponse previous = seen.get(i - 1);
+            TransactionItemResponse current = seen.get(i);
+            assertThat(previous.getEventDate()).isAfterOrEqualTo(current.getEventDate());
+            if (previous.getEventDate().equals(current.getEventDate())) {
+                assertThat(previous.getTransactionId()).isGreaterThan(current.getTransactionId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should combine operation type, date range and amount range filters")
+    void search_CombinesFilters() {
+        Long accountId = createAccount("81000000003");
+        post(accountId, 1L, "-50.00", DAY);
+        post(accountId, 1L, "-150.00", DAY.plusDays(1));
+        post(accountId, 3L, "-150.00", DAY.plusDays(1));
+        post(accountId, 1L, "-250.00", DAY.plusDays(2));
+        post(accountId, 4L, "100.00", DAY.plusDays(3));
+
+        TransactionSearchResponse response = transactionService.search(new TransactionSearchRequest(accountId, 1L,
+                DAY.plusDays(1), DAY.plusDays(3), new BigDecimal("-200.00"), new BigDecimal("-100.00")), null, 50);
+
+        assertThat(response.getTransactions()).extracting(TransactionItemResponse::getAmount)
+                .containsExactly(new BigDecimal("-150.00"));
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits, ranges and cursors")
+    void search_InvalidArguments() {
+        TransactionSearchRequest any = new TransactionSearchRequest();
+
+        assertThatThrownBy(() -> transactionService.search(any, null, 0))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> transactionService.search(any, null, TransactionService.MAX_SEARCH_LIMIT + 1))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> transactionService.search(
+                new TransactionSearchRequest(null, null, DAY, DAY, null, null), null, 10))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> transactionService.search(any, "not-a-cursor", 10))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private TransactionSearchRequest byAccount(Long accountId) {
+        return new TransactionSearchRequest(accountId, null, null, null, null, null);
+    }
+
+    private void post(Long accountId, Long operationTypeId, String amount, LocalDateTime eventDate) {
+        jdbcTemplate.update("INSERT INTO transactions (account_id, operation_type_id, amount, event_date) "
+                + "VALUES (?, ?, ?, ?)", accountId, operationTypeId, new BigDecimal(amount), Timestamp.valueOf(eventDate));
+    }
+}
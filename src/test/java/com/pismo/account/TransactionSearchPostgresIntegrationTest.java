@@ -0,0 +1,109 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionSearchRequest;
+import com.pismo.account.service.TransactionService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the transaction search plan against schema.sql on a real PostgreSQL: the account
+ * search must be an index-only scan of the covering index. The plan is taken for the SQL
+ * Hibernate generates, captured by a statement inspector, with PostgreSQL 16's
+ * {@code EXPLAIN (GENERIC_PLAN)} so the parameters need no values. Skipped where Docker is
+ * unavailable.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.pismo.account.TransactionSearchPostgresIntegrationTest$CapturingInspector",
+        // The production schema rather than Hibernate's, which cannot declare INCLUDE columns
+        "spring.sql.init.mode=always",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@ActiveProfiles("dev")
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionSearchPostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should search an account's transactions with an index-only scan of the covering index")
+    void search_IndexOnlyScan() {
+        jdbcTemplate.update("INSERT INTO accounts (document_number) "
+                + "SELECT '82' || LPAD(n::text, 9, '0') FROM generate_series(1, 100) n");
+        jdbcTemplate.update("INSERT INTO transactions (account_id, operation_type_id, amount, event_date) "
+                + "SELECT a.account_id, 1, -(n % 500), TIMESTAMP '2026-01-01' + n * INTERVAL '1 minute' "
+                + "FROM accounts a CROSS JOIN generate_series(1, 1000) n");
+        // Index-only scans need the visibility map set, and the planner current statistics
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+        Long accountId = jdbcTemplate.queryForObject("SELECT MIN(account_id) FROM accounts", Long.class);
+
+        // An account, date range and amount range search, on a page after the first
+        TransactionSearchRequest request = new TransactionSearchRequest(accountId, null,
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 2, 0, 0),
+                new BigDecimal("-400"), new BigDecimal("-100"));
+        String cursor = transactionService.search(request, null, 50).getNextCursor();
+        CapturingInspector.STATEMENTS.clear();
+        assertThat(transactionService.search(request, cursor, 50).getTransactions()).hasSize(50);
+
+        String search = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains("from transactions"))
+                .reduce((first, last) -> last)
+                .orElseThrow();
+        String plan = String.join("\n",
+                jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(search), String.class));
+
+        assertThat(plan).contains("Index Only Scan Backward using idx_transactions_account_event_id");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    // JDBC ? placeholders to the $n ones EXPLAIN expects
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
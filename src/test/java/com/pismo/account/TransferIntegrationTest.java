@@ -0,0 +1,117 @@
+package com.pismo.account;
+
+import com.pismo.account.domain.entity.Transaction;
+import com.pismo.account.dto.request.TransferRequest;
+import com.pismo.account.dto.response.TransferResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.InvalidOperationException;
+import com.pismo.account.repository.TransactionRepository;
+import com.pismo.account.service.BalanceSlotService;
+import com.pismo.account.service.TransferService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferIntegrationTest.class);
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Should post both legs of a transfer or neither")
+    void transfer_PostsBothLegs() {
+        Long source = createAccount("75000000001");
+        Long destination = createAccount("75000000002");
+
+        TransferResponse response = transferService.transfer(new TransferRequest(source, destination, new BigDecimal("250.00")));
+
+        assertThat(response.getSourceBalance()).isEqualByComparingTo("-750");
+        assertThat(response.getDestinationBalance()).isEqualByComparingTo("-1250");
+        assertThat(transactionRepository.findByAccountAccountId(source)).extracting(Transaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo).containsExactly(new BigDecimal("-250"));
+        assertThat(transactionRepository.findByAccountAccountId(destination)).extracting(Transaction::getOperationTypeId)
+                .containsExactly(6L);
+
+        assertThatThrownBy(() -> transferService.transfer(new TransferRequest(source, destination, new BigDecimal("750.01"))))
+                .isInstanceOf(InsufficientBalance.class);
+        assertThat(accountService.getBalance(destination)).isEqualByComparingTo("-1250");
+        assertThat(transactionRepository.findByAccountAccountId(destination)).hasSize(1);
+        assertThatThrownBy(() -> transferService.transfer(new TransferRequest(source, source, BigDecimal.ONE)))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should move funds into and out of a sharded account")
+    void transfer_ShardedAccount() {
+        Long source = createAccount("75000000003");
+        Long destination = createAccount("75000000004");
+        balanceSlotService.resize(destination, 4);
+
+        transferService.transfer(new TransferRequest(source, destination, new BigDecimal("100.00")));
+        TransferResponse back = transferService.transfer(new TransferRequest(destination, source, new BigDecimal("40.00")));
+
+        assertThat(back.getSourceBalance()).isEqualByComparingTo("-1060");
+        assertThat(back.getDestinationBalance()).isEqualByComparingTo("-940");
+    }
+
+    @Test
+    @DisplayName("Should not deadlock or lose funds under concurrent transfers in both directions")
+    void concurrentTransfers_NoDeadlock() throws Exception {
+        List<Long> accounts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            accounts.add(createAccount("7500000010" + i));
+        }
+        int threads = 16;
+        int transfers = 1_600;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < transfers; i++) {
+                results.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int from = random.nextInt(accounts.size());
+                    int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+                    transferService.transfer(new TransferRequest(accounts.get(from), accounts.get(to), BigDecimal.ONE));
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("{} transfers on {} threads in {} s ({} transfers/s)", transfers, threads,
+                String.format("%.2f", seconds), String.format("%.0f", transfers / seconds));
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long account : accounts) {
+            total = total.add(accountService.getBalance(account));
+        }
+        assertThat(total).isEqualByComparingTo("-6000");
+    }
+}
@@ -0,0 +1,103 @@
+package com.pismo.account;
+
+import com.pismo.account.domain.entity.Role;
+import com.pismo.account.domain.entity.User;
+import com.pismo.account.dto.request.RegisterRequest;
+import com.pismo.account.dto.response.BulkRegisterResponse;
+import com.pismo.account.repository.RoleRepository;
+import com.pismo.account.repository.UserRepository;
+import com.pismo.account.service.UserProvisioningService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class UserProvisioningIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Should register users in bulk with hashed passwords and roles")
+    void registerAll_CreatesUsersWithRoles() {
+        createRole("ROLE_ADMIN");
+        List<RegisterRequest> requests = IntStream.range(0, 25)
+                .mapToObj(i -> new RegisterRequest("bulkuser" + i, "bulkuser" + i + "@test.com", "password123",
+                        i == 0 ? Set.of("USER", "ADMIN") : null))
+                .toList();
+
+        BulkRegisterResponse response = userProvisioningService.registerAll(requests);
+
+        assertThat(response.getCreated()).isEqualTo(25);
+        assertThat(response.getRejected()).isEmpty();
+
+        User first = userRepository.findByUsername("bulkuser0").orElseThrow();
+        assertThat(first.getRoles().stream().map(Role::getName).collect(Collectors.toSet()))
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(passwordEncoder.matches("password123", first.getPassword())).isTrue();
+
+        User other = userRepository.findByUsername("bulkuser7").orElseThrow();
+        assertThat(other.getRoles()).extracting(Role::getName).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should skip users that already exist or repeat within the request")
+    void registerAll_RejectsDuplicates() {
+        userProvisioningService.registerAll(List.of(
+                new RegisterRequest("dupuser", "dupuser@test.com", "password123", null)));
+
+        BulkRegisterResponse response = userProvisioningService.registerAll(List.of(
+                new RegisterRequest("dupuser", "other@test.com", "password123", null),
+                new RegisterRequest("fresh", "dupuser@test.com", "password123", null),
+                new RegisterRequest("fresh2", "fresh2@test.com", "password123", null),
+                new RegisterRequest("fresh2", "fresh3@test.com", "password123", null)
+        ));
+
+        assertThat(response.getRequested()).isEqualTo(4);
+        assertThat(response.getCreatedUsernames()).containsExactly("fresh2");
+        assertThat(response.getRejected())
+                .extracting(BulkRegisterResponse.RejectedUser::getReason)
+                .containsExactlyInAnyOrder("Username already exists", "Email already exists",
+                        "Duplicate username in request");
+    }
+
+    @Test
+    @DisplayName("Should reject users that name a role that does not exist, without creating it")
+    void registerAll_RejectsUnknownRoles() {
+        BulkRegisterResponse response = userProvisioningService.registerAll(List.of(
+                new RegisterRequest("typorole", "typorole@test.com", "password123", Set.of("USER", "AMDIN")),
+                new RegisterRequest("plainrole", "plainrole@test.com", "password123", null)
+        ));
+
+        assertThat(response.getCreatedUsernames()).containsExactly("plainrole");
+        assertThat(response.getRejected())
+                .extracting(BulkRegisterResponse.RejectedUser::getUsername, BulkRegisterResponse.RejectedUser::getReason)
+                .containsExactly(tuple("typorole", "Unknown role: ROLE_AMDIN"));
+        assertThat(roleRepository.findByName("ROLE_AMDIN")).isEmpty();
+    }
+
+    private void createRole(String name) {
+        if (roleRepository.findByName(name).isEmpty()) {
+            Role role = new Role();
+            role.setName(name);
+            roleRepository.save(role);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.pismo.account;
+
+import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.VelocityLimitExceededException;
+import com.pismo.account.repository.TransactionRepository;
+import com.pismo.account.service.TransactionService;
+import com.pismo.account.service.VelocityGuard;
+import com.pismo.account.service.VelocityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VelocityIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private VelocityProperties velocityProperties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should refuse the 11th purchase in a minute, not counting rolled back postings")
+    void purchases_LimitedPerMinute() {
+        Long accountId = createAccount("84000000001");
+        // Distinct amounts, so none is suppressed as a duplicate
+        for (int i = 1; i <= 9; i++) {
+            purchase(accountId, i + ".00");
+        }
+        // Passes the velocity check, then fails on balance and rolls back
+        assertThatThrownBy(() -> purchase(accountId, "5000.00")).isInstanceOf(InsufficientBalance.class);
+        purchase(accountId, "10.00");
+
+        assertThatThrownBy(() -> purchase(accountId, "11.00"))
+                .isInstanceOf(VelocityLimitExceededException.class)
+                .hasMessageContaining("purchases-per-minute");
+        // Other operation types are not covered by the rule
+        assertThatCode(() -> transactionService.createTransaction(
+                new TransactionRequest(accountId, 4L, new BigDecimal("10.00")))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should cap the amount withdrawn in a day")
+    void withdrawals_LimitedPerDay() {
+        Long accountId = createAccount("84000000002");
+        transactionService.createTransaction(new TransactionRequest(accountId, 4L, new BigDecimal("9000.00")));
+        withdraw(accountId, "3000.00");
+        withdraw(accountId, "1999.99");
+
+        assertThatThrownBy(() -> withdraw(accountId, "0.02"))
+                .isInstanceOf(VelocityLimitExceededException.class)
+                .hasMessageContaining("withdrawals-per-day");
+        withdraw(accountId, "0.01");
+    }
+
+    @Test
+    @DisplayName("Should rebuild an account's windows from its recent transactions")
+    void check_RebuildsFromTransactions() {
+        Long accountId = createAccount("84000000003");
+        for (int i = 1; i <= 10; i++) {
+            purchase(accountId, i + ".00");
+        }
+
+        // A guard with nothing cached, as after eviction or a restart
+        VelocityGuard fresh = new VelocityGuard(transactionRepository, velocityProperties, new SimpleMeterRegistry());
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                fresh.check(accountId, 2L, new BigDecimal("2.00"))))
+                .isInstanceOf(VelocityLimitExceededException.class);
+        assertThatCode(() -> transactionTemplate.executeWithoutResult(status ->
+                fresh.check(accountId, 3L, new BigDecimal("2.00")))).doesNotThrowAnyException();
+    }
+
+    private void purchase(Long accountId, String amount) {
+        transactionService.createTransaction(new TransactionRequest(accountId, 1L, new BigDecimal(amount)));
+    }
+
+    private void withdraw(Long accountId, String amount) {
+        transactionService.createTransaction(new TransactionRequest(accountId, 3L, new BigDecimal(amount)));
+    }
+}
@@ -3,11 +3,16 @@ package com.pismo.account.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pismo.account.dto.request.AccountRequest;
 import com.pismo.account.dto.response.AccountResponse;
+import com.pismo.account.dto.response.BalanceResponse;
 import com.pismo.account.exception.DuplicateResourceException;
 import com.pismo.account.exception.ResourceNotFoundException;
 import com.pismo.account.security.JwtAuthenticationFilter;
 import com.pismo.account.security.JwtTokenProvider;
+import com.pismo.account.security.RateLimitFilter;
 import com.pismo.account.service.AccountService;
+import com.pismo.account.service.BalanceCheckpointService;
+import com.pismo.account.service.BalanceEventPublisher;
+import com.pismo.account.service.SpendAnalytics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +22,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -36,12 +45,24 @@ class AccountControllerTest {
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @MockBean
+    private SpendAnalytics spendAnalytics;
+
+    @MockBean
+    private BalanceEventPublisher balanceEventPublisher;
+
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @MockBean
+    private RateLimitFilter rateLimitFilter;
+
     @MockBean
     private UserDetailsService userDetailsService;
 
@@ -108,4 +129,57 @@ class AccountControllerTest {
         mockMvc.perform(get("/accounts/999"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("GET /accounts?document_number= - Should get account by document number")
+    void getAccountByDocumentNumber_Success() throws Exception {
+        AccountResponse response = new AccountResponse(1L, "12345678900");
+
+        when(accountService.getAccountByDocumentNumber("12345678900")).thenReturn(response);
+
+        mockMvc.perform(get("/accounts").param("document_number", "12345678900"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account_id").value(1))
+                .andExpect(jsonPath("$.document_number").value("12345678900"));
+    }
+
+    @Test
+    @DisplayName("GET /accounts/{id}/balance?at= - Should get balance at a point in time")
+    void getBalance_AtTime() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2026, 9, 30, 18, 0);
+        when(balanceCheckpointService.getBalanceAt(1L, at))
+                .thenReturn(new BalanceResponse(1L, at, new BigDecimal("-750.00")));
+
+        mockMvc.perform(get("/accounts/1/balance").param("at", "2026-09-30T18:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account_id").value(1))
+                .andExpect(jsonPath("$.balance").value(-750.00));
+    }
+
+    @Test
+    @DisplayName("GET /accounts/{id}/balance?at= - Should return 400 for an invalid time")
+    void getBalance_InvalidTime() throws Exception {
+        mockMvc.perform(get("/accounts/1/balance").param("at", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /accounts/{id}/events - Should open an event stream")
+    void streamBalanceEvents_Success() throws Exception {
+        when(balanceEventPublisher.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/accounts/1/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("GET /accounts/{id}/events - Should return 404 for an unknown account")
+    void streamBalanceEvents_NotFound() throws Exception {
+        when(balanceEventPublisher.subscribe(999L))
+                .thenThrow(new ResourceNotFoundException("Account not found with ID: 999"));
+
+        mockMvc.perform(get("/accounts/999/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account not found with ID: 999"));
+    }
 }
@@ -9,6 +9,7 @@ import com.pismo.account.exception.DuplicateResourceException;
 import com.pismo.account.exception.GlobalExceptionHandler;
 import com.pismo.account.security.JwtAuthenticationFilter;
 import com.pismo.account.security.JwtTokenProvider;
+import com.pismo.account.security.RateLimitFilter;
 import com.pismo.account.service.AuthService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +28,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -52,6 +54,9 @@ class AuthControllerTest {
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @MockBean
+    private RateLimitFilter rateLimitFilter;
+
     @MockBean
     private UserDetailsService userDetailsService;
 
@@ -124,7 +129,7 @@ class AuthControllerTest {
                 "test@example.com",
                 List.of("ROLE_USER")
         );
-        when(authService.login(any(LoginRequest.class))).thenReturn(jwtResponse);
+        when(authService.login(any(LoginRequest.class), anyString())).thenReturn(jwtResponse);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -141,7 +146,7 @@ class AuthControllerTest {
     @DisplayName("POST /api/auth/login - Should return 401 for invalid credentials")
     void login_Fail_InvalidCredentials() throws Exception {
         // Arrange
-        when(authService.login(any(LoginRequest.class)))
+        when(authService.login(any(LoginRequest.class), anyString()))
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
         // Act & Assert
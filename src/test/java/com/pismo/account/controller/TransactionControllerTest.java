@@ -2,10 +2,16 @@ package com.pismo.account.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pismo.account.dto.request.TransactionRequest;
+import com.pismo.account.dto.request.TransactionSearchRequest;
+import com.pismo.account.dto.response.TransactionItemResponse;
 import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.dto.response.TransactionSearchResponse;
+import com.pismo.account.exception.InvalidOperationException;
 import com.pismo.account.exception.ResourceNotFoundException;
 import com.pismo.account.security.JwtAuthenticationFilter;
 import com.pismo.account.security.JwtTokenProvider;
+import com.pismo.account.security.RateLimitFilter;
+import com.pismo.account.service.TransactionChangeFeed;
 import com.pismo.account.service.TransactionService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,13 +20,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,12 +52,18 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionChangeFeed transactionChangeFeed;
+
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @MockBean
+    private RateLimitFilter rateLimitFilter;
+
     @MockBean
     private UserDetailsService userDetailsService;
 
@@ -50,7 +71,7 @@ class TransactionControllerTest {
     @DisplayName("POST /transactions - Should create transaction successfully")
     void createTransaction_Success() throws Exception {
         TransactionRequest request = new TransactionRequest(1L, 4L, new BigDecimal("123.45"));
-        TransactionResponse response = new TransactionResponse(1L, 1L, 4L, new BigDecimal("123.45"));
+        TransactionResponse response = new TransactionResponse(1L, 1L, 4L, new BigDecimal("123.45"), new BigDecimal("1123.45"));
 
         when(transactionService.createTransaction(any(TransactionRequest.class))).thenReturn(response);
 
@@ -102,4 +123,58 @@ class TransactionControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("GET /transactions - Should return a page of matching transactions")
+    void searchTransactions_Success() throws Exception {
+        LocalDateTime eventDate = LocalDateTime.of(2026, 9, 30, 18, 0);
+        TransactionSearchRequest criteria = new TransactionSearchRequest(1L, 1L, eventDate.minusDays(1), null,
+                null, new BigDecimal("-10.00"));
+        when(transactionService.search(eq(criteria), eq(null), eq(1))).thenReturn(new TransactionSearchResponse(
+                List.of(new TransactionItemResponse(7L, 1L, 1L, new BigDecimal("-50.00"), eventDate)), "next"));
+
+        mockMvc.perform(get("/transactions")
+                        .param("account_id", "1")
+                        .param("operation_type_id", "1")
+                        .param("from", "2026-09-29T18:00:00")
+                        .param("max_amount", "-10.00")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transaction_id").value(7))
+                .andExpect(jsonPath("$.transactions[0].amount").value(-50.00))
+                .andExpect(jsonPath("$.next_cursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("GET /transactions - Should return 400 for a malformed filter")
+    void searchTransactions_InvalidFilter() throws Exception {
+        mockMvc.perform(get("/transactions").param("from", "last week"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /transactions/changes - Should answer 204 when no transactions arrive within the wait")
+    void getChanges_NoChanges() throws Exception {
+        DeferredResult<ResponseEntity<StreamingResponseBody>> result = new DeferredResult<>();
+        result.setResult(ResponseEntity.noContent().build());
+        when(transactionChangeFeed.changes(5L, 100)).thenReturn(result);
+
+        MvcResult pending = mockMvc.perform(get("/transactions/changes")
+                        .param("after", "5")
+                        .param("limit", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("GET /transactions/changes - Should return 400 for an invalid limit")
+    void getChanges_InvalidLimit() throws Exception {
+        when(transactionChangeFeed.changes(0L, 0))
+                .thenThrow(new InvalidOperationException("Limit must be between 1 and 10000"));
+
+        mockMvc.perform(get("/transactions/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
 }
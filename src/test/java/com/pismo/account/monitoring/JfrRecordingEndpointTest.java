@@ -0,0 +1,72 @@
+package com.pismo.account.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrRecordingEndpoint();
+        ReflectionTestUtils.setField(endpoint, "recordingDirectory", tempDir.toString());
+        ReflectionTestUtils.setField(endpoint, "settings", "default");
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.stop();
+    }
+
+    @Test
+    @DisplayName("Should report no recording before start")
+    void summary_NotRecording() {
+        Map<String, Object> summary = endpoint.summary();
+
+        assertEquals(false, summary.get("recording"));
+    }
+
+    @Test
+    @DisplayName("Should start a recording and write it to disk on stop")
+    void startAndStop_WritesRecording() throws Exception {
+        Map<String, Object> started = endpoint.start(null);
+        assertEquals(true, started.get("recording"));
+
+        TransactionPostingEvent event = new TransactionPostingEvent();
+        event.begin();
+        event.accountId = 1L;
+        event.operationTypeId = 1L;
+        event.outcome = "POSTED";
+        event.commit();
+
+        Map<String, Object> stopped = endpoint.stop();
+
+        assertEquals(false, stopped.get("recording"));
+        Path recording = Path.of((String) stopped.get("destination"));
+        assertTrue(Files.exists(recording));
+        assertTrue(Files.size(recording) > 0);
+    }
+
+    @Test
+    @DisplayName("Should be idempotent when started twice")
+    void start_Twice_KeepsSingleRecording() throws Exception {
+        Object first = endpoint.start(null).get("destination");
+        Object second = endpoint.start(null).get("destination");
+
+        assertEquals(first, second);
+    }
+}
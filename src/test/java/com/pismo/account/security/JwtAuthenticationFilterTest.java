@@ -0,0 +1,128 @@
+package com.pismo.account.security;
+
+import com.pismo.account.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtTokenProvider tokenProvider;
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationService revocationService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "pismoSecretKeyForJWTAuthenticationThatIsAtLeast256BitsLongToMeetHS256Requirements");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedTokenCacheSize", 100L);
+        tokenProvider.init();
+
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        revocationService = new TokenRevocationService(revokedTokenRepository, 60_000L, 1_000L, 0.001);
+
+        filter = new JwtAuthenticationFilter(tokenProvider, revocationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from token claims alone")
+    void doFilter_BuildsAuthenticationFromClaims() throws Exception {
+        String token = issueToken("testuser", "ROLE_USER", "ROLE_ADMIN");
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testuser", authentication.getName());
+        assertTrue(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList()
+                .containsAll(List.of("ROLE_USER", "ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a token revoked for its user")
+    void doFilter_RevokedUser() throws Exception {
+        String token = issueToken("testuser", "ROLE_USER");
+        revocationService.revokeUserTokens("testuser");
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should not query revoked tokens for a token that was never revoked")
+    void doFilter_NotRevokedToken_NoLookup() throws Exception {
+        String token = issueToken("testuser", "ROLE_USER");
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(revokedTokenRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a logged-out token")
+    void doFilter_LoggedOutToken() throws Exception {
+        String token = issueToken("testuser", "ROLE_USER");
+        VerifiedToken verified = tokenProvider.verify(token).orElseThrow();
+        revocationService.revokeToken(verified.tokenId(), verified.expiresAt());
+        when(revokedTokenRepository.existsById(verified.tokenId())).thenReturn(true);
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a tampered token")
+    void doFilter_InvalidToken() throws Exception {
+        String token = issueToken("testuser", "ROLE_USER") + "x";
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private String issueToken(String username, String... roles) {
+        UserDetails userDetails = User.withUsername(username)
+                .password("encodedPassword")
+                .authorities(Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList())
+                .build();
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()), 1L);
+    }
+
+    private MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,103 @@
+package com.pismo.account.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "pismoSecretKeyForJWTAuthenticationThatIsAtLeast256BitsLongToMeetHS256Requirements");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedTokenCacheSize", 100L);
+        tokenProvider.init();
+    }
+
+    @Test
+    @DisplayName("Should verify a token and extract its claims")
+    void verify_ValidToken() {
+        String token = issueToken("testuser", 7L);
+
+        Optional<VerifiedToken> verified = tokenProvider.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("testuser", verified.get().username());
+        assertEquals(7L, verified.get().userId());
+        assertEquals(List.of("ROLE_USER"), verified.get().roles());
+        assertNotNull(verified.get().issuedAt());
+        assertNotNull(verified.get().expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated token from the verified-token cache")
+    void verify_RepeatedToken_UsesCache() {
+        String token = issueToken("testuser", 7L);
+
+        VerifiedToken first = tokenProvider.verify(token).orElseThrow();
+        VerifiedToken second = tokenProvider.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should verify a request's token once however many filters ask")
+    void verify_SameRequest_VerifiesOnce() {
+        JwtTokenProvider spy = spy(tokenProvider);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        Optional<VerifiedToken> first = spy.verify(request, "not.a.token");
+        Optional<VerifiedToken> second = spy.verify(request, "not.a.token");
+
+        assertTrue(first.isEmpty());
+        assertSame(first, second);
+        verify(spy, times(1)).verify("not.a.token");
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose payload was changed under a cached signature")
+    void verify_TamperedPayload_Rejected() {
+        String token = issueToken("testuser", 7L);
+        assertTrue(tokenProvider.verify(token).isPresent());
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"admin\",\"roles\":[\"ROLE_ADMIN\"],\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertTrue(tokenProvider.verify(forged).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed token")
+    void verify_MalformedToken() {
+        assertTrue(tokenProvider.verify("not-a-jwt").isEmpty());
+    }
+
+    private String issueToken(String username, Long userId) {
+        UserDetails userDetails = User.withUsername(username)
+                .password("encodedPassword")
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"))
+                .build();
+        return tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()), userId);
+    }
+}
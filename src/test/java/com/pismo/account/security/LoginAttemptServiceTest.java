@@ -0,0 +1,108 @@
+package com.pismo.account.security;
+
+import com.pismo.account.dto.response.LoginLockoutResponse;
+import com.pismo.account.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginAttemptService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LoginAttemptService(3, 5, Duration.ofMinutes(15), Duration.ofSeconds(30),
+                Duration.ofHours(1), 1_000, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should lock a username out once it reaches the failure threshold")
+    void recordFailure_LocksUserAtThreshold() {
+        service.recordFailure("alice", "10.0.0.1");
+        service.recordFailure("alice", "10.0.0.2");
+        service.checkAllowed("alice", "10.0.0.3");
+
+        service.recordFailure("alice", "10.0.0.3");
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> service.checkAllowed("alice", "10.0.0.4"));
+        assertTrue(exception.getRetryAfterSeconds() > 0 && exception.getRetryAfterSeconds() <= 30);
+        assertEquals(1.0, meterRegistry.get("auth.login.blocked").tag("scope", "user").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.login.lockouts.active").gauge().value());
+        service.checkAllowed("bob", "10.0.0.4");
+    }
+
+    @Test
+    @DisplayName("Should lock a client IP out across usernames")
+    void recordFailure_LocksIpAcrossUsers() {
+        for (int i = 0; i < 5; i++) {
+            service.recordFailure("user" + i, "10.0.0.9");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> service.checkAllowed("someone-else", "10.0.0.9"));
+        service.checkAllowed("someone-else", "10.0.0.8");
+    }
+
+    @Test
+    @DisplayName("Should double the lockout for each repeated lockout")
+    void recordFailure_ExponentialLockout() {
+        LoginAttemptService.FailureWindow window = new LoginAttemptService.FailureWindow(2);
+        long window15m = Duration.ofMinutes(15).toMillis();
+
+        window.recordFailure(1_000, window15m, 30_000, 3_600_000);
+        long first = window.recordFailure(2_000, window15m, 30_000, 3_600_000);
+        window.recordFailure(40_000, window15m, 30_000, 3_600_000);
+        long second = window.recordFailure(41_000, window15m, 30_000, 3_600_000);
+
+        assertEquals(2_000 + 30_000, first);
+        assertEquals(41_000 + 60_000, second);
+        assertEquals(2, window.lockouts());
+    }
+
+    @Test
+    @DisplayName("Should not lock out when failures fall outside the window")
+    void recordFailure_OutsideWindow() {
+        LoginAttemptService.FailureWindow window = new LoginAttemptService.FailureWindow(2);
+
+        window.recordFailure(1_000, 10_000, 30_000, 3_600_000);
+
+        assertEquals(0, window.recordFailure(20_000, 10_000, 30_000, 3_600_000));
+    }
+
+    @Test
+    @DisplayName("Should list and clear active lockouts")
+    void getLockouts_AndClear() {
+        for (int i = 0; i < 3; i++) {
+            service.recordFailure("alice", null);
+        }
+
+        List<LoginLockoutResponse> lockouts = service.getLockouts();
+
+        assertEquals(1, lockouts.size());
+        assertEquals("user", lockouts.get(0).getScope());
+        assertEquals("alice", lockouts.get(0).getKey());
+        assertTrue(service.clearUser("alice"));
+        service.checkAllowed("alice", null);
+        assertTrue(service.getLockouts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should forget a username's failures after a successful login")
+    void recordSuccess_ResetsUser() {
+        service.recordFailure("alice", null);
+        service.recordFailure("alice", null);
+
+        service.recordSuccess("alice");
+        service.recordFailure("alice", null);
+
+        service.checkAllowed("alice", null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.pismo.account.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtTokenProvider tokenProvider;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPerIp(new RateLimitProperties.Limit(100, 1));
+        properties.setDefaultLimit(new RateLimitProperties.Limit(100, 1));
+        RateLimitProperties.Route transactions = new RateLimitProperties.Route();
+        transactions.setMethod("POST");
+        transactions.setPath("/transactions");
+        transactions.setCapacity(2);
+        transactions.setRefillPerSecond(0.01);
+        properties.setRoutes(List.of(transactions));
+
+        tokenProvider = mock(JwtTokenProvider.class);
+        when(tokenProvider.verify(any(HttpServletRequest.class), anyString())).thenReturn(Optional.empty());
+
+        filter = new RateLimitFilter(properties, tokenProvider,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a route's bucket is empty")
+    void doFilter_RouteLimitExceeded() throws Exception {
+        assertEquals(200, post("10.0.0.1", null).getStatus());
+        assertEquals(200, post("10.0.0.1", null).getStatus());
+
+        MockHttpServletResponse rejected = post("10.0.0.1", null);
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+        assertEquals(1.0, meterRegistry.get("http.rate_limit.rejected")
+                .tag("scope", "route").tag("route", "POST /transactions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per principal behind the same IP")
+    void doFilter_SeparateBucketsPerPrincipal() throws Exception {
+        when(tokenProvider.verify(any(HttpServletRequest.class), eq("alice-token"))).thenReturn(Optional.of(token("alice")));
+        when(tokenProvider.verify(any(HttpServletRequest.class), eq("bob-token"))).thenReturn(Optional.of(token("bob")));
+
+        post("10.0.0.1", "alice-token");
+        post("10.0.0.1", "alice-token");
+
+        assertEquals(429, post("10.0.0.1", "alice-token").getStatus());
+        assertEquals(200, post("10.0.0.1", "bob-token").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should apply the default limit to routes without their own limit")
+    void doFilter_UnmatchedRouteUsesDefault() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/accounts/1"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse post(String ip, String bearer) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transactions");
+        request.setRemoteAddr(ip);
+        if (bearer != null) {
+            request.addHeader("Authorization", "Bearer " + bearer);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private VerifiedToken token(String username) {
+        return new VerifiedToken("jti-" + username, username, 1L, List.of("ROLE_USER"), null, null);
+    }
+}
@@ -4,8 +4,10 @@ import com.pismo.account.domain.entity.Account;
 import com.pismo.account.dto.request.AccountRequest;
 import com.pismo.account.dto.response.AccountResponse;
 import com.pismo.account.exception.DuplicateResourceException;
+import com.pismo.account.exception.InsufficientBalance;
 import com.pismo.account.exception.ResourceNotFoundException;
 import com.pismo.account.repository.AccountRepository;
+import com.pismo.account.repository.BalanceSlotRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +30,15 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private DocumentNumberIndex documentNumberIndex;
+
+    @Mock
+    private BalanceSlotRepository balanceSlotRepository;
+
+    @Mock
+    private BalanceSlotService balanceSlotService;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -36,7 +48,7 @@ class AccountServiceTest {
     @BeforeEach
     void setUp() {
         accountRequest = new AccountRequest("12345678900");
-        account = new Account(1L, "12345678900");
+        account = new Account(1L, "12345678900", new BigDecimal(1000), new BigDecimal(1000), new BigDecimal(1000), 0);
     }
 
     @Test
@@ -50,6 +62,44 @@ class AccountServiceTest {
         assertEquals(1L, response.getAccountId());
         assertEquals("12345678900", response.getDocumentNumber());
         verify(accountRepository, times(1)).save(any(Account.class));
+        // A filter miss means the number is new, so no existence query is made
+        verify(accountRepository, never()).findByDocumentNumber(any());
+        verify(documentNumberIndex).added(response);
+    }
+
+    @Test
+    @DisplayName("Should reject a known duplicate without attempting the insert")
+    void createAccount_CachedDuplicate_NoInsert() {
+        when(documentNumberIndex.mightExist("12345678900")).thenReturn(true);
+        when(documentNumberIndex.getCached("12345678900"))
+                .thenReturn(Optional.of(new AccountResponse(1L, "12345678900")));
+
+        assertThrows(DuplicateResourceException.class,
+                () -> accountService.createAccount(accountRequest));
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    @DisplayName("Should find an account by document number and cache it")
+    void getAccountByDocumentNumber_Success() {
+        when(documentNumberIndex.getCached("12345678900")).thenReturn(Optional.empty());
+        when(accountRepository.findByDocumentNumber("12345678900")).thenReturn(Optional.of(account));
+
+        AccountResponse response = accountService.getAccountByDocumentNumber("12345678900");
+
+        assertEquals(1L, response.getAccountId());
+        verify(documentNumberIndex).cache(response);
+    }
+
+    @Test
+    @DisplayName("Should confirm an unknown document number against the database")
+    void getAccountByDocumentNumber_NotFound() {
+        when(documentNumberIndex.getCached("99999999999")).thenReturn(Optional.empty());
+        when(accountRepository.findByDocumentNumber("99999999999")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> accountService.getAccountByDocumentNumber("99999999999"));
+        verify(accountRepository).findByDocumentNumber("99999999999");
     }
 
     @Test
@@ -83,4 +133,52 @@ class AccountServiceTest {
         assertThrows(ResourceNotFoundException.class, 
                 () -> accountService.getAccount(1L));
     }
+
+    @Test
+    @DisplayName("Should post to the account row when the account is not sharded")
+    void updateAccountBalance_Unsharded() {
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.debitBalance(1L, new BigDecimal("-50"))).thenReturn(1);
+        when(balanceSlotRepository.findBalance(1L)).thenReturn(Optional.of(new BigDecimal("1050")));
+
+        BigDecimal balance = accountService.updateAccountBalance(1L, new BigDecimal("-50"));
+
+        assertEquals(new BigDecimal("1050"), balance);
+        verifyNoInteractions(balanceSlotService);
+    }
+
+    @Test
+    @DisplayName("Should reject a posting the account row cannot cover")
+    void updateAccountBalance_Insufficient() {
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.debitBalance(1L, new BigDecimal("-50"))).thenReturn(0);
+        when(accountRepository.findBalanceSlots(1L)).thenReturn(Optional.of(0));
+
+        assertThrows(InsufficientBalance.class,
+                () -> accountService.updateAccountBalance(1L, new BigDecimal("-50")));
+    }
+
+    @Test
+    @DisplayName("Should post to the balance slots of a sharded account")
+    void updateAccountBalance_Sharded() {
+        account.setBalanceSlots(4);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(balanceSlotService.post(1L, 4, new BigDecimal("-50"))).thenReturn(Optional.of(new BigDecimal("-950")));
+
+        BigDecimal balance = accountService.updateAccountBalance(1L, new BigDecimal("-50"));
+
+        assertEquals(new BigDecimal("-950"), balance);
+        verify(accountRepository, never()).debitBalance(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should follow an account that was sharded after it was read")
+    void updateAccountBalance_ShardedConcurrently() {
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.debitBalance(1L, new BigDecimal("-50"))).thenReturn(0);
+        when(accountRepository.findBalanceSlots(1L)).thenReturn(Optional.of(8));
+        when(balanceSlotService.post(1L, 8, new BigDecimal("-50"))).thenReturn(Optional.of(new BigDecimal("-950")));
+
+        assertEquals(new BigDecimal("-950"), accountService.updateAccountBalance(1L, new BigDecimal("-50")));
+    }
 }
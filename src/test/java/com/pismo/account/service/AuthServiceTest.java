@@ -3,13 +3,20 @@ package com.pismo.account.service;
 import com.pismo.account.domain.entity.Role;
 import com.pismo.account.domain.entity.User;
 import com.pismo.account.dto.request.LoginRequest;
+import com.pismo.account.dto.request.RefreshTokenRequest;
 import com.pismo.account.dto.request.RegisterRequest;
 import com.pismo.account.dto.response.JwtResponse;
 import com.pismo.account.dto.response.MessageResponse;
 import com.pismo.account.exception.DuplicateResourceException;
+import com.pismo.account.exception.InvalidTokenException;
+import com.pismo.account.exception.TooManyRequestsException;
 import com.pismo.account.repository.RoleRepository;
 import com.pismo.account.repository.UserRepository;
 import com.pismo.account.security.JwtTokenProvider;
+import com.pismo.account.security.LoginAttemptService;
+import com.pismo.account.security.TokenRevocationService;
+import com.pismo.account.security.UserPrincipal;
+import com.pismo.account.security.VerifiedToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,17 +25,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +60,18 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
     @Mock
     private Authentication authentication;
 
@@ -112,6 +134,7 @@ class AuthServiceTest {
         verify(passwordEncoder).encode("password123");
         verify(roleRepository).findByName("ROLE_USER");
         verify(userRepository).save(any(User.class));
+        verify(userCache).removeUserFromCache("newuser");
     }
 
     @Test
@@ -173,53 +196,119 @@ class AuthServiceTest {
     void login_Success() {
         // Arrange
         String jwtToken = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...";
-        
-        UserDetails userDetails = org.springframework.security.core.userdetails.User
-            .withUsername("testuser")
-            .password("encodedPassword")
-            .authorities(new SimpleGrantedAuthority("ROLE_USER"))
-            .build();
+
+        UserPrincipal principal = UserPrincipal.fromUser(user);
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
             .thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(jwtTokenProvider.generateToken(any(Authentication.class))).thenReturn(jwtToken);
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(authentication.getPrincipal()).thenReturn(principal);
+        when(jwtTokenProvider.generateToken(any(Authentication.class), eq(1L))).thenReturn(jwtToken);
+        when(refreshTokenService.create(1L)).thenReturn("refresh-token");
 
         // Act
-        JwtResponse response = authService.login(loginRequest);
+        JwtResponse response = authService.login(loginRequest, "10.0.0.1");
 
         // Assert
         assertNotNull(response);
         assertEquals(jwtToken, response.getToken());
+        assertEquals("refresh-token", response.getRefreshToken());
         assertEquals(1L, response.getId());
         assertEquals("testuser", response.getUsername());
         assertEquals("test@example.com", response.getEmail());
         assertTrue(response.getRoles().contains("ROLE_USER"));
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtTokenProvider).generateToken(authentication);
-        verify(userRepository).findByUsername("testuser");
+        verify(jwtTokenProvider).generateToken(authentication, 1L);
+        verify(loginAttemptService).recordSuccess("testuser");
+        // The authenticated principal carries id and email, so no second user lookup
+        verify(userRepository, never()).findByUsername(anyString());
     }
 
     @Test
-    @DisplayName("Should throw exception when user not found after authentication")
-    void login_Fail_UserNotFound() {
+    @DisplayName("Should propagate bad credentials without issuing a token")
+    void login_Fail_BadCredentials() {
         // Arrange
-        UserDetails userDetails = org.springframework.security.core.userdetails.User
-            .withUsername("testuser")
-            .password("encodedPassword")
-            .authorities(new SimpleGrantedAuthority("ROLE_USER"))
-            .build();
-
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-            .thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(jwtTokenProvider.generateToken(any(Authentication.class))).thenReturn("token");
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+            .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest, "10.0.0.1"));
+        verify(jwtTokenProvider, never()).generateToken(any(Authentication.class), anyLong());
+        verify(refreshTokenService, never()).create(anyLong());
+        verify(loginAttemptService).recordFailure("testuser", "10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Should reject a locked-out login before checking the password")
+    void login_Fail_LockedOut() {
+        // Arrange
+        doThrow(new TooManyRequestsException("Too many failed login attempts, please retry later", 30))
+            .when(loginAttemptService).checkAllowed("testuser", "10.0.0.1");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> authService.login(loginRequest, "10.0.0.1"));
+        verify(authenticationManager, never()).authenticate(any());
+        verify(loginAttemptService, never()).recordFailure(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should issue a new token pair for a valid refresh token")
+    void refresh_Success() {
+        // Arrange
+        when(refreshTokenService.consume("old-refresh")).thenReturn(user);
+        when(jwtTokenProvider.generateToken(any(UserPrincipal.class), eq(1L))).thenReturn("new-jwt");
+        when(refreshTokenService.create(1L)).thenReturn("new-refresh");
+
+        // Act
+        JwtResponse response = authService.refresh(new RefreshTokenRequest("old-refresh"));
+
+        // Assert
+        assertEquals("new-jwt", response.getToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        assertEquals("testuser", response.getUsername());
+        assertTrue(response.getRoles().contains("ROLE_USER"));
+    }
+
+    @Test
+    @DisplayName("Should not issue tokens for a rejected refresh token")
+    void refresh_Fail_InvalidToken() {
+        // Arrange
+        when(refreshTokenService.consume("used-refresh"))
+            .thenThrow(new InvalidTokenException("Refresh token is expired or revoked"));
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class,
+            () -> authService.refresh(new RefreshTokenRequest("used-refresh")));
+        verify(refreshTokenService, never()).create(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should revoke the access token and the refresh token on logout")
+    void logout_Success() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        VerifiedToken token = new VerifiedToken("jti-1", "testuser", 1L, List.of("ROLE_USER"),
+            Instant.now(), expiresAt);
+        when(jwtTokenProvider.verify("access")).thenReturn(Optional.of(token));
+
+        // Act
+        MessageResponse response = authService.logout("access", "refresh");
+
+        // Assert
+        assertEquals("Logged out successfully", response.getMessage());
+        verify(tokenRevocationService).revokeToken("jti-1", expiresAt);
+        verify(refreshTokenService).revoke("refresh");
+    }
+
+    @Test
+    @DisplayName("Should reject logout with an invalid access token")
+    void logout_Fail_InvalidToken() {
+        // Arrange
+        when(jwtTokenProvider.verify("bad")).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> authService.login(loginRequest));
+        assertThrows(InvalidTokenException.class, () -> authService.logout("bad", null));
+        verify(tokenRevocationService, never()).revokeToken(anyString(), any());
     }
 
     @Test
@@ -0,0 +1,108 @@
+package com.pismo.account.service;
+
+import com.pismo.account.dto.response.BalanceSlotsResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.repository.BalanceSlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceSlotServiceTest {
+
+    @Mock
+    private BalanceSlotRepository slotRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BalanceSlotService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BalanceSlotService(slotRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should spread a balance evenly with the remainder on slot 0")
+    void spread_RemainderOnFirstSlot() {
+        List<BigDecimal> shares = BalanceSlotService.spread(new BigDecimal("-100.00"), 3);
+
+        assertEquals(List.of(new BigDecimal("-33.34"), new BigDecimal("-33.33"), new BigDecimal("-33.33")), shares);
+        assertTrue(BalanceSlotService.spread(new BigDecimal("-0.01"), 4).stream().allMatch(s -> s.signum() <= 0));
+        assertTrue(BalanceSlotService.spread(new BigDecimal("-5"), 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should post to a single slot when it covers the amount")
+    void post_FastPath() {
+        when(slotRepository.debitSlot(eq(1L), anyInt(), eq(new BigDecimal("-10")))).thenReturn(true);
+        when(slotRepository.findBalance(1L)).thenReturn(Optional.of(new BigDecimal("-490")));
+
+        assertEquals(Optional.of(new BigDecimal("-490")), service.post(1L, 4, new BigDecimal("-10")));
+        verify(slotRepository, never()).lockSlots(any());
+        assertEquals(1.0, meterRegistry.get("accounts.balance_slots.postings").tag("path", "slot").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should rebalance the slots when the chosen slot is short")
+    void post_AggregatesWhenSlotShort() {
+        when(slotRepository.debitSlot(eq(1L), anyInt(), eq(new BigDecimal("-30")))).thenReturn(false);
+        when(slotRepository.lockSlots(1L)).thenReturn(List.of(new BigDecimal("-20"), new BigDecimal("-80")));
+        when(slotRepository.findBalance(1L)).thenReturn(Optional.of(new BigDecimal("-100")));
+
+        assertEquals(Optional.of(new BigDecimal("-70")), service.post(1L, 2, new BigDecimal("-30")));
+        verify(slotRepository).updateSlots(1L, List.of(new BigDecimal("-35.00"), new BigDecimal("-35.00")));
+    }
+
+    @Test
+    @DisplayName("Should reject a posting the aggregate balance cannot cover")
+    void post_InsufficientAggregate() {
+        when(slotRepository.debitSlot(eq(1L), anyInt(), eq(new BigDecimal("-150")))).thenReturn(false);
+        when(slotRepository.lockSlots(1L)).thenReturn(List.of(new BigDecimal("-20"), new BigDecimal("-80")));
+        when(slotRepository.findBalance(1L)).thenReturn(Optional.of(new BigDecimal("-100")));
+
+        assertThrows(InsufficientBalance.class, () -> service.post(1L, 2, new BigDecimal("-150")));
+        verify(slotRepository, never()).updateSlots(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should hand the posting back when the account is no longer sharded")
+    void post_SlotsCollapsed() {
+        when(slotRepository.debitSlot(eq(1L), anyInt(), any())).thenReturn(false);
+        when(slotRepository.lockSlots(1L)).thenReturn(List.of());
+
+        assertEquals(Optional.empty(), service.post(1L, 2, new BigDecimal("-10")));
+    }
+
+    @Test
+    @DisplayName("Should move the whole balance into slots and back")
+    void resize_MovesBalance() {
+        when(slotRepository.lockSlots(1L)).thenReturn(List.of());
+        when(slotRepository.lockAccountBalance(1L)).thenReturn(Optional.of(new BigDecimal("-1000")));
+
+        BalanceSlotsResponse response = service.resize(1L, 4);
+
+        assertEquals(4, response.getBalanceSlots());
+        verify(slotRepository).replaceSlots(eq(1L), eq(BalanceSlotService.spread(new BigDecimal("-1000"), 4)));
+        verify(slotRepository).updateAccount(1L, BigDecimal.ZERO, 4);
+
+        when(slotRepository.lockSlots(1L)).thenReturn(List.of(new BigDecimal("-500"), new BigDecimal("-400")));
+        when(slotRepository.lockAccountBalance(1L)).thenReturn(Optional.of(BigDecimal.ZERO));
+
+        assertEquals(new BigDecimal("-900"), service.resize(1L, 0).getBalance());
+        verify(slotRepository).updateAccount(1L, new BigDecimal("-900"), 0);
+    }
+}
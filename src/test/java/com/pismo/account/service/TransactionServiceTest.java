@@ -4,6 +4,8 @@ import com.pismo.account.domain.entity.Account;
 import com.pismo.account.domain.entity.Transaction;
 import com.pismo.account.dto.request.TransactionRequest;
 import com.pismo.account.dto.response.TransactionResponse;
+import com.pismo.account.exception.InsufficientBalance;
+import com.pismo.account.exception.InvalidOperationException;
 import com.pismo.account.exception.ResourceNotFoundException;
 import com.pismo.account.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +15,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +36,21 @@ class TransactionServiceTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private HoldLedger holdLedger;
+
+    @Mock
+    private InstallmentService installmentService;
+
+    @Mock
+    private VelocityGuard velocityGuard;
+
+    @Mock
+    private DuplicateTransactionFilter duplicateFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -38,7 +59,7 @@ class TransactionServiceTest {
 
     @BeforeEach
     void setUp() {
-        account = new Account(1L, "12345678900");
+        account = new Account(1L, "12345678900", new BigDecimal(1000), new BigDecimal(1000), new BigDecimal(1000), 0);
     }
 
     @Test
@@ -49,6 +70,7 @@ class TransactionServiceTest {
                 1L, account, 1L, new BigDecimal("-50.00"), LocalDateTime.now());
 
         when(accountService.findAccountById(1L)).thenReturn(account);
+        when(installmentService.scheduledDebt(1L)).thenReturn(BigDecimal.ZERO);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
 
         TransactionResponse response = transactionService.createTransaction(transactionRequest);
@@ -101,4 +123,88 @@ class TransactionServiceTest {
                 () -> transactionService.createTransaction(transactionRequest));
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
+
+    @Test
+    @DisplayName("Should post the first installment and schedule the rest")
+    void createTransaction_InstallmentPurchase_SchedulesInstallments() {
+        transactionRequest = new TransactionRequest(1L, 2L, new BigDecimal("100.00"), 3);
+        Transaction savedTransaction = new Transaction(
+                7L, account, 2L, new BigDecimal("-33.34"), LocalDateTime.now());
+
+        when(accountService.findAccountById(1L)).thenReturn(account);
+        when(installmentService.scheduledDebt(1L)).thenReturn(BigDecimal.ZERO);
+        when(accountService.getBalance(1L)).thenReturn(new BigDecimal("-1000.00"));
+        when(holdLedger.availableCredit(1L, account.getAvailableCreditLimit(), new BigDecimal("-1000.00")))
+                .thenReturn(new BigDecimal("1000.00"));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        TransactionResponse response = transactionService.createTransaction(transactionRequest);
+
+        assertEquals(new BigDecimal("-33.34"), response.getAmount());
+        verify(accountService).updateAccountBalance(1L, new BigDecimal("-33.34"));
+        verify(installmentService).schedule(eq(1L), eq(2L), eq(7L),
+                eq(List.of(new BigDecimal("-33.34"), new BigDecimal("-33.33"), new BigDecimal("-33.33"))),
+                any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("Should only split installment purchases into installments")
+    void createTransaction_InstallmentsOnPurchase() {
+        transactionRequest = new TransactionRequest(1L, 1L, new BigDecimal("100.00"), 3);
+
+        when(accountService.findAccountById(1L)).thenReturn(account);
+
+        assertThrows(InvalidOperationException.class,
+                () -> transactionService.createTransaction(transactionRequest));
+        verify(accountService, never()).updateAccountBalance(any(), any());
+        verifyNoInteractions(installmentService);
+    }
+
+    @Test
+    @DisplayName("Should reject transfer operation types outside of transfers")
+    void createTransaction_TransferOperationType() {
+        transactionRequest = new TransactionRequest(1L, 6L, new BigDecimal("50.00"));
+
+        when(accountService.findAccountById(1L)).thenReturn(account);
+
+        assertThrows(InvalidOperationException.class,
+                () -> transactionService.createTransaction(transactionRequest));
+        verify(accountService, never()).updateAccountBalance(any(), any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a purchase that only fits by spending held credit")
+    void createTransaction_PurchaseExceedsCreditLeftByHolds() {
+        transactionRequest = new TransactionRequest(1L, 1L, new BigDecimal("50.00"));
+
+        when(accountService.findAccountById(1L)).thenReturn(account);
+        when(installmentService.scheduledDebt(1L)).thenReturn(BigDecimal.ZERO);
+        when(holdLedger.hasHolds(1L)).thenReturn(true);
+        when(accountService.getBalance(1L)).thenReturn(new BigDecimal("-100.00"));
+        when(holdLedger.availableCredit(1L, account.getAvailableCreditLimit(), new BigDecimal("-100.00")))
+                .thenReturn(new BigDecimal("30.00"));
+
+        assertThrows(InsufficientBalance.class,
+                () -> transactionService.createTransaction(transactionRequest));
+        verify(accountService, never()).updateAccountBalance(any(), any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("Should check an installment purchase against available credit for its full amount")
+    void createTransaction_InstallmentPurchaseExceedsCredit() {
+        transactionRequest = new TransactionRequest(1L, 2L, new BigDecimal("300.00"), 3);
+
+        when(accountService.findAccountById(1L)).thenReturn(account);
+        when(installmentService.scheduledDebt(1L)).thenReturn(new BigDecimal("50.00"));
+        when(accountService.getBalance(1L)).thenReturn(new BigDecimal("-300.00"));
+        when(holdLedger.availableCredit(1L, account.getAvailableCreditLimit(), new BigDecimal("-300.00")))
+                .thenReturn(new BigDecimal("300.00"));
+
+        assertThrows(InsufficientBalance.class,
+                () -> transactionService.createTransaction(transactionRequest));
+        verify(accountService, never()).updateAccountBalance(any(), any());
+        verify(installmentService, never()).schedule(any(), any(), any(), any(), any());
+    }
 }
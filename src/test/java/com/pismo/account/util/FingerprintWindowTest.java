@@ -0,0 +1,56 @@
+package com.pismo.account.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintWindowTest {
+
+    @Test
+    @DisplayName("Should find fingerprints until their generation leaves the window")
+    void get_ExpiresByGeneration() {
+        // 5 generations of 2s
+        FingerprintWindow window = new FingerprintWindow(Duration.ofSeconds(10), 5, 16, 2, 0);
+        assertTrue(window.put(42, new long[]{7, 8}, 1_000));
+        assertTrue(window.put(43, new long[]{9, 10}, 5_000));
+
+        assertArrayEquals(new long[]{7, 8}, window.get(42, 9_999));
+        assertNull(window.get(44, 9_999));
+        // Generation [0s, 2s) leaves when the window reaches [10s, 12s)
+        assertNull(window.get(42, 10_000));
+        assertArrayEquals(new long[]{9, 10}, window.get(43, 10_000));
+        assertEquals(1, window.size(10_000));
+        assertNull(window.get(43, 1_000_000));
+    }
+
+    @Test
+    @DisplayName("Should return the values of the latest add")
+    void get_NewestWins() {
+        FingerprintWindow window = new FingerprintWindow(Duration.ofSeconds(10), 5, 16, 1, 0);
+        window.put(0, new long[]{1}, 0);
+        window.put(0, new long[]{2}, 0);
+        window.put(0, new long[]{3}, 4_000);
+
+        assertArrayEquals(new long[]{3}, window.get(0, 4_000));
+        assertEquals(2, window.size(4_000));
+    }
+
+    @Test
+    @DisplayName("Should refuse entries once a generation is full and take them again in the next")
+    void put_FixedCapacity() {
+        FingerprintWindow window = new FingerprintWindow(Duration.ofSeconds(10), 5, 8, 0, 0);
+        for (long fingerprint = 1; fingerprint <= 6; fingerprint++) {
+            assertTrue(window.put(fingerprint, new long[0], 0));
+        }
+        assertFalse(window.put(7, new long[0], 0));
+        assertNull(window.get(7, 0));
+
+        assertTrue(window.put(7, new long[0], 2_000));
+        for (long fingerprint = 1; fingerprint <= 7; fingerprint++) {
+            assertNotNull(window.get(fingerprint, 2_000));
+        }
+    }
+}
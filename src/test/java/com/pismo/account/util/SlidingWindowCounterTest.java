@@ -0,0 +1,59 @@
+package com.pismo.account.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    @Test
+    @DisplayName("Should drop events a bucket at a time as they leave the window")
+    void count_SlidesOutOldBuckets() {
+        // 6 buckets of 10s
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(1), 6, 0);
+        counter.add(5_000, 100);
+        counter.add(25_000, 200);
+        counter.add(59_000, 300);
+
+        assertEquals(3, counter.count(59_999));
+        assertEquals(600, counter.sum(59_999));
+        // The first bucket [0, 10s) leaves when the window reaches [60s, 70s)
+        assertEquals(2, counter.count(60_000));
+        assertEquals(500, counter.sum(60_000));
+        assertEquals(1, counter.count(80_000));
+        assertEquals(0, counter.count(120_000));
+        assertEquals(0, counter.sum(10_000_000));
+    }
+
+    @Test
+    @DisplayName("Should rebuild from past events and ignore those older than the window")
+    void add_PastEvents() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(1), 6, 100_000);
+        counter.add(95_000, 1);
+        counter.add(55_000, 2);
+        counter.add(45_000, 4); // the window ending in bucket [100s, 110s) starts at 50s
+
+        assertEquals(2, counter.count(100_000));
+        assertEquals(3, counter.sum(100_000));
+    }
+
+    @Test
+    @DisplayName("Should take back a removed event only while it is in the window")
+    void remove_UndoesAdd() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(10), 10, 0);
+        counter.add(1_000, 50);
+        counter.add(2_000, 70);
+        counter.remove(2_000, 70);
+
+        assertEquals(1, counter.count(2_000));
+        assertEquals(50, counter.sum(2_000));
+
+        counter.count(20_000);
+        counter.remove(1_000, 50);
+        assertEquals(0, counter.count(20_000));
+        assertEquals(0, counter.sum(20_000));
+    }
+}
@@ -0,0 +1,68 @@
+package com.pismo.account.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Should expire every timeout on its own tick across cascades and beyond the wheel range")
+    void advance_ExpiresOnDeadline() {
+        // 4 slots x 3 levels covers 64 ticks, so later deadlines are parked and re-placed
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 4, 3, 5);
+        Random random = new Random(42);
+        long[] deadlines = new long[2_000];
+        long[] expiredAt = new long[deadlines.length];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = 5 + random.nextInt(3_000);
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        for (long now = 0; now <= 3_020; now += 10) {
+            long tickTime = now;
+            wheel.advance(now, i -> expiredAt[i] = tickTime);
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            // Expired by the first advance at or after the deadline, which is within one tick
+            assertTrue(expiredAt[i] >= deadlines[i] && expiredAt[i] < deadlines[i] + 10,
+                    "deadline " + deadlines[i] + " expired at " + expiredAt[i]);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should not hand out cancelled timeouts")
+    void cancel_RemovesTimeout() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 8, 2, 0);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 20);
+        wheel.schedule("kept", 20);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        List<String> expired = new ArrayList<>();
+        assertEquals(0, wheel.advance(19, expired::add));
+        assertEquals(1, wheel.advance(20, expired::add));
+        assertEquals(List.of("kept"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should expire past deadlines on the next tick")
+    void schedule_PastDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 8, 2, 100);
+        wheel.schedule("late", 50);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(101, expired::add);
+
+        assertEquals(List.of("late"), expired);
+    }
+}